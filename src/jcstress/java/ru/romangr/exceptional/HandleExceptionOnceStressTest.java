@@ -0,0 +1,44 @@
+package ru.romangr.exceptional;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+/**
+ * Two threads handle the exception of the same {@link Exceptional} using both
+ * {@code handleException} overloads. Exactly one of the handlers must run.
+ */
+@JCStressTest
+@Outcome(id = {"1, 0", "0, 1"}, expect = ACCEPTABLE, desc = "One handler ran")
+@Outcome(id = "1, 1", expect = FORBIDDEN, desc = "Both handlers ran")
+@Outcome(id = "0, 0", expect = FORBIDDEN, desc = "No handler ran")
+@State
+public class HandleExceptionOnceStressTest {
+
+  private final Exceptional<String> failure = Exceptional.exceptional(new IllegalStateException());
+
+  private int anyExceptionHandled;
+  private int stateExceptionHandled;
+
+  @Actor
+  public void handleAnyException() {
+    failure.handleException(e -> anyExceptionHandled++);
+  }
+
+  @Actor
+  public void handleStateException() {
+    failure.handleException(IllegalStateException.class, e -> stateExceptionHandled++);
+  }
+
+  @Arbiter
+  public void arbiter(II_Result result) {
+    result.r1 = anyExceptionHandled;
+    result.r2 = stateExceptionHandled;
+  }
+}
@@ -0,0 +1,171 @@
+package ru.romangr.exceptional;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single call cost of the {@link Exceptional} entry points and chain steps on success, empty and
+ * failure paths, compared to raw try/catch and {@link Optional}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionalBenchmark {
+
+  private static final ExceptionalChain<String, Integer> FUSED_CHAIN =
+      ExceptionalChain.<String>start()
+          .safelyMap(Integer::parseInt)
+          .map(i -> i * 2)
+          .flatMap(i -> Exceptional.of(i + 1));
+
+  private String validNumber = "12345";
+  private String invalidNumber = "123.45";
+  private String nullString = null;
+
+  private final Exceptional<String> value = Exceptional.of("12345");
+  private final Exceptional<String> empty = Exceptional.empty();
+  private final Exceptional<String> failure = Exceptional.of(new IllegalStateException());
+
+  @Benchmark
+  public Exceptional<Integer> getExceptionalSuccess() {
+    return Exceptional.getExceptional(() -> Integer.parseInt(validNumber));
+  }
+
+  @Benchmark
+  public Exceptional<Integer> getExceptionalFailure() {
+    return Exceptional.getExceptional(() -> Integer.parseInt(invalidNumber));
+  }
+
+  @Benchmark
+  public Exceptional<String> getExceptionalEmpty() {
+    return Exceptional.getExceptional(() -> nullString);
+  }
+
+  @Benchmark
+  public Exceptional<Integer> attemptSuccess() {
+    return Exceptional.attempt(() -> Integer.parseInt(validNumber));
+  }
+
+  @Benchmark
+  public Exceptional<Integer> attemptFailure() {
+    return Exceptional.attempt(() -> Integer.parseInt(invalidNumber));
+  }
+
+  @Benchmark
+  public Integer tryCatchSuccess() {
+    try {
+      return Integer.parseInt(validNumber);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  @Benchmark
+  public Integer tryCatchFailure() {
+    try {
+      return Integer.parseInt(invalidNumber);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  @Benchmark
+  public Exceptional<Integer> mapValue() {
+    return value.map(String::length);
+  }
+
+  @Benchmark
+  public Exceptional<Integer> mapEmpty() {
+    return empty.map(String::length);
+  }
+
+  @Benchmark
+  public Exceptional<Integer> mapFailure() {
+    return failure.map(String::length);
+  }
+
+  @Benchmark
+  public Optional<Integer> optionalMapValue() {
+    return Optional.of(validNumber).map(String::length);
+  }
+
+  @Benchmark
+  public Optional<Integer> optionalMapEmpty() {
+    return Optional.ofNullable(nullString).map(String::length);
+  }
+
+  @Benchmark
+  public Exceptional<Integer> safelyMapSuccess() {
+    return value.safelyMap(Integer::parseInt);
+  }
+
+  @Benchmark
+  public Exceptional<Integer> safelyMapFailure() {
+    return Exceptional.of(invalidNumber).safelyMap(Integer::parseInt);
+  }
+
+  @Benchmark
+  public Exceptional<Integer> safelyMapEmpty() {
+    return empty.safelyMap(Integer::parseInt);
+  }
+
+  @Benchmark
+  public Exceptional<Integer> flatMapValue() {
+    return value.flatMap(s -> Exceptional.of(s.length()));
+  }
+
+  @Benchmark
+  public Exceptional<Integer> flatMapEmpty() {
+    return empty.flatMap(s -> Exceptional.of(s.length()));
+  }
+
+  @Benchmark
+  public Exceptional<Integer> flatMapFailure() {
+    return failure.flatMap(s -> Exceptional.of(s.length()));
+  }
+
+  @Benchmark
+  public Optional<Integer> optionalFlatMapValue() {
+    return Optional.of(validNumber).flatMap(s -> Optional.of(s.length()));
+  }
+
+  @Benchmark
+  public Integer chainSuccess() {
+    return Exceptional.of(validNumber)
+        .safelyMap(Integer::parseInt)
+        .map(i -> i * 2)
+        .flatMap(i -> Exceptional.of(i + 1))
+        .getOrDefault(-1);
+  }
+
+  @Benchmark
+  public Integer fusedChainSuccess() {
+    return FUSED_CHAIN.apply(validNumber).getOrDefault(-1);
+  }
+
+  @Benchmark
+  public Integer fusedChainFailure() {
+    return FUSED_CHAIN.apply(invalidNumber).getOrDefault(-1);
+  }
+
+  @Benchmark
+  public Integer chainFailure() {
+    return Exceptional.of(invalidNumber)
+        .safelyMap(Integer::parseInt)
+        .map(i -> i * 2)
+        .flatMap(i -> Exceptional.of(i + 1))
+        .getOrDefault(-1);
+  }
+}
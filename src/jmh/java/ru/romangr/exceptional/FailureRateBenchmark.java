@@ -0,0 +1,87 @@
+package ru.romangr.exceptional;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing a mix of valid and invalid numbers with a given share of failures, the workload of
+ * {@code ExceptionalUseCasesTest}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(FailureRateBenchmark.INPUT_SIZE)
+public class FailureRateBenchmark {
+
+  static final int INPUT_SIZE = 1024;
+
+  @Param({"0.0", "0.01", "0.1", "0.5", "1.0"})
+  private double failureRate;
+
+  private String[] inputs;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    inputs = new String[INPUT_SIZE];
+    for (int i = 0; i < INPUT_SIZE; i++) {
+      inputs[i] = random.nextDouble() < failureRate ? i + ".5" : Integer.toString(i);
+    }
+  }
+
+  @Benchmark
+  public void getExceptional(Blackhole blackhole) {
+    for (String input : inputs) {
+      blackhole.consume(Exceptional.getExceptional(() -> Integer.parseInt(input)));
+    }
+  }
+
+  @Benchmark
+  public void primitiveGetExceptional(Blackhole blackhole) {
+    for (String input : inputs) {
+      blackhole.consume(ExceptionalInt.getExceptional(() -> Integer.parseInt(input)));
+    }
+  }
+
+  @Benchmark
+  public void safelyMap(Blackhole blackhole) {
+    for (String input : inputs) {
+      blackhole.consume(Exceptional.of(input).safelyMap(Integer::parseInt));
+    }
+  }
+
+  @Benchmark
+  public void resumeOnException(Blackhole blackhole) {
+    for (String input : inputs) {
+      blackhole.consume(Exceptional.getExceptional(() -> Integer.parseInt(input))
+          .resumeOnException(e -> -1));
+    }
+  }
+
+  @Benchmark
+  public void tryCatch(Blackhole blackhole) {
+    for (String input : inputs) {
+      try {
+        blackhole.consume(Integer.parseInt(input));
+      } catch (NumberFormatException e) {
+        blackhole.consume(e);
+      }
+    }
+  }
+}
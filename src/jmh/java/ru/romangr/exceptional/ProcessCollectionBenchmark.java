@@ -0,0 +1,68 @@
+package ru.romangr.exceptional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.romangr.exceptional.type.ProcessingResult;
+
+/**
+ * {@link Exceptional#processCollection} over collections of different sizes, compared to a plain
+ * loop with try/catch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProcessCollectionBenchmark {
+
+  @Param({"100", "10000", "1000000", "10000000"})
+  private int size;
+
+  private List<String> input;
+
+  @Setup
+  public void setUp() {
+    input = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      input.add(Integer.toString(i));
+    }
+  }
+
+  @Benchmark
+  public Exceptional<ProcessingResult<Integer>> processCollection() {
+    return Exceptional.processCollection(input,
+        s -> Exceptional.getExceptional(() -> Integer.parseInt(s)));
+  }
+
+  @Benchmark
+  public Exceptional<ProcessingResult<Integer>> processCollectionInParallel() {
+    return Exceptional.processCollectionInParallel(input,
+        s -> Exceptional.getExceptional(() -> Integer.parseInt(s)));
+  }
+
+  @Benchmark
+  public List<Integer> tryCatchLoop() {
+    List<Integer> results = new ArrayList<>(input.size());
+    for (String s : input) {
+      try {
+        results.add(Integer.parseInt(s));
+      } catch (NumberFormatException e) {
+        return results;
+      }
+    }
+    return results;
+  }
+}
@@ -0,0 +1,52 @@
+package ru.romangr.exceptional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Exceptionals#values} compared to {@code flatMap(Exceptional::asStream)} over a list where
+ * every tenth element is empty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamFlatteningBenchmark {
+
+  @Param({"100", "100000"})
+  private int size;
+
+  private List<Exceptional<Integer>> input;
+
+  @Setup
+  public void setUp() {
+    input = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      input.add(i % 10 == 0 ? Exceptional.empty() : Exceptional.of(i));
+    }
+  }
+
+  @Benchmark
+  public long flatMapAsStream() {
+    return input.stream().flatMap(Exceptional::asStream).mapToLong(Integer::longValue).sum();
+  }
+
+  @Benchmark
+  public long values() {
+    return Exceptionals.values(input.stream()).mapToLong(Integer::longValue).sum();
+  }
+}
@@ -0,0 +1,297 @@
+package ru.romangr.exceptional;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalFunction;
+import ru.romangr.exceptional.type.ExceptionalSupplier;
+
+/**
+ * Asynchronous counterpart of {@link Exceptional} backed by {@link CompletableFuture}. The
+ * methods have the same semantics as the methods of {@link Exceptional} with the same names, but
+ * they don't block: every step is executed when the previous one completes.
+ * <p>
+ * Exceptions thrown by mappers which are not caught by {@link Exceptional} (for instance, in
+ * {@link #map(Function)}) complete the underlying future exceptionally, like they would propagate
+ * to the caller of a synchronous chain.
+ *
+ * @param <T> type of the value.
+ */
+@NonNullApi
+public final class AsyncExceptional<T> {
+
+  private final CompletableFuture<Exceptional<T>> future;
+
+  /**
+   * Get some value from supplier on the executor catching all the exceptions.
+   *
+   * @param supplier to get value from.
+   * @param executor to run the supplier on.
+   * @param <V>      type of the value.
+   * @return an instance of {@link AsyncExceptional} completed when the supplier returns or throws.
+   */
+  public static <V> AsyncExceptional<V> getExceptional(ExceptionalSupplier<V> supplier,
+                                                       Executor executor) {
+    return new AsyncExceptional<>(
+        CompletableFuture.supplyAsync(() -> Exceptional.getExceptional(supplier), executor));
+  }
+
+  /**
+   * Get some value from supplier on the executor catching all the exceptions.
+   *
+   * @param supplier to get value from.
+   * @param executor to run the supplier on.
+   * @param <V>      type of the value.
+   * @return an instance of {@link AsyncExceptional} completed when the supplier returns or throws.
+   */
+  public static <V> AsyncExceptional<V> attempt(ExceptionalSupplier<V> supplier,
+                                                Executor executor) {
+    return getExceptional(supplier, executor);
+  }
+
+  /**
+   * Wrap an already available {@link Exceptional}.
+   *
+   * @param exceptional to wrap.
+   * @param <V>         type of the value.
+   * @return a completed instance of {@link AsyncExceptional}.
+   */
+  public static <V> AsyncExceptional<V> of(Exceptional<V> exceptional) {
+    return new AsyncExceptional<>(CompletableFuture.completedFuture(exceptional));
+  }
+
+  /**
+   * Wrap a {@link CompletionStage}. Exceptional completion of the stage with an exception results
+   * in {@link Exceptional} with exception, null value results in empty {@link Exceptional}. Errors
+   * are not caught, like by {@link Exceptional#getExceptional(ExceptionalSupplier)}: the result
+   * is completed exceptionally with them.
+   *
+   * @param stage to wrap.
+   * @param <V>   type of the value.
+   * @return an instance of {@link AsyncExceptional} completed when the stage completes.
+   */
+  public static <V> AsyncExceptional<V> fromStage(CompletionStage<V> stage) {
+    CompletableFuture<Exceptional<V>> result = new CompletableFuture<>();
+    stage.whenComplete((value, throwable) -> {
+      if (throwable == null) {
+        result.complete(Exceptional.exceptional(value));
+        return;
+      }
+      Throwable cause = unwrap(throwable);
+      if (cause instanceof Exception) {
+        result.complete(Exceptional.exceptional((Exception) cause));
+      } else {
+        result.completeExceptionally(cause);
+      }
+    });
+    return new AsyncExceptional<>(result);
+  }
+
+  /**
+   * @param <V> type of the value.
+   * @return a completed instance of {@link AsyncExceptional} in empty state.
+   */
+  public static <V> AsyncExceptional<V> empty() {
+    return of(Exceptional.empty());
+  }
+
+  /**
+   * Map the value to some other value. Exceptions in mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return an instance of {@link AsyncExceptional} completed with the result of mapping.
+   * @see Exceptional#map(Function)
+   */
+  public <V> AsyncExceptional<V> map(Function<? super T, V> mapper) {
+    return new AsyncExceptional<>(future.thenApply(exceptional -> exceptional.map(mapper)));
+  }
+
+  /**
+   * Map the value to some other value catching all the exceptions from mapper.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return an instance of {@link AsyncExceptional} completed with the result of mapping.
+   * @see Exceptional#safelyMap(ExceptionalFunction)
+   */
+  public <V> AsyncExceptional<V> safelyMap(ExceptionalFunction<? super T, V> mapper) {
+    return new AsyncExceptional<>(future.thenApply(exceptional -> exceptional.safelyMap(mapper)));
+  }
+
+  /**
+   * Map the value to some other value on the executor catching all the exceptions from mapper.
+   *
+   * @param mapper   to get a new value.
+   * @param executor to run the mapper on.
+   * @param <V>      type of new value.
+   * @return an instance of {@link AsyncExceptional} completed with the result of mapping.
+   * @see Exceptional#safelyMap(ExceptionalFunction)
+   */
+  public <V> AsyncExceptional<V> safelyMapAsync(ExceptionalFunction<? super T, V> mapper,
+                                                Executor executor) {
+    return new AsyncExceptional<>(
+        future.thenApplyAsync(exceptional -> exceptional.safelyMap(mapper), executor));
+  }
+
+  /**
+   * Map the value to a value from another {@link AsyncExceptional} provided by mapper.
+   * Exceptions in mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return an instance of {@link AsyncExceptional} completed when the one returned by mapper is
+   * completed.
+   * @see Exceptional#flatMap(Function)
+   */
+  @SuppressWarnings("unchecked")
+  public <V> AsyncExceptional<V> flatMap(Function<? super T, AsyncExceptional<V>> mapper) {
+    return new AsyncExceptional<>(future.thenCompose(exceptional -> {
+      if (!exceptional.isValuePresent()) {
+        return CompletableFuture.completedFuture((Exceptional<V>) exceptional);
+      }
+      return mapper.apply(exceptional.getValue()).future;
+    }));
+  }
+
+  /**
+   * Replace empty state with another {@link AsyncExceptional} provided by supplier. Exceptions in
+   * supplier won't be caught.
+   *
+   * @param supplier new {@link AsyncExceptional} instance supplier.
+   * @return an instance of {@link AsyncExceptional} completed with the result.
+   * @see Exceptional#flatMapIfEmpty(Supplier)
+   */
+  public AsyncExceptional<T> flatMapIfEmpty(Supplier<AsyncExceptional<T>> supplier) {
+    return new AsyncExceptional<>(future.thenCompose(exceptional -> {
+      if (exceptional.isEmpty()) {
+        return supplier.get().future;
+      }
+      return CompletableFuture.completedFuture(exceptional);
+    }));
+  }
+
+  /**
+   * Executes some logic using not null value once it's available.
+   *
+   * @param consumer consumer of the value.
+   * @return an instance of {@link AsyncExceptional} completed after the consumer is executed.
+   * @see Exceptional#ifValue(Consumer)
+   */
+  public AsyncExceptional<T> ifValue(Consumer<? super T> consumer) {
+    return new AsyncExceptional<>(future.thenApply(exceptional -> exceptional.ifValue(consumer)));
+  }
+
+  /**
+   * Executes some logic using not null exception once it's available.
+   *
+   * @param consumer consumer of the exception.
+   * @return an instance of {@link AsyncExceptional} completed after the consumer is executed.
+   * @see Exceptional#ifException(Consumer)
+   */
+  public AsyncExceptional<T> ifException(Consumer<Exception> consumer) {
+    return new AsyncExceptional<>(
+        future.thenApply(exceptional -> exceptional.ifException(consumer)));
+  }
+
+  /**
+   * Executes some logic using not null exception of the class once it's available.
+   *
+   * @param clazz    class of exception to handle.
+   * @param consumer consumer of the exception.
+   * @param <E>      type of exception to handle.
+   * @return an instance of {@link AsyncExceptional} completed after the consumer is executed.
+   * @see Exceptional#ifException(Class, Consumer)
+   */
+  public <E extends Exception> AsyncExceptional<T> ifException(Class<E> clazz,
+                                                               Consumer<E> consumer) {
+    return new AsyncExceptional<>(
+        future.thenApply(exceptional -> exceptional.ifException(clazz, consumer)));
+  }
+
+  /**
+   * Map the exception to some value catching all the exceptions from mapper.
+   *
+   * @param mapper to get a new value from the exception.
+   * @return an instance of {@link AsyncExceptional} completed with the result of mapping.
+   * @see Exceptional#resumeOnException(ExceptionalFunction)
+   */
+  public AsyncExceptional<T> resumeOnException(ExceptionalFunction<Exception, T> mapper) {
+    return new AsyncExceptional<>(
+        future.thenApply(exceptional -> exceptional.resumeOnException(mapper)));
+  }
+
+  /**
+   * @return {@link CompletionStage} completed with {@link Exceptional} once all the steps are
+   * executed.
+   */
+  public CompletionStage<Exceptional<T>> toCompletionStage() {
+    return future.thenApply(Function.identity());
+  }
+
+  /**
+   * @return {@link CompletableFuture} completed with the value, completed exceptionally with the
+   * exception or completed with null in case of empty state. Exceptions and errors thrown by steps
+   * which don't catch them complete it exceptionally as they are.
+   */
+  public CompletableFuture<T> toValueFuture() {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    future.whenComplete((exceptional, throwable) -> {
+      if (throwable != null) {
+        result.completeExceptionally(unwrap(throwable));
+      } else if (exceptional.isException()) {
+        result.completeExceptionally(exceptional.getException());
+      } else {
+        result.complete(exceptional.getOrNull());
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Wait for all the steps to be executed. Prefer non-blocking methods where possible.
+   *
+   * @return the resulting {@link Exceptional}.
+   * @throws RuntimeException an exception thrown by a step which doesn't catch exceptions, like
+   *                          it would be thrown by the synchronous {@link Exceptional} chain.
+   */
+  public Exceptional<T> join() throws RuntimeException {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * @return true if all the steps are executed.
+   */
+  public boolean isDone() {
+    return future.isDone();
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    if ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+        && throwable.getCause() != null) {
+      return throwable.getCause();
+    }
+    return throwable;
+  }
+
+  private AsyncExceptional(CompletableFuture<Exceptional<T>> future) {
+    this.future = future;
+  }
+}
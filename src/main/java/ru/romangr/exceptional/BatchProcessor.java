@@ -0,0 +1,94 @@
+package ru.romangr.exceptional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.metrics.CaptureSite;
+import ru.romangr.exceptional.metrics.ExceptionalListener;
+import ru.romangr.exceptional.metrics.ExceptionalMetrics;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalFunction;
+import ru.romangr.exceptional.type.ProcessingResult;
+
+/**
+ * Applies a batch mapper to consecutive batches of collection elements. When a batch fails, it's
+ * split in halves which are retried in order until the first failed element is isolated, so
+ * finding it takes a logarithmic number of extra calls. The result is the same as the result of
+ * element by element processing: successful results preceding the first failed element and the
+ * exception of that element.
+ */
+@NonNullApi
+final class BatchProcessor<C, E> {
+
+  private final List<C> elements;
+  private final ExceptionalFunction<List<C>, List<E>> mapper;
+  private final List<E> successResults;
+  @Nullable
+  private final ExceptionalListener listener = ExceptionalMetrics.listener();
+  @Nullable
+  private Exception exception;
+
+  static <C, E> Exceptional<ProcessingResult<E>> process(
+      Collection<C> collection, int batchSize, ExceptionalFunction<List<C>, List<E>> mapper) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+    }
+    List<C> elements = collection instanceof List && collection instanceof RandomAccess
+        ? (List<C>) collection
+        : new ArrayList<>(collection);
+    BatchProcessor<C, E> processor = new BatchProcessor<>(elements, mapper);
+    for (int from = 0; from < elements.size(); from += batchSize) {
+      if (!processor.processRange(from, Math.min(elements.size(), from + batchSize))) {
+        break;
+      }
+    }
+    return Exceptional.exceptional(
+        new ProcessingResult<>(processor.successResults, processor.exception));
+  }
+
+  private BatchProcessor(List<C> elements, ExceptionalFunction<List<C>, List<E>> mapper) {
+    this.elements = elements;
+    this.mapper = mapper;
+    this.successResults = new ArrayList<>(elements.size());
+  }
+
+  /**
+   * @return true if all the elements of the range are processed successfully.
+   */
+  private boolean processRange(int from, int to) {
+    List<E> results;
+    try {
+      results = mapper.apply(Collections.unmodifiableList(elements.subList(from, to)));
+      if (results.size() != to - from) {
+        throw new IllegalStateException("Batch mapper returned " + results.size()
+            + " results for " + (to - from) + " elements");
+      }
+    } catch (Exception e) {
+      if (to - from == 1) {
+        exception = e;
+        if (listener != null) {
+          listener.onFailure(CaptureSite.PROCESS_COLLECTION, e);
+        }
+        return false;
+      }
+      int middle = (from + to) >>> 1;
+      return processRange(from, middle) && processRange(middle, to);
+    }
+    for (E result : results) {
+      if (result != null) {
+        successResults.add(result);
+      }
+      if (listener != null) {
+        if (result != null) {
+          listener.onValue(CaptureSite.PROCESS_COLLECTION);
+        } else {
+          listener.onEmpty(CaptureSite.PROCESS_COLLECTION);
+        }
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,384 @@
+package ru.romangr.exceptional;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.CircuitBreakerOpenException;
+import ru.romangr.exceptional.type.ExceptionalFunction;
+import ru.romangr.exceptional.type.ExceptionalSupplier;
+
+/**
+ * Stops calling a failing dependency. The breaker counts outcomes of calls in a sliding time
+ * window and opens when the share of failures reaches the threshold. Calls to an open breaker are
+ * rejected with {@link CircuitBreakerOpenException} without calling the dependency. After the open
+ * duration a limited number of probe calls is let through: the breaker closes if all of them
+ * succeed and opens again on the first failure.
+ * <p>
+ * The breaker doesn't lock: the window consists of time buckets with striped counters and the
+ * state changes with CAS, so the counts are approximate while buckets rotate. Instances are
+ * thread-safe and meant to be shared by all the calls to the same dependency.
+ */
+@NonNullApi
+public final class CircuitBreaker {
+
+  private static final int CLOSED = 0;
+  private static final int OPEN = 1;
+  private static final int HALF_OPEN = 2;
+
+  private static final int REJECTED = 0;
+  private static final int PERMITTED = 1;
+  private static final int PROBE = 2;
+
+  private final Bucket[] buckets;
+  private final long bucketNanos;
+  private final double failureRateThreshold;
+  private final long minimumCalls;
+  private final long openNanos;
+  private final int probes;
+  private final LongSupplier ticker;
+  private final long origin;
+  private final CircuitBreakerOpenException openException;
+
+  private final AtomicInteger state = new AtomicInteger(CLOSED);
+  private final AtomicInteger probePermits = new AtomicInteger();
+  private final AtomicInteger probeSuccesses = new AtomicInteger();
+  private volatile long openUntil;
+
+  /**
+   * State of a {@link CircuitBreaker}.
+   */
+  public enum State {
+    /**
+     * Calls are permitted and their outcomes are counted.
+     */
+    CLOSED,
+    /**
+     * Calls are rejected.
+     */
+    OPEN,
+    /**
+     * A limited number of probe calls is permitted.
+     */
+    HALF_OPEN
+  }
+
+  /**
+   * @return a new builder of {@link CircuitBreaker}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Get some value from supplier catching all the exceptions if the breaker permits the call.
+   *
+   * @param supplier to get value from.
+   * @param <V>      type of the value.
+   * @return an instance of {@link Exceptional} with value or exception or in empty state or with
+   * {@link CircuitBreakerOpenException} if the call is rejected.
+   */
+  public <V> Exceptional<V> attempt(ExceptionalSupplier<V> supplier) {
+    int permission = acquire();
+    if (permission == REJECTED) {
+      return Exceptional.exceptional(openException);
+    }
+    boolean success = false;
+    try {
+      Exceptional<V> result = Exceptional.getExceptional(supplier);
+      success = !result.isException();
+      return result;
+    } finally {
+      record(permission, success);
+    }
+  }
+
+  /**
+   * Guard the supplier with the breaker. The returned supplier throws
+   * {@link CircuitBreakerOpenException} if the call is rejected.
+   *
+   * @param supplier to guard.
+   * @param <V>      type of the value.
+   * @return supplier calling the given one if the breaker permits the call.
+   */
+  public <V> ExceptionalSupplier<V> wrap(ExceptionalSupplier<V> supplier) {
+    return () -> {
+      int permission = permit();
+      boolean success = false;
+      try {
+        V value = supplier.get();
+        success = true;
+        return value;
+      } finally {
+        record(permission, success);
+      }
+    };
+  }
+
+  /**
+   * Guard the function with the breaker. The returned function throws
+   * {@link CircuitBreakerOpenException} if the call is rejected.
+   *
+   * @param function to guard.
+   * @param <T>      type of the argument.
+   * @param <V>      type of the value.
+   * @return function calling the given one if the breaker permits the call.
+   */
+  public <T, V> ExceptionalFunction<T, V> wrap(ExceptionalFunction<T, V> function) {
+    return argument -> {
+      int permission = permit();
+      boolean success = false;
+      try {
+        V value = function.apply(argument);
+        success = true;
+        return value;
+      } finally {
+        record(permission, success);
+      }
+    };
+  }
+
+  /**
+   * @return the current state of the breaker. An open breaker is reported as open until a call
+   * after the open duration switches it to half-open.
+   */
+  public State getState() {
+    return State.values()[state.get()];
+  }
+
+  private int permit() throws CircuitBreakerOpenException {
+    int permission = acquire();
+    if (permission == REJECTED) {
+      throw openException;
+    }
+    return permission;
+  }
+
+  private int acquire() {
+    int current = state.get();
+    if (current == CLOSED) {
+      return PERMITTED;
+    }
+    if (current == OPEN) {
+      if (ticker.getAsLong() - openUntil < 0) {
+        return REJECTED;
+      }
+      if (state.compareAndSet(OPEN, HALF_OPEN)) {
+        probeSuccesses.set(0);
+        probePermits.set(probes);
+      }
+    }
+    int permits = probePermits.get();
+    while (permits > 0) {
+      if (probePermits.compareAndSet(permits, permits - 1)) {
+        return PROBE;
+      }
+      permits = probePermits.get();
+    }
+    return REJECTED;
+  }
+
+  private void record(int permission, boolean success) {
+    if (permission == PROBE) {
+      recordProbe(success);
+      return;
+    }
+    long now = ticker.getAsLong();
+    long epoch = (now - origin) / bucketNanos;
+    Bucket bucket = bucketFor(epoch);
+    if (success) {
+      bucket.successes.increment();
+      return;
+    }
+    bucket.failures.increment();
+    if (state.get() == CLOSED && isFailureRateExceeded(epoch)) {
+      open(now);
+    }
+  }
+
+  private void recordProbe(boolean success) {
+    if (!success) {
+      if (state.get() == HALF_OPEN) {
+        probePermits.set(0);
+        open(ticker.getAsLong());
+      }
+      return;
+    }
+    if (probeSuccesses.incrementAndGet() >= probes && state.compareAndSet(HALF_OPEN, CLOSED)) {
+      resetWindow();
+    }
+  }
+
+  private void open(long now) {
+    openUntil = now + openNanos;
+    int current = state.get();
+    if (current != OPEN) {
+      state.compareAndSet(current, OPEN);
+    }
+  }
+
+  private Bucket bucketFor(long epoch) {
+    Bucket bucket = buckets[(int) (epoch % buckets.length)];
+    long bucketEpoch = bucket.epoch;
+    if (bucketEpoch < epoch && Bucket.EPOCH.compareAndSet(bucket, bucketEpoch, epoch)) {
+      bucket.successes.reset();
+      bucket.failures.reset();
+    }
+    return bucket;
+  }
+
+  private boolean isFailureRateExceeded(long epoch) {
+    long successes = 0;
+    long failures = 0;
+    for (Bucket bucket : buckets) {
+      if (epoch - bucket.epoch < buckets.length) {
+        successes += bucket.successes.sum();
+        failures += bucket.failures.sum();
+      }
+    }
+    long calls = successes + failures;
+    return calls >= minimumCalls && failures >= failureRateThreshold * calls;
+  }
+
+  private void resetWindow() {
+    for (Bucket bucket : buckets) {
+      bucket.successes.reset();
+      bucket.failures.reset();
+    }
+  }
+
+  private CircuitBreaker(Builder builder) {
+    this.buckets = new Bucket[builder.buckets];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new Bucket();
+    }
+    this.bucketNanos = Math.max(builder.windowNanos / builder.buckets, 1);
+    this.failureRateThreshold = builder.failureRateThreshold;
+    this.minimumCalls = builder.minimumCalls;
+    this.openNanos = builder.openNanos;
+    this.probes = builder.probes;
+    this.ticker = builder.ticker;
+    this.origin = ticker.getAsLong();
+    this.openException = new CircuitBreakerOpenException(builder.name + " circuit breaker is open");
+  }
+
+  private static final class Bucket {
+
+    private static final AtomicLongFieldUpdater<Bucket> EPOCH =
+        AtomicLongFieldUpdater.newUpdater(Bucket.class, "epoch");
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile long epoch;
+  }
+
+  /**
+   * Builder of {@link CircuitBreaker}. By default the breaker opens for 30 seconds when at least
+   * half of at least 20 calls within 10 seconds fail, and closes after 3 successful probes.
+   */
+  public static final class Builder {
+
+    private String name = "Unnamed";
+    private double failureRateThreshold = 0.5;
+    private long minimumCalls = 20;
+    private long windowNanos = Duration.ofSeconds(10).toNanos();
+    private int buckets = 10;
+    private long openNanos = Duration.ofSeconds(30).toNanos();
+    private int probes = 3;
+    private LongSupplier ticker = System::nanoTime;
+
+    private Builder() {
+    }
+
+    /**
+     * @param name of the guarded dependency, used in the message of
+     *             {@link CircuitBreakerOpenException}.
+     * @return this builder.
+     */
+    public Builder name(String name) {
+      this.name = name;
+      return this;
+    }
+
+    /**
+     * @param failureRateThreshold share of failed calls in the window opening the breaker, in
+     *                             (0, 1].
+     * @return this builder.
+     */
+    public Builder failureRateThreshold(double failureRateThreshold) {
+      if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+        throw new IllegalArgumentException(
+            "failureRateThreshold must be in (0, 1]: " + failureRateThreshold);
+      }
+      this.failureRateThreshold = failureRateThreshold;
+      return this;
+    }
+
+    /**
+     * @param minimumCalls the number of calls in the window below which the breaker doesn't open.
+     * @return this builder.
+     */
+    public Builder minimumCalls(long minimumCalls) {
+      if (minimumCalls < 1) {
+        throw new IllegalArgumentException("minimumCalls must be positive: " + minimumCalls);
+      }
+      this.minimumCalls = minimumCalls;
+      return this;
+    }
+
+    /**
+     * @param window  length of the sliding window.
+     * @param buckets the number of time buckets the window consists of.
+     * @return this builder.
+     */
+    public Builder window(Duration window, int buckets) {
+      if (window.isNegative() || window.isZero()) {
+        throw new IllegalArgumentException("window must be positive: " + window);
+      }
+      if (buckets < 1) {
+        throw new IllegalArgumentException("buckets must be positive: " + buckets);
+      }
+      this.windowNanos = window.toNanos();
+      this.buckets = buckets;
+      return this;
+    }
+
+    /**
+     * @param openDuration time to reject calls before letting probes through.
+     * @return this builder.
+     */
+    public Builder openDuration(Duration openDuration) {
+      if (openDuration.isNegative()) {
+        throw new IllegalArgumentException("openDuration must not be negative: " + openDuration);
+      }
+      this.openNanos = openDuration.toNanos();
+      return this;
+    }
+
+    /**
+     * @param probes the number of successful probe calls closing the breaker.
+     * @return this builder.
+     */
+    public Builder probes(int probes) {
+      if (probes < 1) {
+        throw new IllegalArgumentException("probes must be positive: " + probes);
+      }
+      this.probes = probes;
+      return this;
+    }
+
+    Builder ticker(LongSupplier ticker) {
+      this.ticker = ticker;
+      return this;
+    }
+
+    /**
+     * @return a new {@link CircuitBreaker}.
+     */
+    public CircuitBreaker build() {
+      return new CircuitBreaker(this);
+    }
+  }
+}
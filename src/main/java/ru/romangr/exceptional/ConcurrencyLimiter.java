@@ -0,0 +1,292 @@
+package ru.romangr.exceptional;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.DeadlineExceededException;
+import ru.romangr.exceptional.type.ExceptionalFunction;
+import ru.romangr.exceptional.type.ExceptionalSupplier;
+import ru.romangr.exceptional.type.LimitExceededException;
+
+/**
+ * Limits the number of concurrent calls to a dependency and rejects calls over the limit
+ * immediately with {@link LimitExceededException} instead of queueing them.
+ * <p>
+ * The limit adapts to the observed latency with additive increase and multiplicative decrease: a
+ * call completed faster than the latency threshold while the limit was in use raises the limit by
+ * about one per limit calls, a slower call or a call failed with a timeout multiplies the limit
+ * by the backoff ratio. Calls started before the previous decrease don't decrease the limit again,
+ * so a burst of slow calls reduces it once. Other exceptions and errors don't change the limit.
+ * Instances are thread-safe and don't lock.
+ */
+@NonNullApi
+public final class ConcurrencyLimiter {
+
+  private final double minLimit;
+  private final double maxLimit;
+  private final long latencyThresholdNanos;
+  private final double backoffRatio;
+  private final LongSupplier ticker;
+  private final LimitExceededException limitExceededException;
+
+  private final AtomicInteger inflight = new AtomicInteger();
+  private final AtomicLong limitBits;
+  private final AtomicLong lastDecreaseNanos;
+
+  /**
+   * @return a new builder of {@link ConcurrencyLimiter}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Get some value from supplier catching all the exceptions if the limit permits the call.
+   *
+   * @param supplier to get value from.
+   * @param <V>      type of the value.
+   * @return an instance of {@link Exceptional} with value or exception or in empty state or with
+   * {@link LimitExceededException} if the call is rejected.
+   */
+  public <V> Exceptional<V> attempt(ExceptionalSupplier<V> supplier) {
+    if (!tryAcquire()) {
+      return Exceptional.exceptional(limitExceededException);
+    }
+    long start = ticker.getAsLong();
+    Throwable failure = null;
+    try {
+      Exceptional<V> result = Exceptional.getExceptional(supplier);
+      failure = result.getExceptionOrNull();
+      return result;
+    } catch (Throwable e) {
+      failure = e;
+      throw e;
+    } finally {
+      release(start, failure);
+    }
+  }
+
+  /**
+   * Guard the supplier with the limiter. The returned supplier throws
+   * {@link LimitExceededException} if the call is rejected.
+   *
+   * @param supplier to guard.
+   * @param <V>      type of the value.
+   * @return supplier calling the given one if the limit permits the call.
+   */
+  public <V> ExceptionalSupplier<V> wrap(ExceptionalSupplier<V> supplier) {
+    return () -> {
+      long start = permit();
+      Throwable failure = null;
+      try {
+        return supplier.get();
+      } catch (Throwable e) {
+        failure = e;
+        throw e;
+      } finally {
+        release(start, failure);
+      }
+    };
+  }
+
+  /**
+   * Guard the function with the limiter. The returned function throws
+   * {@link LimitExceededException} if the call is rejected.
+   *
+   * @param function to guard.
+   * @param <T>      type of the argument.
+   * @param <V>      type of the value.
+   * @return function calling the given one if the limit permits the call.
+   */
+  public <T, V> ExceptionalFunction<T, V> wrap(ExceptionalFunction<T, V> function) {
+    return argument -> {
+      long start = permit();
+      Throwable failure = null;
+      try {
+        return function.apply(argument);
+      } catch (Throwable e) {
+        failure = e;
+        throw e;
+      } finally {
+        release(start, failure);
+      }
+    };
+  }
+
+  /**
+   * @return the current number of calls permitted at the same time.
+   */
+  public int getLimit() {
+    return (int) limit();
+  }
+
+  /**
+   * @return the number of calls in progress.
+   */
+  public int getInflight() {
+    return inflight.get();
+  }
+
+  private long permit() throws LimitExceededException {
+    if (!tryAcquire()) {
+      throw limitExceededException;
+    }
+    return ticker.getAsLong();
+  }
+
+  private boolean tryAcquire() {
+    int current = inflight.get();
+    while (current < (int) limit()) {
+      if (inflight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+      current = inflight.get();
+    }
+    return false;
+  }
+
+  private void release(long start, @Nullable Throwable failure) {
+    long now = ticker.getAsLong();
+    int inflightBefore = inflight.getAndDecrement();
+    if (now - start > latencyThresholdNanos || isTimeout(failure)) {
+      long lastDecrease = lastDecreaseNanos.get();
+      if (start - lastDecrease >= 0 && lastDecreaseNanos.compareAndSet(lastDecrease, now)) {
+        updateLimit(limit -> Math.max(minLimit, limit * backoffRatio));
+      }
+    } else if (failure == null && inflightBefore * 2 >= limit()) {
+      updateLimit(limit -> Math.min(maxLimit, limit + 1 / limit));
+    }
+  }
+
+  private static boolean isTimeout(@Nullable Throwable failure) {
+    return failure instanceof DeadlineExceededException
+        || failure instanceof TimeoutException;
+  }
+
+  private double limit() {
+    return Double.longBitsToDouble(limitBits.get());
+  }
+
+  private void updateLimit(DoubleUnaryOperator update) {
+    long current = limitBits.get();
+    while (true) {
+      long next = Double.doubleToRawLongBits(
+          update.applyAsDouble(Double.longBitsToDouble(current)));
+      if (next == current || limitBits.compareAndSet(current, next)) {
+        return;
+      }
+      current = limitBits.get();
+    }
+  }
+
+  private ConcurrencyLimiter(Builder builder) {
+    this.minLimit = builder.minLimit;
+    this.maxLimit = builder.maxLimit;
+    this.latencyThresholdNanos = builder.latencyThresholdNanos;
+    this.backoffRatio = builder.backoffRatio;
+    this.ticker = builder.ticker;
+    double initialLimit = Math.min(Math.max(builder.initialLimit, minLimit), maxLimit);
+    this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+    this.lastDecreaseNanos = new AtomicLong(ticker.getAsLong());
+    this.limitExceededException =
+        new LimitExceededException(builder.name + " concurrency limit exceeded");
+  }
+
+  /**
+   * Builder of {@link ConcurrencyLimiter}. By default the limit starts at 20 and stays between 1
+   * and 1000, calls slower than 1 second reduce it by 10%.
+   */
+  public static final class Builder {
+
+    private String name = "Unnamed";
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 1000;
+    private long latencyThresholdNanos = Duration.ofSeconds(1).toNanos();
+    private double backoffRatio = 0.9;
+    private LongSupplier ticker = System::nanoTime;
+
+    private Builder() {
+    }
+
+    /**
+     * @param name of the guarded dependency, used in the message of
+     *             {@link LimitExceededException}.
+     * @return this builder.
+     */
+    public Builder name(String name) {
+      this.name = name;
+      return this;
+    }
+
+    /**
+     * @param initialLimit the number of concurrent calls permitted before any adaptation, must be
+     *                     positive.
+     * @return this builder.
+     */
+    public Builder initialLimit(int initialLimit) {
+      if (initialLimit < 1) {
+        throw new IllegalArgumentException("initialLimit must be positive: " + initialLimit);
+      }
+      this.initialLimit = initialLimit;
+      return this;
+    }
+
+    /**
+     * @param minLimit the lowest limit, must be positive.
+     * @param maxLimit the highest limit, must not be lower than minLimit.
+     * @return this builder.
+     */
+    public Builder limitRange(int minLimit, int maxLimit) {
+      if (minLimit < 1 || maxLimit < minLimit) {
+        throw new IllegalArgumentException(
+            "Invalid limit range: [" + minLimit + ", " + maxLimit + "]");
+      }
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+      return this;
+    }
+
+    /**
+     * @param latencyThreshold latency of a call over which the limit is reduced.
+     * @return this builder.
+     */
+    public Builder latencyThreshold(Duration latencyThreshold) {
+      if (latencyThreshold.isNegative() || latencyThreshold.isZero()) {
+        throw new IllegalArgumentException(
+            "latencyThreshold must be positive: " + latencyThreshold);
+      }
+      this.latencyThresholdNanos = latencyThreshold.toNanos();
+      return this;
+    }
+
+    /**
+     * @param backoffRatio the limit is multiplied by on a slow call, in (0, 1).
+     * @return this builder.
+     */
+    public Builder backoffRatio(double backoffRatio) {
+      if (!(backoffRatio > 0 && backoffRatio < 1)) {
+        throw new IllegalArgumentException("backoffRatio must be in (0, 1): " + backoffRatio);
+      }
+      this.backoffRatio = backoffRatio;
+      return this;
+    }
+
+    Builder ticker(LongSupplier ticker) {
+      this.ticker = ticker;
+      return this;
+    }
+
+    /**
+     * @return a new {@link ConcurrencyLimiter}.
+     */
+    public ConcurrencyLimiter build() {
+      return new ConcurrencyLimiter(this);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package ru.romangr.exceptional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalSupplier;
+import ru.romangr.exceptional.type.ExceptionalWrappedException;
+import ru.romangr.exceptional.type.ProcessingResult;
+
+/**
+ * Runs a task per element with bounded concurrency. Intended for blocking mappers and suppliers:
+ * on Java 21+ every task gets its own virtual thread, so thousands of elements can wait for I/O at
+ * the same time without a pool of platform threads. Anything thrown by a task, errors included, is
+ * rethrown on the caller thread once the running tasks are finished.
+ */
+@NonNullApi
+final class ConcurrentFanOut {
+
+  static <E, C> Exceptional<ProcessingResult<E>> processCollection(
+      Collection<C> collection, Function<? super C, Exceptional<E>> mapper, int maxConcurrency) {
+    checkConcurrency(maxConcurrency);
+    if (collection.isEmpty()) {
+      return Exceptional.processCollection(collection, mapper);
+    }
+    IndexedResults<E> results = new IndexedResults<>(collection.size());
+    AtomicReference<Throwable> thrown = new AtomicReference<>();
+    Semaphore permits = new Semaphore(maxConcurrency);
+    ExecutorService executor =
+        FanOutExecutors.newExecutor(Math.min(maxConcurrency, collection.size()));
+    try {
+      int index = 0;
+      for (C element : collection) {
+        if (results.isAfterFailure(index) || thrown.get() != null) {
+          break;
+        }
+        permits.acquire();
+        int elementIndex = index++;
+        executor.execute(() -> {
+          try {
+            if (!results.isAfterFailure(elementIndex)) {
+              results.record(elementIndex, mapper.apply(element));
+            }
+          } catch (Throwable e) {
+            thrown.compareAndSet(null, e);
+          } finally {
+            permits.release();
+          }
+        });
+      }
+      permits.acquire(maxConcurrency);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      executor.shutdownNow();
+      return Exceptional.exceptional(e);
+    } finally {
+      executor.shutdown();
+    }
+    rethrow(thrown.get());
+    return Exceptional.exceptional(results.toProcessingResult());
+  }
+
+  static <V> List<Exceptional<V>> attemptAll(Collection<? extends ExceptionalSupplier<V>> suppliers,
+                                             int maxConcurrency) {
+    checkConcurrency(maxConcurrency);
+    if (suppliers.isEmpty()) {
+      return new ArrayList<>();
+    }
+    AtomicReferenceArray<Exceptional<V>> attempts = new AtomicReferenceArray<>(suppliers.size());
+    AtomicReference<Throwable> thrown = new AtomicReference<>();
+    Semaphore permits = new Semaphore(maxConcurrency);
+    ExecutorService executor =
+        FanOutExecutors.newExecutor(Math.min(maxConcurrency, suppliers.size()));
+    try {
+      int index = 0;
+      for (ExceptionalSupplier<V> supplier : suppliers) {
+        if (thrown.get() != null) {
+          break;
+        }
+        permits.acquire();
+        int attemptIndex = index++;
+        executor.execute(() -> {
+          try {
+            attempts.compareAndSet(attemptIndex, null, Exceptional.attempt(supplier));
+          } catch (Throwable e) {
+            thrown.compareAndSet(null, e);
+          } finally {
+            permits.release();
+          }
+        });
+      }
+      permits.acquire(maxConcurrency);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      executor.shutdownNow();
+      for (int i = 0; i < attempts.length(); i++) {
+        attempts.compareAndSet(i, null, Exceptional.exceptional(e));
+      }
+    } finally {
+      executor.shutdown();
+    }
+    rethrow(thrown.get());
+    List<Exceptional<V>> results = new ArrayList<>(attempts.length());
+    for (int i = 0; i < attempts.length(); i++) {
+      results.add(attempts.get(i));
+    }
+    return results;
+  }
+
+  private static void rethrow(@Nullable Throwable thrown) {
+    if (thrown instanceof Error) {
+      throw (Error) thrown;
+    }
+    if (thrown instanceof RuntimeException) {
+      throw (RuntimeException) thrown;
+    }
+    if (thrown != null) {
+      throw new ExceptionalWrappedException(thrown);
+    }
+  }
+
+  private static void checkConcurrency(int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+    }
+  }
+
+  private ConcurrentFanOut() {
+  }
+}
@@ -0,0 +1,61 @@
+package ru.romangr.exceptional;
+
+import java.time.Duration;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * A point in time by which a chain of calls has to complete. Pass the same deadline to every
+ * stage of a chain, so each stage gets only the time left by the previous ones.
+ *
+ * @see Exceptional#attemptWithin(Deadline, ru.romangr.exceptional.type.ExceptionalSupplier)
+ */
+@NonNullApi
+public final class Deadline {
+
+  private static final long MAX_TIMEOUT_NANOS = Long.MAX_VALUE >> 1;
+  private static final Duration MAX_TIMEOUT = Duration.ofNanos(MAX_TIMEOUT_NANOS);
+
+  private final long deadlineNanos;
+
+  /**
+   * @param timeout time from now to the deadline.
+   * @return a new {@link Deadline}.
+   */
+  public static Deadline after(Duration timeout) {
+    long timeoutNanos;
+    if (timeout.compareTo(MAX_TIMEOUT) > 0) {
+      timeoutNanos = MAX_TIMEOUT_NANOS;
+    } else if (timeout.compareTo(MAX_TIMEOUT.negated()) < 0) {
+      timeoutNanos = -MAX_TIMEOUT_NANOS;
+    } else {
+      timeoutNanos = timeout.toNanos();
+    }
+    return new Deadline(System.nanoTime() + timeoutNanos);
+  }
+
+  /**
+   * @return time left to the deadline, zero if the deadline has passed.
+   */
+  public Duration remaining() {
+    return Duration.ofNanos(Math.max(remainingNanos(), 0));
+  }
+
+  /**
+   * @return true if the deadline has passed.
+   */
+  public boolean isExpired() {
+    return remainingNanos() <= 0;
+  }
+
+  long remainingNanos() {
+    return deadlineNanos - System.nanoTime();
+  }
+
+  long nanoTime() {
+    return deadlineNanos;
+  }
+
+  private Deadline(long deadlineNanos) {
+    this.deadlineNanos = deadlineNanos;
+  }
+}
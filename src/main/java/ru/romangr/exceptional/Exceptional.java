@@ -1,37 +1,46 @@
 package ru.romangr.exceptional;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
+import ru.romangr.exceptional.metrics.CaptureSite;
+import ru.romangr.exceptional.metrics.ExceptionalListener;
+import ru.romangr.exceptional.metrics.ExceptionalMetrics;
 import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.CaptureMode;
+import ru.romangr.exceptional.type.ColumnarProcessingResult;
+import ru.romangr.exceptional.type.DeadlineExceededException;
 import ru.romangr.exceptional.type.ExceptionalConsumer;
 import ru.romangr.exceptional.type.ExceptionalFunction;
 import ru.romangr.exceptional.type.ExceptionalRunnable;
 import ru.romangr.exceptional.type.ExceptionalSupplier;
+import ru.romangr.exceptional.type.ExceptionalToDoubleFunction;
+import ru.romangr.exceptional.type.ExceptionalToIntFunction;
+import ru.romangr.exceptional.type.ExceptionalToLongFunction;
 import ru.romangr.exceptional.type.ExceptionalWrappedException;
+import ru.romangr.exceptional.type.LightweightException;
 import ru.romangr.exceptional.type.ProcessingResult;
+import ru.romangr.exceptional.type.ProcessingStream;
 
 @NonNullApi
-public final class Exceptional<T> {
+public abstract class Exceptional<T> {
 
-  private static final Exceptional<?> EMPTY_INSTANCE = exceptional((Object) null);
-
-  @Nullable
-  private final Exception exception;
-
-  @Nullable
-  private final T value;
-
-  private boolean isExceptionHandled;
+  private static final Exceptional<?> EMPTY_INSTANCE = new Empty<>();
 
   /**
    * Get some value from supplier catching all the exceptions.
@@ -41,11 +50,18 @@ public final class Exceptional<T> {
    * @return an instance of {@link Exceptional} with value or exception or in empty state.
    */
   public static <V> Exceptional<V> getExceptional(ExceptionalSupplier<V> supplier) {
+    Object timing = FlightRecorderHooks.supplierStarted();
+    V value;
     try {
-      return Exceptional.exceptional(supplier.get());
+      value = supplier.get();
     } catch (Exception e) {
-      return Exceptional.exceptional(e);
+      FlightRecorderHooks.supplierFinished(timing, supplier);
+      recordFailure(CaptureSite.GET_EXCEPTIONAL, e, supplier);
+      return new Failure<>(e);
     }
+    FlightRecorderHooks.supplierFinished(timing, supplier);
+    recordValue(CaptureSite.GET_EXCEPTIONAL, value);
+    return exceptional(value);
   }
 
   /**
@@ -56,11 +72,32 @@ public final class Exceptional<T> {
    * @return an instance of {@link Exceptional} with value or exception or in empty state.
    */
   public static <V> Exceptional<V> attempt(ExceptionalSupplier<V> supplier) {
+    Object timing = FlightRecorderHooks.supplierStarted();
+    V value;
     try {
-      return Exceptional.exceptional(supplier.get());
+      value = supplier.get();
     } catch (Exception e) {
-      return Exceptional.exceptional(e);
+      FlightRecorderHooks.supplierFinished(timing, supplier);
+      recordFailure(CaptureSite.GET_EXCEPTIONAL, e, supplier);
+      return new Failure<>(e);
     }
+    FlightRecorderHooks.supplierFinished(timing, supplier);
+    recordValue(CaptureSite.GET_EXCEPTIONAL, value);
+    return exceptional(value);
+  }
+
+  /**
+   * Get some value from supplier catching all the exceptions, but only when the state of the
+   * result is needed. The supplier is called at most once, even if the result is used by several
+   * threads. Mapping the result doesn't call the supplier either, the mappers are applied together
+   * with it.
+   *
+   * @param supplier to get value from.
+   * @param <V>      type of the value.
+   * @return an instance of {@link Exceptional} evaluated on the first use.
+   */
+  public static <V> Exceptional<V> lazy(ExceptionalSupplier<V> supplier) {
+    return new LazyExceptional<>(() -> getExceptional(supplier));
   }
 
   /**
@@ -71,7 +108,10 @@ public final class Exceptional<T> {
    * @return an instance of {@link Exceptional} with value or in empty state.
    */
   public static <V> Exceptional<V> exceptional(@Nullable V value) {
-    return new Exceptional<>(value);
+    if (value == null) {
+      return empty();
+    }
+    return new Value<>(value);
   }
 
   /**
@@ -82,7 +122,7 @@ public final class Exceptional<T> {
    * @return an instance of {@link Exceptional} with value or in empty state.
    */
   public static <V> Exceptional<V> of(@Nullable V value) {
-    return new Exceptional<>(value);
+    return exceptional(value);
   }
 
   /**
@@ -93,7 +133,7 @@ public final class Exceptional<T> {
    * @return an instance of {@link Exceptional} with value or in empty state.
    */
   public static <V> Exceptional<V> of(Optional<V> optional) {
-    return new Exceptional<>(optional.orElse(null));
+    return exceptional(optional.orElse(null));
   }
 
   /**
@@ -104,7 +144,10 @@ public final class Exceptional<T> {
    * @return an instance of {@link Exceptional} with exception.
    */
   public static <V> Exceptional<V> exceptional(Exception exception) {
-    return new Exceptional<>(exception);
+    if (exception == null) {
+      return empty();
+    }
+    return new Failure<>(exception);
   }
 
   /**
@@ -115,7 +158,33 @@ public final class Exceptional<T> {
    * @return an instance of {@link Exceptional} with exception.
    */
   public static <V> Exceptional<V> of(Exception exception) {
-    return new Exceptional<>(exception);
+    return exceptional(exception);
+  }
+
+  /**
+   * Wrap an expected failure with {@link Exceptional}. The failure is represented by
+   * {@link LightweightException} recording its stack trace according to
+   * {@link CaptureMode#global()}.
+   *
+   * @param message describing the failure.
+   * @param <V>     type of the value.
+   * @return an instance of {@link Exceptional} with {@link LightweightException}.
+   */
+  public static <V> Exceptional<V> failure(String message) {
+    return new Failure<>(new LightweightException(message));
+  }
+
+  /**
+   * Wrap an expected failure with {@link Exceptional}. The failure is represented by
+   * {@link LightweightException} recording its stack trace according to the capture mode.
+   *
+   * @param message     describing the failure.
+   * @param captureMode defines how much of the stack trace to record.
+   * @param <V>         type of the value.
+   * @return an instance of {@link Exceptional} with {@link LightweightException}.
+   */
+  public static <V> Exceptional<V> failure(String message, CaptureMode captureMode) {
+    return new Failure<>(new LightweightException(message, captureMode));
   }
 
   /**
@@ -131,9 +200,13 @@ public final class Exceptional<T> {
       return exceptional(new ProcessingResult<>(Collections.emptyList(), null));
     }
     List<E> successResults = new ArrayList<>(collection.size());
+    ExceptionalListener listener = ExceptionalMetrics.listener();
     do {
       C element = iterator.next();
       Exceptional<E> result = mapper.apply(element);
+      if (listener != null) {
+        record(listener, CaptureSite.PROCESS_COLLECTION, result);
+      }
       if (result.isValuePresent()) {
         successResults.add(result.getValue());
       }
@@ -144,6 +217,220 @@ public final class Exceptional<T> {
     return exceptional(new ProcessingResult<>(successResults, null));
   }
 
+  /**
+   * Applies batch mapper to consecutive batches of collection elements until the first failed
+   * element. The mapper must return a result for every element of the batch in the same order,
+   * null results are skipped as empty ones. If the mapper throws an exception for a batch, the
+   * batch is split in halves and they are processed in order until the failed element is isolated,
+   * so a single bad element costs a logarithmic number of extra calls instead of failing the whole
+   * batch. The result is the same as the result of
+   * {@link #processCollection(Collection, Function)}: successful results preceding the first failed
+   * element and the exception of that element.
+   *
+   * @param batchSize maximum number of elements passed to the mapper at once.
+   * @param mapper    to apply to an unmodifiable view of a batch.
+   * @return an instance of {@link Exceptional} with {@link ProcessingResult}
+   * @throws IllegalArgumentException if batchSize is not positive.
+   */
+  public static <E, C> Exceptional<ProcessingResult<E>> processCollectionInBatches(
+      Collection<C> collection, int batchSize, ExceptionalFunction<List<C>, List<E>> mapper) {
+    return BatchProcessor.process(collection, batchSize, mapper);
+  }
+
+  /**
+   * Applies mapper to every collection element regardless of exceptions returned by mapper.
+   *
+   * @return an instance of {@link Exceptional} with {@link ColumnarProcessingResult} containing
+   * the results of all the elements.
+   */
+  public static <E, C> Exceptional<ColumnarProcessingResult<E>> processAll(
+      Collection<C> collection, Function<? super C, Exceptional<E>> mapper) {
+    ColumnarProcessingResult.Builder<E> builder =
+        new ColumnarProcessingResult.Builder<>(collection.size());
+    for (C element : collection) {
+      builder.add(mapper.apply(element));
+    }
+    return exceptional(builder.build());
+  }
+
+  /**
+   * Lazily applies mapper to elements of the {@link Iterable} until the first return
+   * {@link Exceptional} with exception from mapper. Successful results are not collected, they're
+   * passed downstream as they are consumed from the returned {@link ProcessingStream}.
+   *
+   * @return an instance of {@link ProcessingStream} of successful results.
+   */
+  public static <E, C> ProcessingStream<E> processLazily(Iterable<C> source,
+                                                         Function<? super C, Exceptional<E>> mapper) {
+    return new ProcessingStream<>(source.iterator(), mapper, () -> {
+    });
+  }
+
+  /**
+   * Lazily applies mapper to elements of the {@link Iterator} until the first return
+   * {@link Exceptional} with exception from mapper. Successful results are not collected, they're
+   * passed downstream as they are consumed from the returned {@link ProcessingStream}.
+   *
+   * @return an instance of {@link ProcessingStream} of successful results.
+   */
+  public static <E, C> ProcessingStream<E> processLazily(Iterator<C> source,
+                                                         Function<? super C, Exceptional<E>> mapper) {
+    return new ProcessingStream<>(source, mapper, () -> {
+    });
+  }
+
+  /**
+   * Lazily applies mapper to elements of the {@link Stream} until the first return
+   * {@link Exceptional} with exception from mapper. Successful results are not collected, they're
+   * passed downstream as they are consumed from the returned {@link ProcessingStream}. Closing the
+   * {@link ProcessingStream} closes the source stream.
+   *
+   * @return an instance of {@link ProcessingStream} of successful results.
+   */
+  public static <E, C> ProcessingStream<E> processLazily(Stream<C> source,
+                                                         Function<? super C, Exceptional<E>> mapper) {
+    return new ProcessingStream<>(source.iterator(), mapper, source::close);
+  }
+
+  /**
+   * Applies mapper to collection elements in parallel on the common {@link ForkJoinPool}. The
+   * result is the same as the result of {@link #processCollection(Collection, Function)}:
+   * successful results preceding the first failed element in the collection order and the
+   * exception of that element. Elements following a failed one are not processed once the failure
+   * is noticed. Collections smaller than 1024 elements are processed on the caller thread.
+   *
+   * @return an instance of {@link Exceptional} with {@link ProcessingResult}
+   */
+  public static <E, C> Exceptional<ProcessingResult<E>> processCollectionInParallel(
+      Collection<C> collection, Function<? super C, Exceptional<E>> mapper) {
+    return ParallelCollectionProcessor.process(collection, mapper, ForkJoinPool.commonPool(),
+        ParallelCollectionProcessor.DEFAULT_PARALLELISM_THRESHOLD);
+  }
+
+  /**
+   * Applies mapper to collection elements in parallel on the given {@link ForkJoinPool}. The
+   * result is the same as the result of {@link #processCollection(Collection, Function)}:
+   * successful results preceding the first failed element in the collection order and the
+   * exception of that element. Elements following a failed one are not processed once the failure
+   * is noticed.
+   *
+   * @param pool                 to process elements on.
+   * @param parallelismThreshold collections smaller than that are processed on the caller thread.
+   * @return an instance of {@link Exceptional} with {@link ProcessingResult}
+   */
+  public static <E, C> Exceptional<ProcessingResult<E>> processCollectionInParallel(
+      Collection<C> collection, Function<? super C, Exceptional<E>> mapper, ForkJoinPool pool,
+      int parallelismThreshold) {
+    return ParallelCollectionProcessor.process(collection, mapper, pool, parallelismThreshold);
+  }
+
+  /**
+   * Applies mapper to collection elements concurrently, running each element in its own task with
+   * at most {@code maxConcurrency} elements processed at the same time. Intended for mappers doing
+   * blocking calls: on Java 21+ every element gets its own virtual thread, on older versions a pool
+   * of at most 256 platform threads is used. The result is the same as the result of
+   * {@link #processCollection(Collection, Function)}: successful results preceding the first
+   * failed element in the collection order and the exception of that element. Elements following
+   * a failed one are not started once the failure is noticed.
+   *
+   * @param maxConcurrency maximum number of elements processed at the same time.
+   * @return an instance of {@link Exceptional} with {@link ProcessingResult} or with
+   * {@link InterruptedException} if the caller thread is interrupted while waiting.
+   * @throws IllegalArgumentException if maxConcurrency is not positive.
+   */
+  public static <E, C> Exceptional<ProcessingResult<E>> processCollectionConcurrently(
+      Collection<C> collection, Function<? super C, Exceptional<E>> mapper, int maxConcurrency) {
+    return ConcurrentFanOut.processCollection(collection, mapper, maxConcurrency);
+  }
+
+  /**
+   * Get values from all the suppliers concurrently catching all the exceptions, with at most
+   * {@code maxConcurrency} suppliers running at the same time. Intended for suppliers doing
+   * blocking calls: on Java 21+ every supplier gets its own virtual thread, on older versions a
+   * pool of at most 256 platform threads is used.
+   *
+   * @param suppliers      to get values from.
+   * @param maxConcurrency maximum number of suppliers running at the same time.
+   * @param <V>            type of the values.
+   * @return list of {@link Exceptional} instances in the order of suppliers. If the caller thread
+   * is interrupted while waiting, suppliers not completed by then are represented by
+   * {@link InterruptedException}.
+   * @throws IllegalArgumentException if maxConcurrency is not positive.
+   */
+  public static <V> List<Exceptional<V>> attemptAll(
+      Collection<? extends ExceptionalSupplier<V>> suppliers, int maxConcurrency) {
+    return ConcurrentFanOut.attemptAll(suppliers, maxConcurrency);
+  }
+
+  /**
+   * Get some value from supplier catching all the exceptions. If the supplier doesn't complete
+   * within the delay, it's called once more in parallel and the first value is returned, the other
+   * call is cancelled with interruption.
+   *
+   * @param supplier   to get value from, must be safe to call twice.
+   * @param hedgeDelay to wait for the first call before calling the supplier again.
+   * @param executor   to run the calls on.
+   * @param <V>        type of the value.
+   * @return an instance of {@link Exceptional} with the first value, with exception if both calls
+   * failed, or with {@link InterruptedException} if the caller thread is interrupted while waiting.
+   */
+  public static <V> Exceptional<V> hedged(ExceptionalSupplier<V> supplier, Duration hedgeDelay,
+                                          ExecutorService executor) {
+    return HedgedAttempt.attempt(supplier, HedgePolicy.fixedDelay(hedgeDelay), executor);
+  }
+
+  /**
+   * Get some value from supplier catching all the exceptions. If the supplier doesn't complete
+   * within the delay of the policy and the policy budget allows, it's called once more in parallel
+   * and the first value is returned, the other call is cancelled with interruption.
+   *
+   * @param supplier to get value from, must be safe to call twice.
+   * @param policy   to get the delay and the budget from, shared by the attempts.
+   * @param executor to run the calls on.
+   * @param <V>      type of the value.
+   * @return an instance of {@link Exceptional} with the first value, with exception if all the
+   * calls failed, or with {@link InterruptedException} if the caller thread is interrupted while
+   * waiting.
+   */
+  public static <V> Exceptional<V> hedged(ExceptionalSupplier<V> supplier, HedgePolicy policy,
+                                          ExecutorService executor) {
+    return HedgedAttempt.attempt(supplier, policy, executor);
+  }
+
+  /**
+   * Get some value from supplier catching all the exceptions. The supplier is called on the
+   * current thread, which is interrupted if the supplier doesn't complete within the timeout.
+   * Suppliers ignoring interruption run to completion, but their result is replaced with
+   * {@link DeadlineExceededException} anyway.
+   *
+   * @param timeout  for the supplier to complete.
+   * @param supplier to get value from.
+   * @param <V>      type of the value.
+   * @return an instance of {@link Exceptional} with value or exception or in empty state or with
+   * {@link DeadlineExceededException} if the timeout has elapsed.
+   */
+  public static <V> Exceptional<V> attemptWithin(Duration timeout,
+                                                 ExceptionalSupplier<V> supplier) {
+    return attemptWithin(Deadline.after(timeout), supplier);
+  }
+
+  /**
+   * Get some value from supplier catching all the exceptions. The supplier is called on the
+   * current thread, which is interrupted if the supplier doesn't complete before the deadline. If
+   * the deadline has already passed, the supplier isn't called.
+   *
+   * @param deadline for the supplier to complete by.
+   * @param supplier to get value from.
+   * @param <V>      type of the value.
+   * @return an instance of {@link Exceptional} with value or exception or in empty state or with
+   * {@link DeadlineExceededException} if the deadline has passed.
+   * @see #attemptWithin(Duration, ExceptionalSupplier)
+   */
+  public static <V> Exceptional<V> attemptWithin(Deadline deadline,
+                                                 ExceptionalSupplier<V> supplier) {
+    return TimerWheel.shared().callWithin(deadline, () -> getExceptional(supplier));
+  }
+
   @SuppressWarnings("unchecked")
   public static <E> Exceptional<E> empty() {
     return (Exceptional<E>) EMPTY_INSTANCE;
@@ -160,10 +447,7 @@ public final class Exceptional<T> {
    */
   @SuppressWarnings("unchecked")
   public <V> Exceptional<V> map(Function<? super T, V> mapper) {
-    if (thisIsNotValue()) {
-      return (Exceptional<V>) this;
-    }
-    return new Exceptional<>(mapper.apply(value));
+    return (Exceptional<V>) this;
   }
 
   /**
@@ -177,10 +461,97 @@ public final class Exceptional<T> {
    */
   @SuppressWarnings("unchecked")
   public <V> Exceptional<V> safelyMap(ExceptionalFunction<? super T, V> mapper) {
-    if (thisIsNotValue()) {
-      return (Exceptional<V>) this;
-    }
-    return getExceptional(() -> mapper.apply(this.value));
+    return (Exceptional<V>) this;
+  }
+
+  /**
+   * Map the value in {@link Exceptional} to some other value catching all the exceptions from
+   * mapper. The mapper is called on the current thread, which is interrupted if the mapper doesn't
+   * complete before the deadline. If the deadline has already passed, the mapper isn't called.
+   *
+   * @param deadline for the mapper to complete by, usually shared by the stages of a chain.
+   * @param mapper   to get a new value.
+   * @param <V>      type of new value.
+   * @return an instance of {@link Exceptional} with value or in empty state or with an exception
+   * caught before mapping or with an exception occurred in process of mapping or with
+   * {@link DeadlineExceededException} if the deadline has passed.
+   */
+  @SuppressWarnings("unchecked")
+  public <V> Exceptional<V> safelyMapWithin(Deadline deadline,
+                                            ExceptionalFunction<? super T, V> mapper) {
+    return (Exceptional<V>) this;
+  }
+
+  /**
+   * Map the value in {@link Exceptional} to a {@code int} value without boxing. Exceptions in
+   * mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @return an instance of {@link ExceptionalInt} with value or in empty state or with an
+   * exception caught before mapping.
+   */
+  public ExceptionalInt mapToInt(ToIntFunction<? super T> mapper) {
+    return ExceptionalInt.exceptional(getExceptionOrNull());
+  }
+
+  /**
+   * Map the value in {@link Exceptional} to a {@code int} value without boxing catching all the
+   * exceptions from mapper.
+   *
+   * @param mapper to get a new value.
+   * @return an instance of {@link ExceptionalInt} with value or in empty state or with an
+   * exception caught before mapping or with an exception occurred in process of mapping.
+   */
+  public ExceptionalInt safelyMapToInt(ExceptionalToIntFunction<? super T> mapper) {
+    return ExceptionalInt.exceptional(getExceptionOrNull());
+  }
+
+  /**
+   * Map the value in {@link Exceptional} to a {@code long} value without boxing. Exceptions in
+   * mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @return an instance of {@link ExceptionalLong} with value or in empty state or with an
+   * exception caught before mapping.
+   */
+  public ExceptionalLong mapToLong(ToLongFunction<? super T> mapper) {
+    return ExceptionalLong.exceptional(getExceptionOrNull());
+  }
+
+  /**
+   * Map the value in {@link Exceptional} to a {@code long} value without boxing catching all the
+   * exceptions from mapper.
+   *
+   * @param mapper to get a new value.
+   * @return an instance of {@link ExceptionalLong} with value or in empty state or with an
+   * exception caught before mapping or with an exception occurred in process of mapping.
+   */
+  public ExceptionalLong safelyMapToLong(ExceptionalToLongFunction<? super T> mapper) {
+    return ExceptionalLong.exceptional(getExceptionOrNull());
+  }
+
+  /**
+   * Map the value in {@link Exceptional} to a {@code double} value without boxing. Exceptions in
+   * mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @return an instance of {@link ExceptionalDouble} with value or in empty state or with an
+   * exception caught before mapping.
+   */
+  public ExceptionalDouble mapToDouble(ToDoubleFunction<? super T> mapper) {
+    return ExceptionalDouble.exceptional(getExceptionOrNull());
+  }
+
+  /**
+   * Map the value in {@link Exceptional} to a {@code double} value without boxing catching all the
+   * exceptions from mapper.
+   *
+   * @param mapper to get a new value.
+   * @return an instance of {@link ExceptionalDouble} with value or in empty state or with an
+   * exception caught before mapping or with an exception occurred in process of mapping.
+   */
+  public ExceptionalDouble safelyMapToDouble(ExceptionalToDoubleFunction<? super T> mapper) {
+    return ExceptionalDouble.exceptional(getExceptionOrNull());
   }
 
   /**
@@ -194,10 +565,26 @@ public final class Exceptional<T> {
    */
   @SuppressWarnings("unchecked")
   public <V> Exceptional<V> flatMap(Function<? super T, Exceptional<V>> mapper) {
-    if (this.thisIsNotValue()) {
-      return (Exceptional<V>) this;
-    }
-    return mapper.apply(this.value);
+    return (Exceptional<V>) this;
+  }
+
+  /**
+   * Map the value in {@link Exceptional} to a value from another {@link Exceptional} provided by
+   * mapper. Exceptions in mapper won't be caught. The mapper is called on the current thread,
+   * which is interrupted if the mapper doesn't complete before the deadline. If the deadline has
+   * already passed, the mapper isn't called.
+   *
+   * @param deadline for the mapper to complete by, usually shared by the stages of a chain.
+   * @param mapper   to get a new value.
+   * @param <V>      type of new value.
+   * @return an instance of {@link Exceptional} with value or in empty state or with an exception
+   * caught before mapping or with exception from the {@link Exceptional} mapper returned or with
+   * {@link DeadlineExceededException} if the deadline has passed.
+   */
+  @SuppressWarnings("unchecked")
+  public <V> Exceptional<V> flatMapWithin(Deadline deadline,
+                                          Function<? super T, Exceptional<V>> mapper) {
+    return (Exceptional<V>) this;
   }
 
   /**
@@ -209,9 +596,6 @@ public final class Exceptional<T> {
    * caught before mapping or with exception from the {@link Exceptional} mapper returned.
    */
   public Exceptional<T> flatMapIfEmpty(Supplier<Exceptional<T>> supplier) {
-    if (isEmpty()) {
-      return supplier.get();
-    }
     return this;
   }
 
@@ -223,10 +607,7 @@ public final class Exceptional<T> {
    * caught before running this method or with an exception thrown by the value consumer.
    */
   public Exceptional<T> ifValue(Consumer<? super T> consumer) {
-    if (thisIsNotValue()) {
-      return this;
-    }
-    return executeSafely(() -> consumer.accept(this.value));
+    return this;
   }
 
   /**
@@ -237,9 +618,6 @@ public final class Exceptional<T> {
    * caught before running this method or with an exception thrown by the exception consumer.
    */
   public Exceptional<T> ifException(Consumer<Exception> consumer) {
-    if (this.isException()) {
-      return executeSafely(() -> consumer.accept(this.exception));
-    }
     return this;
   }
 
@@ -250,11 +628,7 @@ public final class Exceptional<T> {
    * @return an instance of {@link Exceptional} with value or in empty state or with an exception
    * caught before running this method or with an exception thrown by the exception consumer.
    */
-  @SuppressWarnings("unchecked")
   public <E extends Exception> Exceptional<T> ifException(Class<E> clazz, Consumer<E> consumer) {
-    if (this.isException() && clazz.isAssignableFrom(this.exception.getClass())) {
-      return executeSafely(() -> consumer.accept((E) this.exception));
-    }
     return this;
   }
 
@@ -266,9 +640,6 @@ public final class Exceptional<T> {
    * caught before running this method or with an exception thrown by the runnable.
    */
   public Exceptional<T> ifEmpty(ExceptionalRunnable runnable) {
-    if (isEmpty()) {
-      return executeSafely(runnable);
-    }
     return this;
   }
 
@@ -280,13 +651,7 @@ public final class Exceptional<T> {
    *                               state.
    */
   public T getValue() throws IllegalStateException {
-    if (this.isException()) {
-      throw new IllegalStateException();
-    }
-    if (!this.isValuePresent()) {
-      throw new IllegalStateException();
-    }
-    return this.value;
+    throw new IllegalStateException();
   }
 
   /**
@@ -297,10 +662,7 @@ public final class Exceptional<T> {
    *                               state.
    */
   public Exception getException() throws IllegalStateException {
-    if (!this.isException()) {
-      throw new IllegalStateException();
-    }
-    return this.exception;
+    throw new IllegalStateException();
   }
 
   /**
@@ -311,10 +673,7 @@ public final class Exceptional<T> {
    * @return the value or default value.
    */
   public T getOrDefault(T defaultValue) {
-    if (this.thisIsNotValue()) {
-      return defaultValue;
-    }
-    return Objects.requireNonNull(this.value);
+    return defaultValue;
   }
 
   /**
@@ -325,10 +684,7 @@ public final class Exceptional<T> {
    */
   @Nullable
   public T getOrNull() {
-    if (this.thisIsNotValue()) {
-      return null;
-    }
-    return this.value;
+    return null;
   }
 
   /**
@@ -340,10 +696,7 @@ public final class Exceptional<T> {
    * occurred in process of mapping.
    */
   public Exceptional<T> resumeOnException(ExceptionalFunction<Exception, T> mapper) {
-    if (!this.isException()) {
-      return this;
-    }
-    return getExceptional(() -> mapper.apply(this.exception));
+    return this;
   }
 
   /**
@@ -355,10 +708,7 @@ public final class Exceptional<T> {
    * returned by the mapper.
    */
   public Exceptional<T> mapException(Function<Exception, Exception> mapper) {
-    if (!this.isException()) {
-      return this;
-    }
-    return exceptional(mapper.apply(this.exception));
+    return this;
   }
 
   /**
@@ -371,13 +721,9 @@ public final class Exceptional<T> {
    * @return an instance of {@link Exceptional} with value or in empty state or with an exception
    * returned by the mapper.
    */
-  @SuppressWarnings("unchecked")
   public <E extends Exception> Exceptional<T> mapException(Class<E> clazz,
                                                            Function<E, Exception> mapper) {
-    if (!this.isException() || !clazz.isAssignableFrom(this.exception.getClass())) {
-      return this;
-    }
-    return exceptional(mapper.apply((E) this.exception));
+    return this;
   }
 
   /**
@@ -389,11 +735,7 @@ public final class Exceptional<T> {
    * caught before running this method or with an exception thrown by the exception consumer.
    */
   public Exceptional<T> handleException(ExceptionalConsumer<Exception> consumer) {
-    if (!this.isException() || isExceptionHandled) {
-      return this;
-    }
-    this.isExceptionHandled = true;
-    return executeSafely(() -> consumer.accept(this.exception));
+    return this;
   }
 
   /**
@@ -406,29 +748,23 @@ public final class Exceptional<T> {
    * @return an instance of {@link Exceptional} with value or in empty state or with an exception
    * caught before running this method or with an exception thrown by the exception consumer.
    */
-  @SuppressWarnings("unchecked")
   public <E extends Exception> Exceptional<T> handleException(Class<E> clazz,
                                                               ExceptionalConsumer<E> consumer) {
-    if (!this.isException() || isExceptionHandled
-        || !(clazz.isAssignableFrom(exception.getClass()))) {
-      return this;
-    }
-    this.isExceptionHandled = true;
-    return executeSafely(() -> consumer.accept((E) this.exception));
+    return this;
   }
 
   /**
    * @return true if the {@link Exceptional} contains an exception.
    */
   public boolean isException() {
-    return exception != null;
+    return false;
   }
 
   /**
    * @return true if the {@link Exceptional} contains a not null value.
    */
   public boolean isValuePresent() {
-    return this.value != null;
+    return false;
   }
 
   /**
@@ -438,10 +774,7 @@ public final class Exceptional<T> {
    * empty state.
    */
   public Stream<T> asStream() {
-    if (thisIsNotValue()) {
-      return Stream.empty();
-    }
-    return Stream.of(value);
+    return Stream.empty();
   }
 
   /**
@@ -451,7 +784,7 @@ public final class Exceptional<T> {
    * or empty state.
    */
   public Optional<T> asOptional() {
-    return Optional.ofNullable(value);
+    return Optional.empty();
   }
 
   /**
@@ -464,12 +797,6 @@ public final class Exceptional<T> {
    * @throws ExceptionalWrappedException if {@link Exceptional} contains exception.
    */
   public T getOrThrow() throws ExceptionalWrappedException, NullPointerException {
-    if (this.isValuePresent()) {
-      return this.value;
-    }
-    if (this.isException()) {
-      throw new ExceptionalWrappedException(this.exception);
-    }
     throw new NullPointerException("Exceptional is empty");
   }
 
@@ -484,42 +811,352 @@ public final class Exceptional<T> {
    */
   @Nullable
   public T getOrThrowRuntime() throws RuntimeException, ExceptionalWrappedException, NullPointerException {
-    if (this.isValuePresent()) {
-      return this.value;
+    return null;
+  }
+
+  public boolean isEmpty() {
+    return false;
+  }
+
+  /**
+   * Subclasses represent the states of {@link Exceptional}, the methods of this class implement
+   * the behaviour shared by the states the method is not about: for instance, {@link #map} of an
+   * exception or an empty state returns the same instance. Every state overrides only the methods
+   * which depend on what it holds, so no state checks are needed.
+   */
+  Exceptional() {
+  }
+
+  @Nullable
+  Exception getExceptionOrNull() {
+    return null;
+  }
+
+  final Exceptional<T> executeSafely(ExceptionalRunnable runnable, Object userCode) {
+    try {
+      runnable.run();
+    } catch (Exception e) {
+      recordFailure(CaptureSite.EXECUTE_SAFELY, e, userCode);
+      return new Failure<>(e);
     }
-    if (this.isException()) {
-      if (this.exception instanceof RuntimeException) {
-        throw (RuntimeException) this.exception;
+    recordValue(CaptureSite.EXECUTE_SAFELY, this);
+    return this;
+  }
+
+  static void recordValue(CaptureSite site, @Nullable Object value) {
+    ExceptionalListener listener = ExceptionalMetrics.listener();
+    if (listener != null) {
+      if (value == null) {
+        listener.onEmpty(site);
+      } else {
+        listener.onValue(site);
       }
-      throw new ExceptionalWrappedException(this.exception);
     }
-    return null;
   }
 
-  public boolean isEmpty() {
-    return !this.isValuePresent() && !this.isException();
+  static void recordValue(CaptureSite site) {
+    ExceptionalListener listener = ExceptionalMetrics.listener();
+    if (listener != null) {
+      listener.onValue(site);
+    }
   }
 
-  private Exceptional(Exception exception) {
-    this.exception = exception;
-    this.value = null;
+  static void recordFailure(CaptureSite site, Exception exception, Object userCode) {
+    FlightRecorderHooks.exceptionCaptured(site, exception, userCode);
+    ExceptionalListener listener = ExceptionalMetrics.listener();
+    if (listener != null) {
+      listener.onFailure(site, exception);
+    }
   }
 
-  private Exceptional(@Nullable T value) {
-    this.value = value;
-    this.exception = null;
+  private static void record(ExceptionalListener listener, CaptureSite site,
+                             Exceptional<?> result) {
+    Exception exception = result.getExceptionOrNull();
+    if (exception != null) {
+      listener.onFailure(site, exception);
+    } else if (result.isValuePresent()) {
+      listener.onValue(site);
+    } else {
+      listener.onEmpty(site);
+    }
   }
 
-  private boolean thisIsNotValue() {
-    return this.isException() || !this.isValuePresent();
+  private static final class Value<T> extends Exceptional<T> {
+
+    private final T value;
+
+    private Value(T value) {
+      this.value = value;
+    }
+
+    @Override
+    public <V> Exceptional<V> map(Function<? super T, V> mapper) {
+      return exceptional(mapper.apply(value));
+    }
+
+    @Override
+    public <V> Exceptional<V> safelyMap(ExceptionalFunction<? super T, V> mapper) {
+      V mapped;
+      try {
+        mapped = mapper.apply(value);
+      } catch (Exception e) {
+        recordFailure(CaptureSite.SAFELY_MAP, e, mapper);
+        return new Failure<>(e);
+      }
+      recordValue(CaptureSite.SAFELY_MAP, mapped);
+      return exceptional(mapped);
+    }
+
+    @Override
+    public <V> Exceptional<V> flatMap(Function<? super T, Exceptional<V>> mapper) {
+      return mapper.apply(value);
+    }
+
+    @Override
+    public <V> Exceptional<V> safelyMapWithin(Deadline deadline,
+                                              ExceptionalFunction<? super T, V> mapper) {
+      return TimerWheel.shared().callWithin(deadline, () -> safelyMap(mapper));
+    }
+
+    @Override
+    public <V> Exceptional<V> flatMapWithin(Deadline deadline,
+                                            Function<? super T, Exceptional<V>> mapper) {
+      return TimerWheel.shared().callWithin(deadline, () -> mapper.apply(value));
+    }
+
+    @Override
+    public ExceptionalInt mapToInt(ToIntFunction<? super T> mapper) {
+      return ExceptionalInt.of(mapper.applyAsInt(value));
+    }
+
+    @Override
+    public ExceptionalInt safelyMapToInt(ExceptionalToIntFunction<? super T> mapper) {
+      int mapped;
+      try {
+        mapped = mapper.applyAsInt(value);
+      } catch (Exception e) {
+        recordFailure(CaptureSite.SAFELY_MAP, e, mapper);
+        return ExceptionalInt.exceptional(e);
+      }
+      recordValue(CaptureSite.SAFELY_MAP);
+      return ExceptionalInt.of(mapped);
+    }
+
+    @Override
+    public ExceptionalLong mapToLong(ToLongFunction<? super T> mapper) {
+      return ExceptionalLong.of(mapper.applyAsLong(value));
+    }
+
+    @Override
+    public ExceptionalLong safelyMapToLong(ExceptionalToLongFunction<? super T> mapper) {
+      long mapped;
+      try {
+        mapped = mapper.applyAsLong(value);
+      } catch (Exception e) {
+        recordFailure(CaptureSite.SAFELY_MAP, e, mapper);
+        return ExceptionalLong.exceptional(e);
+      }
+      recordValue(CaptureSite.SAFELY_MAP);
+      return ExceptionalLong.of(mapped);
+    }
+
+    @Override
+    public ExceptionalDouble mapToDouble(ToDoubleFunction<? super T> mapper) {
+      return ExceptionalDouble.of(mapper.applyAsDouble(value));
+    }
+
+    @Override
+    public ExceptionalDouble safelyMapToDouble(ExceptionalToDoubleFunction<? super T> mapper) {
+      double mapped;
+      try {
+        mapped = mapper.applyAsDouble(value);
+      } catch (Exception e) {
+        recordFailure(CaptureSite.SAFELY_MAP, e, mapper);
+        return ExceptionalDouble.exceptional(e);
+      }
+      recordValue(CaptureSite.SAFELY_MAP);
+      return ExceptionalDouble.of(mapped);
+    }
+
+    @Override
+    public Exceptional<T> ifValue(Consumer<? super T> consumer) {
+      try {
+        consumer.accept(value);
+      } catch (Exception e) {
+        recordFailure(CaptureSite.EXECUTE_SAFELY, e, consumer);
+        return new Failure<>(e);
+      }
+      recordValue(CaptureSite.EXECUTE_SAFELY, this);
+      return this;
+    }
+
+    @Override
+    public T getValue() {
+      return value;
+    }
+
+    @Override
+    public T getOrDefault(T defaultValue) {
+      return value;
+    }
+
+    @Override
+    public T getOrNull() {
+      return value;
+    }
+
+    @Override
+    public boolean isValuePresent() {
+      return true;
+    }
+
+    @Override
+    public Stream<T> asStream() {
+      return Stream.of(value);
+    }
+
+    @Override
+    public Optional<T> asOptional() {
+      return Optional.of(value);
+    }
+
+    @Override
+    public T getOrThrow() {
+      return value;
+    }
+
+    @Override
+    public T getOrThrowRuntime() {
+      return value;
+    }
   }
 
-  private Exceptional<T> executeSafely(ExceptionalRunnable runnable) {
-    try {
-      runnable.run();
+  private static final class Failure<T> extends Exceptional<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<Failure> EXCEPTION_HANDLED =
+        AtomicIntegerFieldUpdater.newUpdater(Failure.class, "exceptionHandled");
+
+    private final Exception exception;
+
+    private volatile int exceptionHandled;
+
+    private Failure(Exception exception) {
+      this.exception = exception;
+    }
+
+    @Override
+    public Exceptional<T> ifException(Consumer<Exception> consumer) {
+      return executeSafely(() -> consumer.accept(exception), consumer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> Exceptional<T> ifException(Class<E> clazz, Consumer<E> consumer) {
+      if (clazz.isAssignableFrom(exception.getClass())) {
+        return executeSafely(() -> consumer.accept((E) exception), consumer);
+      }
       return this;
-    } catch (Exception e) {
-      return new Exceptional<>(e);
+    }
+
+    @Override
+    public Exception getException() {
+      return exception;
+    }
+
+    @Override
+    Exception getExceptionOrNull() {
+      return exception;
+    }
+
+    @Override
+    public Exceptional<T> resumeOnException(ExceptionalFunction<Exception, T> mapper) {
+      T resumed;
+      try {
+        resumed = mapper.apply(exception);
+      } catch (Exception e) {
+        recordFailure(CaptureSite.RESUME_ON_EXCEPTION, e, mapper);
+        return new Failure<>(e);
+      }
+      recordValue(CaptureSite.RESUME_ON_EXCEPTION, resumed);
+      return exceptional(resumed);
+    }
+
+    @Override
+    public Exceptional<T> mapException(Function<Exception, Exception> mapper) {
+      return exceptional(mapper.apply(exception));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> Exceptional<T> mapException(Class<E> clazz,
+                                                             Function<E, Exception> mapper) {
+      if (!clazz.isAssignableFrom(exception.getClass())) {
+        return this;
+      }
+      return exceptional(mapper.apply((E) exception));
+    }
+
+    @Override
+    public Exceptional<T> handleException(ExceptionalConsumer<Exception> consumer) {
+      if (!markExceptionHandled()) {
+        return this;
+      }
+      return executeSafely(() -> consumer.accept(exception), consumer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> Exceptional<T> handleException(Class<E> clazz,
+                                                                ExceptionalConsumer<E> consumer) {
+      if (!clazz.isAssignableFrom(exception.getClass()) || !markExceptionHandled()) {
+        return this;
+      }
+      return executeSafely(() -> consumer.accept((E) exception), consumer);
+    }
+
+    /**
+     * Only one caller wins, so a handler runs once even if the instance is shared between threads.
+     * Reading the flag first saves the CAS once the exception is handled.
+     */
+    private boolean markExceptionHandled() {
+      return exceptionHandled == 0 && EXCEPTION_HANDLED.compareAndSet(this, 0, 1);
+    }
+
+    @Override
+    public boolean isException() {
+      return true;
+    }
+
+    @Override
+    public T getOrThrow() {
+      throw new ExceptionalWrappedException(exception);
+    }
+
+    @Override
+    public T getOrThrowRuntime() {
+      if (exception instanceof RuntimeException) {
+        throw (RuntimeException) exception;
+      }
+      throw new ExceptionalWrappedException(exception);
+    }
+  }
+
+  private static final class Empty<T> extends Exceptional<T> {
+
+    @Override
+    public Exceptional<T> flatMapIfEmpty(Supplier<Exceptional<T>> supplier) {
+      return supplier.get();
+    }
+
+    @Override
+    public Exceptional<T> ifEmpty(ExceptionalRunnable runnable) {
+      return executeSafely(runnable, runnable);
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return true;
     }
   }
 }
@@ -0,0 +1,304 @@
+package ru.romangr.exceptional;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalFunction;
+
+/**
+ * Memoizes {@link Exceptional} outcomes of loading values by key. Values and empty results are
+ * kept for the success time to live, exceptions are kept for the failure time to live, so a known
+ * failure is not retried on every call. Every call returns a new {@link Exceptional}, so a
+ * handler passed to {@code handleException} runs once per call rather than once per cached outcome.
+ * <p>
+ * The cache is split into segments with a lock each, a segment evicts its least recently used
+ * entry when it grows over its share of the maximum size. Loaders are called without holding a
+ * lock, so concurrent misses of the same key may call the loader more than once.
+ *
+ * @param <K> type of the keys.
+ * @param <V> type of the values.
+ */
+@NonNullApi
+public final class ExceptionalCache<K, V> {
+
+  private static final long NO_EXPIRATION = Long.MAX_VALUE;
+
+  private final Segment<K, V>[] segments;
+  private final long successTtlNanos;
+  private final long failureTtlNanos;
+  private final LongSupplier ticker;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param <K> type of the keys.
+   * @param <V> type of the values.
+   * @return a new builder of {@link ExceptionalCache}.
+   */
+  public static <K, V> Builder<K, V> builder() {
+    return new Builder<>();
+  }
+
+  /**
+   * Get the cached outcome for the key or load and cache it catching all the exceptions.
+   *
+   * @param key    to get the outcome for.
+   * @param loader to load the value if there is no live outcome for the key.
+   * @return an instance of {@link Exceptional} with value or exception or in empty state.
+   */
+  public Exceptional<V> get(K key, ExceptionalFunction<? super K, V> loader) {
+    Segment<K, V> segment = segmentFor(key);
+    long now = ticker.getAsLong();
+    CachedOutcome<V> cached = segment.get(key, now);
+    if (cached != null) {
+      hits.increment();
+      return cached.toExceptional();
+    }
+    misses.increment();
+    Exceptional<V> loaded = Exceptional.getExceptional(() -> loader.apply(key));
+    long ttl = loaded.isException() ? failureTtlNanos : successTtlNanos;
+    if (ttl > 0) {
+      segment.put(key, new CachedOutcome<>(
+          loaded.getOrNull(), loaded.getExceptionOrNull(), ticker.getAsLong(), ttl));
+    }
+    return loaded;
+  }
+
+  /**
+   * Remove the outcome cached for the key, if any.
+   *
+   * @param key to remove the outcome for.
+   */
+  public void invalidate(K key) {
+    segmentFor(key).remove(key);
+  }
+
+  /**
+   * Remove all the cached outcomes.
+   */
+  public void invalidateAll() {
+    for (Segment<K, V> segment : segments) {
+      segment.clear();
+    }
+  }
+
+  /**
+   * @return the number of cached outcomes, including expired ones not removed yet.
+   */
+  public long size() {
+    long size = 0;
+    for (Segment<K, V> segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * @return the number of calls which returned a cached outcome.
+   */
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of calls which called the loader.
+   */
+  public long missCount() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the number of outcomes evicted to keep the size bound.
+   */
+  public long evictionCount() {
+    return evictions.sum();
+  }
+
+  private Segment<K, V> segmentFor(K key) {
+    int hash = key.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+  }
+
+  private ExceptionalCache(Builder<K, V> builder) {
+    int segmentCount = Math.min(builder.segments, (int) Math.min(builder.maximumSize, 1 << 16));
+    segmentCount = Integer.highestOneBit(Math.max(segmentCount, 1));
+    // the segment count never exceeds the maximum size, so every segment gets at least one entry
+    // and the sizes of the segments add up exactly to the maximum size
+    long segmentSize = builder.maximumSize / segmentCount;
+    long remainder = builder.maximumSize % segmentCount;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Segment<K, V>[] segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] = new Segment<>(i < remainder ? segmentSize + 1 : segmentSize, evictions);
+    }
+    this.segments = segments;
+    this.successTtlNanos = builder.successTtlNanos;
+    this.failureTtlNanos = builder.failureTtlNanos;
+    this.ticker = builder.ticker;
+  }
+
+  private static final class CachedOutcome<V> {
+
+    @Nullable
+    private final V value;
+    @Nullable
+    private final Exception exception;
+    private final long writtenAt;
+    private final long ttlNanos;
+
+    private CachedOutcome(@Nullable V value, @Nullable Exception exception, long writtenAt,
+                          long ttlNanos) {
+      this.value = value;
+      this.exception = exception;
+      this.writtenAt = writtenAt;
+      this.ttlNanos = ttlNanos;
+    }
+
+    private Exceptional<V> toExceptional() {
+      return exception != null
+          ? Exceptional.exceptional(exception)
+          : Exceptional.exceptional(value);
+    }
+
+    private boolean isExpired(long now) {
+      return ttlNanos != NO_EXPIRATION && now - writtenAt >= ttlNanos;
+    }
+  }
+
+  private static final class Segment<K, V> {
+
+    private final Map<K, CachedOutcome<V>> entries;
+
+    private Segment(long maximumSize, LongAdder evictions) {
+      this.entries = new LinkedHashMap<K, CachedOutcome<V>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, CachedOutcome<V>> eldest) {
+          if (size() > maximumSize) {
+            evictions.increment();
+            return true;
+          }
+          return false;
+        }
+      };
+    }
+
+    @Nullable
+    private synchronized CachedOutcome<V> get(K key, long now) {
+      CachedOutcome<V> entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (entry.isExpired(now)) {
+        entries.remove(key);
+        return null;
+      }
+      return entry;
+    }
+
+    private synchronized void put(K key, CachedOutcome<V> entry) {
+      entries.put(key, entry);
+    }
+
+    private synchronized void remove(K key) {
+      entries.remove(key);
+    }
+
+    private synchronized void clear() {
+      entries.clear();
+    }
+
+    private synchronized int size() {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Builder of {@link ExceptionalCache}. By default the cache keeps up to 10 000 outcomes, values
+   * never expire and exceptions are not cached.
+   *
+   * @param <K> type of the keys.
+   * @param <V> type of the values.
+   */
+  public static final class Builder<K, V> {
+
+    private long maximumSize = 10_000;
+    private long successTtlNanos = NO_EXPIRATION;
+    private long failureTtlNanos;
+    private int segments = Runtime.getRuntime().availableProcessors() * 4;
+    private LongSupplier ticker = System::nanoTime;
+
+    private Builder() {
+    }
+
+    /**
+     * @param maximumSize the maximum number of cached outcomes, must be positive.
+     * @return this builder.
+     */
+    public Builder<K, V> maximumSize(long maximumSize) {
+      if (maximumSize < 1) {
+        throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+      }
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * @param successTtl time to keep values and empty results, zero disables caching of them.
+     * @return this builder.
+     */
+    public Builder<K, V> successTtl(Duration successTtl) {
+      this.successTtlNanos = toNanos(successTtl, "successTtl");
+      return this;
+    }
+
+    /**
+     * @param failureTtl time to keep exceptions, zero disables caching of them.
+     * @return this builder.
+     */
+    public Builder<K, V> failureTtl(Duration failureTtl) {
+      this.failureTtlNanos = toNanos(failureTtl, "failureTtl");
+      return this;
+    }
+
+    /**
+     * @param segments the number of independently locked segments, rounded down to a power of
+     *                 two. More segments mean less contention and less precise LRU order.
+     * @return this builder.
+     */
+    public Builder<K, V> segments(int segments) {
+      if (segments < 1) {
+        throw new IllegalArgumentException("segments must be positive: " + segments);
+      }
+      this.segments = segments;
+      return this;
+    }
+
+    Builder<K, V> ticker(LongSupplier ticker) {
+      this.ticker = ticker;
+      return this;
+    }
+
+    /**
+     * @return a new {@link ExceptionalCache}.
+     */
+    public ExceptionalCache<K, V> build() {
+      return new ExceptionalCache<>(this);
+    }
+
+    private static long toNanos(Duration ttl, String name) {
+      if (ttl.isNegative()) {
+        throw new IllegalArgumentException(name + " must not be negative: " + ttl);
+      }
+      try {
+        return ttl.toNanos();
+      } catch (ArithmeticException e) {
+        return NO_EXPIRATION;
+      }
+    }
+  }
+}
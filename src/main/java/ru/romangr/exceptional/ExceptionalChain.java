@@ -0,0 +1,177 @@
+package ru.romangr.exceptional;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalFunction;
+
+/**
+ * Reusable pipeline of {@link Exceptional} operations. The chain is built once and then applied
+ * to many inputs: all the steps are executed in a single loop with a single try/catch and only the
+ * final {@link Exceptional} is allocated.
+ *
+ * <pre>{@code
+ * ExceptionalChain<String, Integer> parse = ExceptionalChain.<String>start()
+ *     .safelyMap(Integer::parseInt)
+ *     .map(i -> i * 2);
+ *
+ * Exceptional<Integer> result = parse.apply("21");
+ * }</pre>
+ *
+ * Every step has exactly the same semantics as the {@link Exceptional} method of the same name.
+ * Instances are immutable and can be shared between threads.
+ *
+ * @param <I> type of the input value.
+ * @param <O> type of the output value.
+ */
+@NonNullApi
+public final class ExceptionalChain<I, O> {
+
+  private static final byte MAP = 0;
+  private static final byte SAFELY_MAP = 1;
+  private static final byte FLAT_MAP = 2;
+  private static final byte IF_VALUE = 3;
+
+  private static final ExceptionalChain<?, ?> EMPTY_CHAIN =
+      new ExceptionalChain<>(new byte[0], new Object[0]);
+
+  private final byte[] operations;
+  private final Object[] functions;
+
+  /**
+   * Start a new chain without any steps.
+   *
+   * @param <V> type of the input value.
+   * @return a chain returning its input wrapped with {@link Exceptional}.
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> ExceptionalChain<V, V> start() {
+    return (ExceptionalChain<V, V>) EMPTY_CHAIN;
+  }
+
+  /**
+   * Add a step mapping the value to some other value. Exceptions in mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return a new chain with the step added.
+   * @see Exceptional#map(Function)
+   */
+  public <V> ExceptionalChain<I, V> map(Function<? super O, V> mapper) {
+    return append(MAP, mapper);
+  }
+
+  /**
+   * Add a step mapping the value to some other value catching all the exceptions from mapper.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return a new chain with the step added.
+   * @see Exceptional#safelyMap(ExceptionalFunction)
+   */
+  public <V> ExceptionalChain<I, V> safelyMap(ExceptionalFunction<? super O, V> mapper) {
+    return append(SAFELY_MAP, mapper);
+  }
+
+  /**
+   * Add a step mapping the value to a value from another {@link Exceptional} provided by mapper.
+   * Exceptions in mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return a new chain with the step added.
+   * @see Exceptional#flatMap(Function)
+   */
+  public <V> ExceptionalChain<I, V> flatMap(Function<? super O, Exceptional<V>> mapper) {
+    return append(FLAT_MAP, mapper);
+  }
+
+  /**
+   * Add a step executing some logic using the value. Exceptions thrown by the consumer are caught.
+   *
+   * @param consumer consumer of the value.
+   * @return a new chain with the step added.
+   * @see Exceptional#ifValue(Consumer)
+   */
+  public ExceptionalChain<I, O> ifValue(Consumer<? super O> consumer) {
+    return append(IF_VALUE, consumer);
+  }
+
+  /**
+   * Apply all the steps of the chain to the input.
+   *
+   * @param input value to process.
+   * @return an instance of {@link Exceptional} with value or in empty state or with an exception
+   * occurred in one of the steps.
+   */
+  @SuppressWarnings("unchecked")
+  public Exceptional<O> apply(@Nullable I input) {
+    if (input == null) {
+      return Exceptional.empty();
+    }
+    Object current = input;
+    int step = 0;
+    try {
+      for (; step < operations.length; step++) {
+        switch (operations[step]) {
+          case MAP:
+            current = ((Function<Object, Object>) functions[step]).apply(current);
+            break;
+          case SAFELY_MAP:
+            current = ((ExceptionalFunction<Object, Object>) functions[step]).apply(current);
+            break;
+          case FLAT_MAP:
+            Exceptional<Object> result =
+                ((Function<Object, Exceptional<Object>>) functions[step]).apply(current);
+            if (!result.isValuePresent()) {
+              return (Exceptional<O>) result;
+            }
+            current = result.getValue();
+            break;
+          default:
+            ((Consumer<Object>) functions[step]).accept(current);
+        }
+        if (current == null) {
+          return Exceptional.empty();
+        }
+      }
+    } catch (Exception e) {
+      if (operations[step] == MAP || operations[step] == FLAT_MAP) {
+        throw (RuntimeException) e;
+      }
+      return Exceptional.exceptional(e);
+    }
+    return Exceptional.exceptional((O) current);
+  }
+
+  /**
+   * Apply all the steps of the chain to the value of the {@link Exceptional}.
+   *
+   * @param input {@link Exceptional} to process.
+   * @return the same {@link Exceptional} if it contains an exception or it's in empty state, the
+   * result of {@link #apply(Object)} for its value otherwise.
+   */
+  @SuppressWarnings("unchecked")
+  public Exceptional<O> apply(Exceptional<I> input) {
+    if (!input.isValuePresent()) {
+      return (Exceptional<O>) input;
+    }
+    return apply(input.getValue());
+  }
+
+  private <V> ExceptionalChain<I, V> append(byte operation, Object function) {
+    int length = operations.length;
+    byte[] newOperations = Arrays.copyOf(operations, length + 1);
+    Object[] newFunctions = Arrays.copyOf(functions, length + 1);
+    newOperations[length] = operation;
+    newFunctions[length] = function;
+    return new ExceptionalChain<>(newOperations, newFunctions);
+  }
+
+  private ExceptionalChain(byte[] operations, Object[] functions) {
+    this.operations = operations;
+    this.functions = functions;
+  }
+}
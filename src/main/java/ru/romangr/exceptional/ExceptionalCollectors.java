@@ -0,0 +1,232 @@
+package ru.romangr.exceptional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ColumnarProcessingResult;
+import ru.romangr.exceptional.type.ProcessingResult;
+
+/**
+ * {@link Collector}s and collecting methods for streams of {@link Exceptional}. All of them keep
+ * the encounter order and work on parallel streams.
+ */
+@NonNullApi
+public final class ExceptionalCollectors {
+
+  private static final int MAX_PRESIZE = 1 << 20;
+
+  /**
+   * The result is the same as the result of
+   * {@link Exceptional#processCollection(java.util.Collection, java.util.function.Function)}:
+   * values preceding the first exception in the encounter order and that exception. Elements
+   * following the first exception are still consumed but ignored, use
+   * {@link #collect(Stream)} to stop consuming the stream.
+   *
+   * @param <T> type of the values.
+   * @return collector of {@link Exceptional} instances to {@link ProcessingResult}.
+   */
+  public static <T> Collector<Exceptional<T>, ?, ProcessingResult<T>> toProcessingResult() {
+    return toProcessingResult(0);
+  }
+
+  /**
+   * @param expectedSize the expected number of elements, used to presize the values buffer. On
+   *                     parallel streams only one of the buffers of a collection is presized.
+   * @param <T>          type of the values.
+   * @return collector of {@link Exceptional} instances to {@link ProcessingResult}.
+   * @see #toProcessingResult()
+   */
+  public static <T> Collector<Exceptional<T>, ?, ProcessingResult<T>> toProcessingResult(
+      int expectedSize) {
+    SizeHint hint = new SizeHint(expectedSize);
+    return Collector.of(
+        () -> new UntilFailure<T>(hint.take()),
+        UntilFailure::add,
+        UntilFailure::addAll,
+        result -> {
+          hint.release();
+          return result.toProcessingResult();
+        });
+  }
+
+  /**
+   * Collects the values, empty states and exceptions of all the elements in the encounter order.
+   *
+   * @param <T> type of the values.
+   * @return collector of {@link Exceptional} instances to {@link ColumnarProcessingResult}.
+   */
+  public static <T> Collector<Exceptional<T>, ?, ColumnarProcessingResult<T>>
+      toColumnarProcessingResult() {
+    return toColumnarProcessingResult(0);
+  }
+
+  /**
+   * @param expectedSize the expected number of elements, used to presize the value column. On
+   *                     parallel streams only one of the columns of a collection is presized.
+   * @param <T>          type of the values.
+   * @return collector of {@link Exceptional} instances to {@link ColumnarProcessingResult}.
+   * @see #toColumnarProcessingResult()
+   */
+  public static <T> Collector<Exceptional<T>, ?, ColumnarProcessingResult<T>>
+      toColumnarProcessingResult(int expectedSize) {
+    SizeHint hint = new SizeHint(expectedSize);
+    return Collector.of(
+        () -> new ColumnarProcessingResult.Builder<T>(hint.take()),
+        ColumnarProcessingResult.Builder::add,
+        ColumnarProcessingResult.Builder::addAll,
+        builder -> {
+          hint.release();
+          return builder.build();
+        });
+  }
+
+  /**
+   * Collect the stream like {@link #toProcessingResult()} does, but stop consuming it after the
+   * first exception. On parallel streams every split stops after its own first exception, so
+   * elements following the first exception in the encounter order may still be consumed by other
+   * threads. Buffers of sequential streams of known size are presized. The stream is closed
+   * after collecting.
+   *
+   * @param stream of {@link Exceptional} instances to collect.
+   * @param <T>    type of the values.
+   * @return values preceding the first exception and that exception.
+   */
+  public static <T> ProcessingResult<T> collect(Stream<Exceptional<T>> stream) {
+    Spliterator<Exceptional<T>> source = stream.spliterator();
+    int expectedSize = stream.isParallel() ? 0 : expectedSize(source);
+    try (Stream<Exceptional<T>> untilFailure = StreamSupport.stream(
+        new UntilFailureSpliterator<>(source), stream.isParallel()).onClose(stream::close)) {
+      return untilFailure.collect(toProcessingResult(expectedSize));
+    }
+  }
+
+  /**
+   * Collect the stream like {@link #toColumnarProcessingResult()} does. Columns of sequential
+   * streams of known size are presized. The stream is closed after collecting.
+   *
+   * @param stream of {@link Exceptional} instances to collect.
+   * @param <T>    type of the values.
+   * @return results of all the elements.
+   */
+  public static <T> ColumnarProcessingResult<T> collectAll(Stream<Exceptional<T>> stream) {
+    Spliterator<Exceptional<T>> source = stream.spliterator();
+    int expectedSize = stream.isParallel() ? 0 : expectedSize(source);
+    try (Stream<Exceptional<T>> all =
+             StreamSupport.stream(source, stream.isParallel()).onClose(stream::close)) {
+      return all.collect(toColumnarProcessingResult(expectedSize));
+    }
+  }
+
+  private static int expectedSize(Spliterator<?> spliterator) {
+    long size = spliterator.getExactSizeIfKnown();
+    return size < 0 ? 0 : (int) Math.min(size, MAX_PRESIZE);
+  }
+
+  private ExceptionalCollectors() {
+  }
+
+  /**
+   * Expected size handed to a single container at a time, so the splits of a parallel stream
+   * don't all allocate buffers for the whole stream. It's released when a collection finishes to
+   * presize the next collection with the same collector.
+   */
+  private static final class SizeHint {
+
+    private final int expectedSize;
+    private final AtomicBoolean taken = new AtomicBoolean();
+
+    private SizeHint(int expectedSize) {
+      this.expectedSize = Math.min(Math.max(expectedSize, 0), MAX_PRESIZE);
+    }
+
+    private int take() {
+      return taken.compareAndSet(false, true) ? expectedSize : 0;
+    }
+
+    private void release() {
+      taken.set(false);
+    }
+  }
+
+  private static final class UntilFailure<T> {
+
+    private final List<T> values;
+    @Nullable
+    private Exception exception;
+
+    private UntilFailure(int expectedSize) {
+      this.values = new ArrayList<>(expectedSize);
+    }
+
+    private void add(Exceptional<T> result) {
+      if (exception != null) {
+        return;
+      }
+      if (result.isValuePresent()) {
+        values.add(result.getValue());
+      } else if (result.isException()) {
+        exception = result.getException();
+      }
+    }
+
+    private UntilFailure<T> addAll(UntilFailure<T> other) {
+      if (exception == null) {
+        values.addAll(other.values);
+        exception = other.exception;
+      }
+      return this;
+    }
+
+    private ProcessingResult<T> toProcessingResult() {
+      return new ProcessingResult<>(values, exception);
+    }
+  }
+
+  /**
+   * Stops traversal after passing the first exception downstream. Splits stop independently.
+   */
+  private static final class UntilFailureSpliterator<T> implements Spliterator<Exceptional<T>> {
+
+    private final Spliterator<Exceptional<T>> source;
+    private boolean failed;
+
+    private UntilFailureSpliterator(Spliterator<Exceptional<T>> source) {
+      this.source = source;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Exceptional<T>> action) {
+      return !failed && source.tryAdvance(result -> {
+        failed = result.isException();
+        action.accept(result);
+      });
+    }
+
+    @Override
+    @Nullable
+    public Spliterator<Exceptional<T>> trySplit() {
+      if (failed) {
+        return null;
+      }
+      Spliterator<Exceptional<T>> prefix = source.trySplit();
+      return prefix == null ? null : new UntilFailureSpliterator<>(prefix);
+    }
+
+    @Override
+    public long estimateSize() {
+      return failed ? 0 : source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+      return source.characteristics() & ~(SIZED | SUBSIZED);
+    }
+  }
+}
@@ -0,0 +1,328 @@
+package ru.romangr.exceptional;
+
+import java.util.Collection;
+import java.util.OptionalDouble;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.metrics.CaptureSite;
+import ru.romangr.exceptional.metrics.ExceptionalListener;
+import ru.romangr.exceptional.metrics.ExceptionalMetrics;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalDoubleFunction;
+import ru.romangr.exceptional.type.ExceptionalDoubleSupplier;
+import ru.romangr.exceptional.type.ExceptionalToDoubleFunction;
+import ru.romangr.exceptional.type.DoubleProcessingResult;
+
+/**
+ * Specialization of {@link Exceptional} for {@code double} values which doesn't box the value.
+ */
+@NonNullApi
+public final class ExceptionalDouble {
+
+  private static final ExceptionalDouble EMPTY_INSTANCE = new ExceptionalDouble(0.0, false, null);
+
+  private final double value;
+
+  private final boolean isValuePresent;
+
+  @Nullable
+  private final Exception exception;
+
+  /**
+   * Get some value from supplier catching all the exceptions.
+   *
+   * @param supplier to get value from.
+   * @return an instance of {@link ExceptionalDouble} with value or exception.
+   */
+  public static ExceptionalDouble getExceptional(ExceptionalDoubleSupplier supplier) {
+    double value;
+    try {
+      value = supplier.getAsDouble();
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.GET_EXCEPTIONAL, e, supplier);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.GET_EXCEPTIONAL);
+    return of(value);
+  }
+
+  /**
+   * Get some value from supplier catching all the exceptions.
+   *
+   * @param supplier to get value from.
+   * @return an instance of {@link ExceptionalDouble} with value or exception.
+   */
+  public static ExceptionalDouble attempt(ExceptionalDoubleSupplier supplier) {
+    return getExceptional(supplier);
+  }
+
+  /**
+   * Wrap a value with {@link ExceptionalDouble}.
+   *
+   * @param value to wrap.
+   * @return an instance of {@link ExceptionalDouble} with value.
+   */
+  public static ExceptionalDouble of(double value) {
+    return new ExceptionalDouble(value, true, null);
+  }
+
+  /**
+   * Wrap an exception with {@link ExceptionalDouble}.
+   *
+   * @param exception to wrap.
+   * @return an instance of {@link ExceptionalDouble} with exception.
+   */
+  public static ExceptionalDouble exceptional(Exception exception) {
+    if (exception == null) {
+      return EMPTY_INSTANCE;
+    }
+    return new ExceptionalDouble(0.0, false, exception);
+  }
+
+  public static ExceptionalDouble empty() {
+    return EMPTY_INSTANCE;
+  }
+
+  /**
+   * Applies mapper to every collection element until the first exception thrown by mapper.
+   * Successful results are collected into a {@code double[]} without boxing.
+   *
+   * @return an instance of {@link Exceptional} with {@link DoubleProcessingResult}
+   */
+  public static <C> Exceptional<DoubleProcessingResult> processCollection(
+      Collection<C> collection, ExceptionalToDoubleFunction<? super C> mapper) {
+    double[] successResults = new double[collection.size()];
+    int count = 0;
+    ExceptionalListener listener = ExceptionalMetrics.listener();
+    for (C element : collection) {
+      try {
+        successResults[count] = mapper.applyAsDouble(element);
+      } catch (Exception e) {
+        if (listener != null) {
+          listener.onFailure(CaptureSite.PROCESS_COLLECTION, e);
+        }
+        return Exceptional.exceptional(new DoubleProcessingResult(successResults, count, e));
+      }
+      if (listener != null) {
+        listener.onValue(CaptureSite.PROCESS_COLLECTION);
+      }
+      count++;
+    }
+    return Exceptional.exceptional(new DoubleProcessingResult(successResults, count, null));
+  }
+
+  /**
+   * Map the value to some other value. Exceptions in mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @return an instance of {@link ExceptionalDouble} with value or in empty state or with an
+   * exception caught before mapping.
+   */
+  public ExceptionalDouble map(DoubleUnaryOperator mapper) {
+    if (!isValuePresent) {
+      return this;
+    }
+    return of(mapper.applyAsDouble(value));
+  }
+
+  /**
+   * Map the value to an object. Exceptions in mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return an instance of {@link Exceptional} with value or in empty state or with an exception
+   * caught before mapping.
+   */
+  public <V> Exceptional<V> mapToObj(DoubleFunction<V> mapper) {
+    if (!isValuePresent) {
+      return boxedState();
+    }
+    return Exceptional.exceptional(mapper.apply(value));
+  }
+
+  /**
+   * Map the value to an object catching all the exceptions from mapper.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return an instance of {@link Exceptional} with value or in empty state or with an exception
+   * caught before mapping or with an exception occurred in process of mapping.
+   */
+  public <V> Exceptional<V> safelyMapToObj(ExceptionalDoubleFunction<V> mapper) {
+    if (!isValuePresent) {
+      return boxedState();
+    }
+    V mapped;
+    try {
+      mapped = mapper.apply(value);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.SAFELY_MAP, e, mapper);
+      return Exceptional.exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.SAFELY_MAP, mapped);
+    return Exceptional.exceptional(mapped);
+  }
+
+  /**
+   * Executes some logic using the value.
+   *
+   * @param consumer consumer of the value.
+   * @return an instance of {@link ExceptionalDouble} with value or in empty state or with an
+   * exception caught before running this method or with an exception thrown by the consumer.
+   */
+  public ExceptionalDouble ifValue(DoubleConsumer consumer) {
+    if (!isValuePresent) {
+      return this;
+    }
+    try {
+      consumer.accept(value);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.EXECUTE_SAFELY, e, consumer);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.EXECUTE_SAFELY);
+    return this;
+  }
+
+  /**
+   * Executes some logic using not null exception.
+   *
+   * @param consumer consumer of the exception.
+   * @return an instance of {@link ExceptionalDouble} with value or in empty state or with an
+   * exception caught before running this method or with an exception thrown by the consumer.
+   */
+  public ExceptionalDouble ifException(Consumer<Exception> consumer) {
+    if (exception == null) {
+      return this;
+    }
+    try {
+      consumer.accept(exception);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.EXECUTE_SAFELY, e, consumer);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.EXECUTE_SAFELY);
+    return this;
+  }
+
+  /**
+   * Map the exception to some value catching all the exceptions from mapper.
+   *
+   * @param mapper to get a new value from the exception.
+   * @return an instance of {@link ExceptionalDouble} with value or in empty state or with an
+   * exception occurred in process of mapping.
+   */
+  public ExceptionalDouble resumeOnException(ExceptionalToDoubleFunction<Exception> mapper) {
+    if (exception == null) {
+      return this;
+    }
+    double resumed;
+    try {
+      resumed = mapper.applyAsDouble(exception);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.RESUME_ON_EXCEPTION, e, mapper);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.RESUME_ON_EXCEPTION);
+    return of(resumed);
+  }
+
+  /**
+   * Get the value.
+   *
+   * @return the value
+   * @throws IllegalStateException if the {@link ExceptionalDouble} contains exception or it's in
+   *                               empty state.
+   */
+  public double getValue() throws IllegalStateException {
+    if (!isValuePresent) {
+      throw new IllegalStateException();
+    }
+    return value;
+  }
+
+  /**
+   * Get the not null exception.
+   *
+   * @return the exception
+   * @throws IllegalStateException if the {@link ExceptionalDouble} contains value or it's in empty
+   *                               state.
+   */
+  public Exception getException() throws IllegalStateException {
+    if (exception == null) {
+      throw new IllegalStateException();
+    }
+    return exception;
+  }
+
+  /**
+   * @param defaultValue to return if the {@link ExceptionalDouble} contains exception or in empty
+   *                     state.
+   * @return the value or default value.
+   */
+  public double getOrDefault(double defaultValue) {
+    return isValuePresent ? value : defaultValue;
+  }
+
+  /**
+   * @return true if the {@link ExceptionalDouble} contains an exception.
+   */
+  public boolean isException() {
+    return exception != null;
+  }
+
+  /**
+   * @return true if the {@link ExceptionalDouble} contains a value.
+   */
+  public boolean isValuePresent() {
+    return isValuePresent;
+  }
+
+  public boolean isEmpty() {
+    return !isValuePresent && exception == null;
+  }
+
+  /**
+   * @return {@link OptionalDouble} of the value if it exists, empty {@link OptionalDouble} in case
+   * of exception or empty state.
+   */
+  public OptionalDouble asOptional() {
+    return isValuePresent ? OptionalDouble.of(value) : OptionalDouble.empty();
+  }
+
+  /**
+   * @return {@link DoubleStream} of the value if it exists, empty {@link DoubleStream} in case of
+   * exception or empty state.
+   */
+  public DoubleStream asStream() {
+    return isValuePresent ? DoubleStream.of(value) : DoubleStream.empty();
+  }
+
+  /**
+   * @return an instance of {@link Exceptional} with the boxed value or with the same exception or
+   * in empty state.
+   */
+  public Exceptional<Double> boxed() {
+    if (!isValuePresent) {
+      return boxedState();
+    }
+    return Exceptional.exceptional(value);
+  }
+
+  private <V> Exceptional<V> boxedState() {
+    if (exception == null) {
+      return Exceptional.empty();
+    }
+    return Exceptional.exceptional(exception);
+  }
+
+  private ExceptionalDouble(double value, boolean isValuePresent, @Nullable Exception exception) {
+    this.value = value;
+    this.isValuePresent = isValuePresent;
+    this.exception = exception;
+  }
+}
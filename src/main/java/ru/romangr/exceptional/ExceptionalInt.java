@@ -0,0 +1,328 @@
+package ru.romangr.exceptional;
+
+import java.util.Collection;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.metrics.CaptureSite;
+import ru.romangr.exceptional.metrics.ExceptionalListener;
+import ru.romangr.exceptional.metrics.ExceptionalMetrics;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalIntFunction;
+import ru.romangr.exceptional.type.ExceptionalIntSupplier;
+import ru.romangr.exceptional.type.ExceptionalToIntFunction;
+import ru.romangr.exceptional.type.IntProcessingResult;
+
+/**
+ * Specialization of {@link Exceptional} for {@code int} values which doesn't box the value.
+ */
+@NonNullApi
+public final class ExceptionalInt {
+
+  private static final ExceptionalInt EMPTY_INSTANCE = new ExceptionalInt(0, false, null);
+
+  private final int value;
+
+  private final boolean isValuePresent;
+
+  @Nullable
+  private final Exception exception;
+
+  /**
+   * Get some value from supplier catching all the exceptions.
+   *
+   * @param supplier to get value from.
+   * @return an instance of {@link ExceptionalInt} with value or exception.
+   */
+  public static ExceptionalInt getExceptional(ExceptionalIntSupplier supplier) {
+    int value;
+    try {
+      value = supplier.getAsInt();
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.GET_EXCEPTIONAL, e, supplier);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.GET_EXCEPTIONAL);
+    return of(value);
+  }
+
+  /**
+   * Get some value from supplier catching all the exceptions.
+   *
+   * @param supplier to get value from.
+   * @return an instance of {@link ExceptionalInt} with value or exception.
+   */
+  public static ExceptionalInt attempt(ExceptionalIntSupplier supplier) {
+    return getExceptional(supplier);
+  }
+
+  /**
+   * Wrap a value with {@link ExceptionalInt}.
+   *
+   * @param value to wrap.
+   * @return an instance of {@link ExceptionalInt} with value.
+   */
+  public static ExceptionalInt of(int value) {
+    return new ExceptionalInt(value, true, null);
+  }
+
+  /**
+   * Wrap an exception with {@link ExceptionalInt}.
+   *
+   * @param exception to wrap.
+   * @return an instance of {@link ExceptionalInt} with exception.
+   */
+  public static ExceptionalInt exceptional(Exception exception) {
+    if (exception == null) {
+      return EMPTY_INSTANCE;
+    }
+    return new ExceptionalInt(0, false, exception);
+  }
+
+  public static ExceptionalInt empty() {
+    return EMPTY_INSTANCE;
+  }
+
+  /**
+   * Applies mapper to every collection element until the first exception thrown by mapper.
+   * Successful results are collected into a {@code int[]} without boxing.
+   *
+   * @return an instance of {@link Exceptional} with {@link IntProcessingResult}
+   */
+  public static <C> Exceptional<IntProcessingResult> processCollection(
+      Collection<C> collection, ExceptionalToIntFunction<? super C> mapper) {
+    int[] successResults = new int[collection.size()];
+    int count = 0;
+    ExceptionalListener listener = ExceptionalMetrics.listener();
+    for (C element : collection) {
+      try {
+        successResults[count] = mapper.applyAsInt(element);
+      } catch (Exception e) {
+        if (listener != null) {
+          listener.onFailure(CaptureSite.PROCESS_COLLECTION, e);
+        }
+        return Exceptional.exceptional(new IntProcessingResult(successResults, count, e));
+      }
+      if (listener != null) {
+        listener.onValue(CaptureSite.PROCESS_COLLECTION);
+      }
+      count++;
+    }
+    return Exceptional.exceptional(new IntProcessingResult(successResults, count, null));
+  }
+
+  /**
+   * Map the value to some other value. Exceptions in mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @return an instance of {@link ExceptionalInt} with value or in empty state or with an
+   * exception caught before mapping.
+   */
+  public ExceptionalInt map(IntUnaryOperator mapper) {
+    if (!isValuePresent) {
+      return this;
+    }
+    return of(mapper.applyAsInt(value));
+  }
+
+  /**
+   * Map the value to an object. Exceptions in mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return an instance of {@link Exceptional} with value or in empty state or with an exception
+   * caught before mapping.
+   */
+  public <V> Exceptional<V> mapToObj(IntFunction<V> mapper) {
+    if (!isValuePresent) {
+      return boxedState();
+    }
+    return Exceptional.exceptional(mapper.apply(value));
+  }
+
+  /**
+   * Map the value to an object catching all the exceptions from mapper.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return an instance of {@link Exceptional} with value or in empty state or with an exception
+   * caught before mapping or with an exception occurred in process of mapping.
+   */
+  public <V> Exceptional<V> safelyMapToObj(ExceptionalIntFunction<V> mapper) {
+    if (!isValuePresent) {
+      return boxedState();
+    }
+    V mapped;
+    try {
+      mapped = mapper.apply(value);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.SAFELY_MAP, e, mapper);
+      return Exceptional.exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.SAFELY_MAP, mapped);
+    return Exceptional.exceptional(mapped);
+  }
+
+  /**
+   * Executes some logic using the value.
+   *
+   * @param consumer consumer of the value.
+   * @return an instance of {@link ExceptionalInt} with value or in empty state or with an
+   * exception caught before running this method or with an exception thrown by the consumer.
+   */
+  public ExceptionalInt ifValue(IntConsumer consumer) {
+    if (!isValuePresent) {
+      return this;
+    }
+    try {
+      consumer.accept(value);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.EXECUTE_SAFELY, e, consumer);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.EXECUTE_SAFELY);
+    return this;
+  }
+
+  /**
+   * Executes some logic using not null exception.
+   *
+   * @param consumer consumer of the exception.
+   * @return an instance of {@link ExceptionalInt} with value or in empty state or with an
+   * exception caught before running this method or with an exception thrown by the consumer.
+   */
+  public ExceptionalInt ifException(Consumer<Exception> consumer) {
+    if (exception == null) {
+      return this;
+    }
+    try {
+      consumer.accept(exception);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.EXECUTE_SAFELY, e, consumer);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.EXECUTE_SAFELY);
+    return this;
+  }
+
+  /**
+   * Map the exception to some value catching all the exceptions from mapper.
+   *
+   * @param mapper to get a new value from the exception.
+   * @return an instance of {@link ExceptionalInt} with value or in empty state or with an
+   * exception occurred in process of mapping.
+   */
+  public ExceptionalInt resumeOnException(ExceptionalToIntFunction<Exception> mapper) {
+    if (exception == null) {
+      return this;
+    }
+    int resumed;
+    try {
+      resumed = mapper.applyAsInt(exception);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.RESUME_ON_EXCEPTION, e, mapper);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.RESUME_ON_EXCEPTION);
+    return of(resumed);
+  }
+
+  /**
+   * Get the value.
+   *
+   * @return the value
+   * @throws IllegalStateException if the {@link ExceptionalInt} contains exception or it's in
+   *                               empty state.
+   */
+  public int getValue() throws IllegalStateException {
+    if (!isValuePresent) {
+      throw new IllegalStateException();
+    }
+    return value;
+  }
+
+  /**
+   * Get the not null exception.
+   *
+   * @return the exception
+   * @throws IllegalStateException if the {@link ExceptionalInt} contains value or it's in empty
+   *                               state.
+   */
+  public Exception getException() throws IllegalStateException {
+    if (exception == null) {
+      throw new IllegalStateException();
+    }
+    return exception;
+  }
+
+  /**
+   * @param defaultValue to return if the {@link ExceptionalInt} contains exception or in empty
+   *                     state.
+   * @return the value or default value.
+   */
+  public int getOrDefault(int defaultValue) {
+    return isValuePresent ? value : defaultValue;
+  }
+
+  /**
+   * @return true if the {@link ExceptionalInt} contains an exception.
+   */
+  public boolean isException() {
+    return exception != null;
+  }
+
+  /**
+   * @return true if the {@link ExceptionalInt} contains a value.
+   */
+  public boolean isValuePresent() {
+    return isValuePresent;
+  }
+
+  public boolean isEmpty() {
+    return !isValuePresent && exception == null;
+  }
+
+  /**
+   * @return {@link OptionalInt} of the value if it exists, empty {@link OptionalInt} in case of
+   * exception or empty state.
+   */
+  public OptionalInt asOptional() {
+    return isValuePresent ? OptionalInt.of(value) : OptionalInt.empty();
+  }
+
+  /**
+   * @return {@link IntStream} of the value if it exists, empty {@link IntStream} in case of
+   * exception or empty state.
+   */
+  public IntStream asStream() {
+    return isValuePresent ? IntStream.of(value) : IntStream.empty();
+  }
+
+  /**
+   * @return an instance of {@link Exceptional} with the boxed value or with the same exception or
+   * in empty state.
+   */
+  public Exceptional<Integer> boxed() {
+    if (!isValuePresent) {
+      return boxedState();
+    }
+    return Exceptional.exceptional(value);
+  }
+
+  private <V> Exceptional<V> boxedState() {
+    if (exception == null) {
+      return Exceptional.empty();
+    }
+    return Exceptional.exceptional(exception);
+  }
+
+  private ExceptionalInt(int value, boolean isValuePresent, @Nullable Exception exception) {
+    this.value = value;
+    this.isValuePresent = isValuePresent;
+    this.exception = exception;
+  }
+}
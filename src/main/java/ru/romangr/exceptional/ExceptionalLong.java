@@ -0,0 +1,328 @@
+package ru.romangr.exceptional;
+
+import java.util.Collection;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.LongStream;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.metrics.CaptureSite;
+import ru.romangr.exceptional.metrics.ExceptionalListener;
+import ru.romangr.exceptional.metrics.ExceptionalMetrics;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalLongFunction;
+import ru.romangr.exceptional.type.ExceptionalLongSupplier;
+import ru.romangr.exceptional.type.ExceptionalToLongFunction;
+import ru.romangr.exceptional.type.LongProcessingResult;
+
+/**
+ * Specialization of {@link Exceptional} for {@code long} values which doesn't box the value.
+ */
+@NonNullApi
+public final class ExceptionalLong {
+
+  private static final ExceptionalLong EMPTY_INSTANCE = new ExceptionalLong(0L, false, null);
+
+  private final long value;
+
+  private final boolean isValuePresent;
+
+  @Nullable
+  private final Exception exception;
+
+  /**
+   * Get some value from supplier catching all the exceptions.
+   *
+   * @param supplier to get value from.
+   * @return an instance of {@link ExceptionalLong} with value or exception.
+   */
+  public static ExceptionalLong getExceptional(ExceptionalLongSupplier supplier) {
+    long value;
+    try {
+      value = supplier.getAsLong();
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.GET_EXCEPTIONAL, e, supplier);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.GET_EXCEPTIONAL);
+    return of(value);
+  }
+
+  /**
+   * Get some value from supplier catching all the exceptions.
+   *
+   * @param supplier to get value from.
+   * @return an instance of {@link ExceptionalLong} with value or exception.
+   */
+  public static ExceptionalLong attempt(ExceptionalLongSupplier supplier) {
+    return getExceptional(supplier);
+  }
+
+  /**
+   * Wrap a value with {@link ExceptionalLong}.
+   *
+   * @param value to wrap.
+   * @return an instance of {@link ExceptionalLong} with value.
+   */
+  public static ExceptionalLong of(long value) {
+    return new ExceptionalLong(value, true, null);
+  }
+
+  /**
+   * Wrap an exception with {@link ExceptionalLong}.
+   *
+   * @param exception to wrap.
+   * @return an instance of {@link ExceptionalLong} with exception.
+   */
+  public static ExceptionalLong exceptional(Exception exception) {
+    if (exception == null) {
+      return EMPTY_INSTANCE;
+    }
+    return new ExceptionalLong(0L, false, exception);
+  }
+
+  public static ExceptionalLong empty() {
+    return EMPTY_INSTANCE;
+  }
+
+  /**
+   * Applies mapper to every collection element until the first exception thrown by mapper.
+   * Successful results are collected into a {@code long[]} without boxing.
+   *
+   * @return an instance of {@link Exceptional} with {@link LongProcessingResult}
+   */
+  public static <C> Exceptional<LongProcessingResult> processCollection(
+      Collection<C> collection, ExceptionalToLongFunction<? super C> mapper) {
+    long[] successResults = new long[collection.size()];
+    int count = 0;
+    ExceptionalListener listener = ExceptionalMetrics.listener();
+    for (C element : collection) {
+      try {
+        successResults[count] = mapper.applyAsLong(element);
+      } catch (Exception e) {
+        if (listener != null) {
+          listener.onFailure(CaptureSite.PROCESS_COLLECTION, e);
+        }
+        return Exceptional.exceptional(new LongProcessingResult(successResults, count, e));
+      }
+      if (listener != null) {
+        listener.onValue(CaptureSite.PROCESS_COLLECTION);
+      }
+      count++;
+    }
+    return Exceptional.exceptional(new LongProcessingResult(successResults, count, null));
+  }
+
+  /**
+   * Map the value to some other value. Exceptions in mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @return an instance of {@link ExceptionalLong} with value or in empty state or with an
+   * exception caught before mapping.
+   */
+  public ExceptionalLong map(LongUnaryOperator mapper) {
+    if (!isValuePresent) {
+      return this;
+    }
+    return of(mapper.applyAsLong(value));
+  }
+
+  /**
+   * Map the value to an object. Exceptions in mapper won't be caught.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return an instance of {@link Exceptional} with value or in empty state or with an exception
+   * caught before mapping.
+   */
+  public <V> Exceptional<V> mapToObj(LongFunction<V> mapper) {
+    if (!isValuePresent) {
+      return boxedState();
+    }
+    return Exceptional.exceptional(mapper.apply(value));
+  }
+
+  /**
+   * Map the value to an object catching all the exceptions from mapper.
+   *
+   * @param mapper to get a new value.
+   * @param <V>    type of new value.
+   * @return an instance of {@link Exceptional} with value or in empty state or with an exception
+   * caught before mapping or with an exception occurred in process of mapping.
+   */
+  public <V> Exceptional<V> safelyMapToObj(ExceptionalLongFunction<V> mapper) {
+    if (!isValuePresent) {
+      return boxedState();
+    }
+    V mapped;
+    try {
+      mapped = mapper.apply(value);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.SAFELY_MAP, e, mapper);
+      return Exceptional.exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.SAFELY_MAP, mapped);
+    return Exceptional.exceptional(mapped);
+  }
+
+  /**
+   * Executes some logic using the value.
+   *
+   * @param consumer consumer of the value.
+   * @return an instance of {@link ExceptionalLong} with value or in empty state or with an
+   * exception caught before running this method or with an exception thrown by the consumer.
+   */
+  public ExceptionalLong ifValue(LongConsumer consumer) {
+    if (!isValuePresent) {
+      return this;
+    }
+    try {
+      consumer.accept(value);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.EXECUTE_SAFELY, e, consumer);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.EXECUTE_SAFELY);
+    return this;
+  }
+
+  /**
+   * Executes some logic using not null exception.
+   *
+   * @param consumer consumer of the exception.
+   * @return an instance of {@link ExceptionalLong} with value or in empty state or with an
+   * exception caught before running this method or with an exception thrown by the consumer.
+   */
+  public ExceptionalLong ifException(Consumer<Exception> consumer) {
+    if (exception == null) {
+      return this;
+    }
+    try {
+      consumer.accept(exception);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.EXECUTE_SAFELY, e, consumer);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.EXECUTE_SAFELY);
+    return this;
+  }
+
+  /**
+   * Map the exception to some value catching all the exceptions from mapper.
+   *
+   * @param mapper to get a new value from the exception.
+   * @return an instance of {@link ExceptionalLong} with value or in empty state or with an
+   * exception occurred in process of mapping.
+   */
+  public ExceptionalLong resumeOnException(ExceptionalToLongFunction<Exception> mapper) {
+    if (exception == null) {
+      return this;
+    }
+    long resumed;
+    try {
+      resumed = mapper.applyAsLong(exception);
+    } catch (Exception e) {
+      Exceptional.recordFailure(CaptureSite.RESUME_ON_EXCEPTION, e, mapper);
+      return exceptional(e);
+    }
+    Exceptional.recordValue(CaptureSite.RESUME_ON_EXCEPTION);
+    return of(resumed);
+  }
+
+  /**
+   * Get the value.
+   *
+   * @return the value
+   * @throws IllegalStateException if the {@link ExceptionalLong} contains exception or it's in
+   *                               empty state.
+   */
+  public long getValue() throws IllegalStateException {
+    if (!isValuePresent) {
+      throw new IllegalStateException();
+    }
+    return value;
+  }
+
+  /**
+   * Get the not null exception.
+   *
+   * @return the exception
+   * @throws IllegalStateException if the {@link ExceptionalLong} contains value or it's in empty
+   *                               state.
+   */
+  public Exception getException() throws IllegalStateException {
+    if (exception == null) {
+      throw new IllegalStateException();
+    }
+    return exception;
+  }
+
+  /**
+   * @param defaultValue to return if the {@link ExceptionalLong} contains exception or in empty
+   *                     state.
+   * @return the value or default value.
+   */
+  public long getOrDefault(long defaultValue) {
+    return isValuePresent ? value : defaultValue;
+  }
+
+  /**
+   * @return true if the {@link ExceptionalLong} contains an exception.
+   */
+  public boolean isException() {
+    return exception != null;
+  }
+
+  /**
+   * @return true if the {@link ExceptionalLong} contains a value.
+   */
+  public boolean isValuePresent() {
+    return isValuePresent;
+  }
+
+  public boolean isEmpty() {
+    return !isValuePresent && exception == null;
+  }
+
+  /**
+   * @return {@link OptionalLong} of the value if it exists, empty {@link OptionalLong} in case of
+   * exception or empty state.
+   */
+  public OptionalLong asOptional() {
+    return isValuePresent ? OptionalLong.of(value) : OptionalLong.empty();
+  }
+
+  /**
+   * @return {@link LongStream} of the value if it exists, empty {@link LongStream} in case of
+   * exception or empty state.
+   */
+  public LongStream asStream() {
+    return isValuePresent ? LongStream.of(value) : LongStream.empty();
+  }
+
+  /**
+   * @return an instance of {@link Exceptional} with the boxed value or with the same exception or
+   * in empty state.
+   */
+  public Exceptional<Long> boxed() {
+    if (!isValuePresent) {
+      return boxedState();
+    }
+    return Exceptional.exceptional(value);
+  }
+
+  private <V> Exceptional<V> boxedState() {
+    if (exception == null) {
+      return Exceptional.empty();
+    }
+    return Exceptional.exceptional(exception);
+  }
+
+  private ExceptionalLong(long value, boolean isValuePresent, @Nullable Exception exception) {
+    this.value = value;
+    this.isValuePresent = isValuePresent;
+    this.exception = exception;
+  }
+}
@@ -0,0 +1,388 @@
+package ru.romangr.exceptional;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Operations on streams and collections of {@link Exceptional}.
+ * <p>
+ * Stream operations, unlike {@code flatMap(Exceptional::asStream)}, unwrap elements in a single
+ * stage without allocating a stream per element. The returned streams are parallel if the source
+ * stream is parallel and closing them closes the source stream.
+ * <p>
+ * {@code sequence} and {@code traverse} turn a collection of {@link Exceptional} into an
+ * {@link Exceptional} of a collection. The result is the exception of the first failed element in
+ * the iteration order, elements following it are not looked at. If no element failed but some of
+ * them are empty, the result is empty. Otherwise it contains an unmodifiable collection of all
+ * the values.
+ */
+@NonNullApi
+public final class Exceptionals {
+
+  /**
+   * @param stream of {@link Exceptional} instances.
+   * @param <T>    type of the values.
+   * @return stream of values of the instances in the value state.
+   */
+  public static <T> Stream<T> values(Stream<? extends Exceptional<? extends T>> stream) {
+    return flatten(stream, Exceptional::getOrNull);
+  }
+
+  /**
+   * @param stream of {@link Exceptional} instances.
+   * @return stream of exceptions of the instances with exception.
+   */
+  public static Stream<Exception> exceptions(Stream<? extends Exceptional<?>> stream) {
+    return flatten(stream, Exceptional::getExceptionOrNull);
+  }
+
+  /**
+   * @param stream of {@link Optional} instances.
+   * @param <T>    type of the values.
+   * @return stream of values of the present instances.
+   */
+  public static <T> Stream<T> presentValues(Stream<? extends Optional<? extends T>> stream) {
+    return flatten(stream, optional -> optional.orElse(null));
+  }
+
+  /**
+   * Values of {@link RandomAccess} lists are not copied: the result is a view of the list, which
+   * must not be modified afterwards.
+   *
+   * @param list of {@link Exceptional} instances.
+   * @param <T>  type of the values.
+   * @return an instance of {@link Exceptional} with the list of all the values, with the first
+   * exception or in empty state.
+   */
+  public static <T> Exceptional<List<T>> sequence(List<? extends Exceptional<? extends T>> list) {
+    boolean empty = false;
+    if (list instanceof RandomAccess) {
+      for (int i = 0, size = list.size(); i < size; i++) {
+        Exceptional<? extends T> element = list.get(i);
+        if (element.isException()) {
+          return Exceptional.exceptional(element.getException());
+        }
+        empty |= !element.isValuePresent();
+      }
+      return empty ? Exceptional.empty() : Exceptional.exceptional(new ValuesView<>(list));
+    }
+    List<T> values = new ArrayList<>(list.size());
+    for (Exceptional<? extends T> element : list) {
+      if (element.isException()) {
+        return Exceptional.exceptional(element.getException());
+      }
+      if (element.isValuePresent()) {
+        values.add(element.getValue());
+      } else {
+        empty = true;
+      }
+    }
+    return empty
+        ? Exceptional.empty()
+        : Exceptional.exceptional(Collections.unmodifiableList(values));
+  }
+
+  /**
+   * Apply the mapper to the elements of the list until the first exception.
+   *
+   * @param list   of elements.
+   * @param mapper to apply to the elements.
+   * @param <A>    type of the elements.
+   * @param <T>    type of the values.
+   * @return an instance of {@link Exceptional} with the list of all the values, with the first
+   * exception or in empty state.
+   */
+  @SuppressWarnings("unchecked")
+  public static <A, T> Exceptional<List<T>> traverse(List<A> list,
+                                                     Function<? super A, Exceptional<T>> mapper) {
+    Object[] values = new Object[list.size()];
+    boolean empty = false;
+    if (list instanceof RandomAccess) {
+      for (int i = 0; i < values.length; i++) {
+        Exceptional<T> result = mapper.apply(list.get(i));
+        if (result.isException()) {
+          return Exceptional.exceptional(result.getException());
+        }
+        values[i] = result.getOrNull();
+        empty |= values[i] == null;
+      }
+    } else {
+      int i = 0;
+      for (A element : list) {
+        Exceptional<T> result = mapper.apply(element);
+        if (result.isException()) {
+          return Exceptional.exceptional(result.getException());
+        }
+        values[i] = result.getOrNull();
+        empty |= values[i++] == null;
+      }
+    }
+    return empty
+        ? Exceptional.empty()
+        : Exceptional.exceptional(Collections.unmodifiableList((List<T>) Arrays.asList(values)));
+  }
+
+  /**
+   * Apply the mapper to the elements of the list in parallel on the common {@link ForkJoinPool}.
+   * The result is the same as the result of {@link #traverse(List, Function)}. Elements following
+   * a failed one are not processed once the failure is noticed. Lists smaller than 1024 elements
+   * are processed on the caller thread.
+   *
+   * @param list   of elements.
+   * @param mapper to apply to the elements.
+   * @param <A>    type of the elements.
+   * @param <T>    type of the values.
+   * @return an instance of {@link Exceptional} with the list of all the values, with the first
+   * exception or in empty state.
+   */
+  public static <A, T> Exceptional<List<T>> traverseInParallel(
+      List<A> list, Function<? super A, Exceptional<T>> mapper) {
+    return ParallelCollectionProcessor.traverse(list, mapper, ForkJoinPool.commonPool(),
+        ParallelCollectionProcessor.DEFAULT_PARALLELISM_THRESHOLD);
+  }
+
+  /**
+   * Apply the mapper to the elements of the list in parallel on the given {@link ForkJoinPool}.
+   * The result is the same as the result of {@link #traverse(List, Function)}. Elements following
+   * a failed one are not processed once the failure is noticed.
+   *
+   * @param list                 of elements.
+   * @param mapper               to apply to the elements.
+   * @param pool                 to process elements on.
+   * @param parallelismThreshold lists smaller than that are processed on the caller thread.
+   * @param <A>                  type of the elements.
+   * @param <T>                  type of the values.
+   * @return an instance of {@link Exceptional} with the list of all the values, with the first
+   * exception or in empty state.
+   */
+  public static <A, T> Exceptional<List<T>> traverseInParallel(
+      List<A> list, Function<? super A, Exceptional<T>> mapper, ForkJoinPool pool,
+      int parallelismThreshold) {
+    return ParallelCollectionProcessor.traverse(list, mapper, pool, parallelismThreshold);
+  }
+
+  /**
+   * Values are not copied: the result is a view of the map, which must not be modified
+   * afterwards.
+   *
+   * @param map of {@link Exceptional} instances.
+   * @param <K> type of the keys.
+   * @param <V> type of the values.
+   * @return an instance of {@link Exceptional} with the map of keys to all the values, with the
+   * first exception or in empty state.
+   */
+  public static <K, V> Exceptional<Map<K, V>> sequence(
+      Map<K, ? extends Exceptional<? extends V>> map) {
+    boolean empty = false;
+    for (Exceptional<? extends V> element : map.values()) {
+      if (element.isException()) {
+        return Exceptional.exceptional(element.getException());
+      }
+      empty |= !element.isValuePresent();
+    }
+    return empty ? Exceptional.empty() : Exceptional.exceptional(new ValuesMapView<>(map));
+  }
+
+  /**
+   * Apply the mapper to the values of the map until the first exception.
+   *
+   * @param map    of keys to elements.
+   * @param mapper to apply to the elements.
+   * @param <K>    type of the keys.
+   * @param <A>    type of the elements.
+   * @param <V>    type of the values.
+   * @return an instance of {@link Exceptional} with the map of keys to all the values in the
+   * iteration order of the source map, with the first exception or in empty state.
+   */
+  public static <K, A, V> Exceptional<Map<K, V>> traverse(
+      Map<K, A> map, Function<? super A, Exceptional<V>> mapper) {
+    Map<K, V> values = new LinkedHashMap<>((int) (map.size() / 0.75f) + 1);
+    boolean empty = false;
+    for (Map.Entry<K, A> entry : map.entrySet()) {
+      Exceptional<V> result = mapper.apply(entry.getValue());
+      if (result.isException()) {
+        return Exceptional.exceptional(result.getException());
+      }
+      if (result.isValuePresent()) {
+        values.put(entry.getKey(), result.getValue());
+      } else {
+        empty = true;
+      }
+    }
+    return empty
+        ? Exceptional.empty()
+        : Exceptional.exceptional(Collections.unmodifiableMap(values));
+  }
+
+  private static <S, T> Stream<T> flatten(Stream<? extends S> stream,
+                                          Function<? super S, ? extends T> unwrapper) {
+    return StreamSupport.stream(new UnwrappingSpliterator<S, T>(stream.spliterator(), unwrapper),
+            stream.isParallel())
+        .onClose(stream::close);
+  }
+
+  private Exceptionals() {
+  }
+
+  /**
+   * Unmodifiable list of values of a list of {@link Exceptional} instances which all have values.
+   */
+  private static final class ValuesView<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<? extends Exceptional<? extends T>> source;
+
+    private ValuesView(List<? extends Exceptional<? extends T>> source) {
+      this.source = source;
+    }
+
+    @Override
+    public T get(int index) {
+      return source.get(index).getValue();
+    }
+
+    @Override
+    public int size() {
+      return source.size();
+    }
+  }
+
+  /**
+   * Unmodifiable map of keys to values of a map of {@link Exceptional} instances which all have
+   * values.
+   */
+  private static final class ValuesMapView<K, V> extends AbstractMap<K, V> {
+
+    private final Map<K, ? extends Exceptional<? extends V>> source;
+
+    private ValuesMapView(Map<K, ? extends Exceptional<? extends V>> source) {
+      this.source = source;
+    }
+
+    @Override
+    @Nullable
+    public V get(Object key) {
+      Exceptional<? extends V> element = source.get(key);
+      return element == null ? null : element.getValue();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return source.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return source.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+      return new AbstractSet<Entry<K, V>>() {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+          Iterator<? extends Entry<K, ? extends Exceptional<? extends V>>> entries =
+              source.entrySet().iterator();
+          return new Iterator<Entry<K, V>>() {
+            @Override
+            public boolean hasNext() {
+              return entries.hasNext();
+            }
+
+            @Override
+            public Entry<K, V> next() {
+              Entry<K, ? extends Exceptional<? extends V>> entry = entries.next();
+              return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().getValue());
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return source.size();
+        }
+      };
+    }
+  }
+
+  /**
+   * Passes non-null results of the unwrapper downstream. The spliterator is its own consumer of
+   * source elements, so traversal doesn't allocate.
+   */
+  private static final class UnwrappingSpliterator<S, T> implements Spliterator<T>, Consumer<S> {
+
+    private static final int DROPPED_CHARACTERISTICS = SIZED | SUBSIZED | SORTED | DISTINCT;
+
+    private final Spliterator<? extends S> source;
+    private final Function<? super S, ? extends T> unwrapper;
+    @Nullable
+    private Consumer<? super T> action;
+    private boolean emitted;
+
+    private UnwrappingSpliterator(Spliterator<? extends S> source,
+                                  Function<? super S, ? extends T> unwrapper) {
+      this.source = source;
+      this.unwrapper = unwrapper;
+    }
+
+    @Override
+    public void accept(S element) {
+      T value = unwrapper.apply(element);
+      if (value != null) {
+        emitted = true;
+        action.accept(value);
+      }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      this.action = action;
+      emitted = false;
+      while (!emitted && source.tryAdvance(this)) {
+        // skip elements without value
+      }
+      return emitted;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+      this.action = action;
+      source.forEachRemaining(this);
+    }
+
+    @Override
+    @Nullable
+    public Spliterator<T> trySplit() {
+      Spliterator<? extends S> prefix = source.trySplit();
+      return prefix == null ? null : new UnwrappingSpliterator<>(prefix, unwrapper);
+    }
+
+    @Override
+    public long estimateSize() {
+      return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+      return source.characteristics() & ~DROPPED_CHARACTERISTICS | NONNULL;
+    }
+  }
+}
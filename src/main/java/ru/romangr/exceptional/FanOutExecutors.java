@@ -0,0 +1,33 @@
+package ru.romangr.exceptional;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates executors for concurrent fan-out. This implementation uses a pool of platform threads,
+ * Java 21+ runtimes use the version starting a virtual thread per task from the multi-release part
+ * of the jar. The pool never exceeds {@link #MAX_PLATFORM_THREADS} threads: tasks above that wait
+ * in the queue, so a large {@code maxConcurrency} doesn't start thousands of platform threads.
+ */
+final class FanOutExecutors {
+
+  static final int MAX_PLATFORM_THREADS = 256;
+
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private static final ThreadFactory THREAD_FACTORY = runnable -> {
+    Thread thread = new Thread(runnable, "exceptional-fan-out-" + THREAD_COUNTER.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  };
+
+  static ExecutorService newExecutor(int concurrency) {
+    return Executors.newFixedThreadPool(
+        Math.min(concurrency, MAX_PLATFORM_THREADS), THREAD_FACTORY);
+  }
+
+  private FanOutExecutors() {
+  }
+}
@@ -0,0 +1,36 @@
+package ru.romangr.exceptional;
+
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.metrics.CaptureSite;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Emits Java Flight Recorder events about captured exceptions and slow suppliers. This
+ * implementation does nothing, Java 11+ runtimes use the version based on {@code jdk.jfr} from
+ * the multi-release part of the jar.
+ */
+@NonNullApi
+final class FlightRecorderHooks {
+
+  /**
+   * @return a handle to pass to {@link #supplierFinished(Object, Object)} or null if supplier
+   * timing isn't recorded.
+   */
+  @Nullable
+  static Object supplierStarted() {
+    return null;
+  }
+
+  static void supplierFinished(@Nullable Object timing, Object supplier) {
+  }
+
+  /**
+   * @param userCode supplier, mapper or consumer which threw the exception, the class defining it
+   *                 is recorded as the caller.
+   */
+  static void exceptionCaptured(CaptureSite site, Exception exception, Object userCode) {
+  }
+
+  private FlightRecorderHooks() {
+  }
+}
@@ -0,0 +1,182 @@
+package ru.romangr.exceptional;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalSupplier;
+
+/**
+ * Decides when a hedged attempt fires its backup call and how many backup calls are allowed. The
+ * delay is either fixed or derived from a percentile of recently observed latencies of the first
+ * calls. The budget limits backup calls to a share of all the attempts, so a slow dependency
+ * doesn't get twice the load exactly when it struggles.
+ * <p>
+ * A policy keeps its statistics between attempts and is meant to be shared by all the attempts
+ * calling the same dependency. Instances are thread-safe.
+ *
+ * @see Exceptional#hedged(ExceptionalSupplier, HedgePolicy, ExecutorService)
+ */
+@NonNullApi
+public final class HedgePolicy {
+
+  private static final long TOKEN = 1000;
+  private static final long MAX_TOKENS = 10 * TOKEN;
+  private static final int MIN_SAMPLES = 16;
+
+  private final long delayNanos;
+  private final double percentile;
+  private final long budgetPerAttempt;
+  private final AtomicLong tokens;
+  private final AtomicLongArray samples;
+  private final AtomicLong sampleCount = new AtomicLong();
+  private volatile long percentileDelayNanos;
+
+  /**
+   * Fire the backup call after a fixed delay on every attempt.
+   *
+   * @param delay to wait for the first call before firing the backup one.
+   * @return a new {@link HedgePolicy}.
+   */
+  public static HedgePolicy fixedDelay(Duration delay) {
+    return builder().delay(delay).budget(1).build();
+  }
+
+  /**
+   * @return a new builder of {@link HedgePolicy}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  long hedgeDelayNanos() {
+    if (percentile == 0 || sampleCount.get() < MIN_SAMPLES) {
+      return delayNanos;
+    }
+    return percentileDelayNanos;
+  }
+
+  void onAttempt() {
+    if (tokens.get() < MAX_TOKENS) {
+      tokens.getAndUpdate(current -> Math.min(current + budgetPerAttempt, MAX_TOKENS));
+    }
+  }
+
+  boolean tryAcquireHedge() {
+    long available = tokens.get();
+    while (available >= TOKEN) {
+      if (tokens.compareAndSet(available, available - TOKEN)) {
+        return true;
+      }
+      available = tokens.get();
+    }
+    return false;
+  }
+
+  void recordLatency(long nanos) {
+    if (percentile == 0) {
+      return;
+    }
+    long count = sampleCount.getAndIncrement();
+    samples.set((int) (count % samples.length()), nanos);
+    if (count + 1 >= MIN_SAMPLES && (count + 1) % MIN_SAMPLES == 0) {
+      percentileDelayNanos = computePercentile(Math.min(count + 1, samples.length()));
+    }
+  }
+
+  private long computePercentile(long filled) {
+    long[] sorted = new long[(int) filled];
+    for (int i = 0; i < sorted.length; i++) {
+      sorted[i] = samples.get(i);
+    }
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(index, 0)];
+  }
+
+  private HedgePolicy(Builder builder) {
+    this.delayNanos = builder.delayNanos;
+    this.percentile = builder.percentile;
+    this.budgetPerAttempt = Math.round(builder.budget * TOKEN);
+    this.tokens = new AtomicLong(budgetPerAttempt == 0 ? 0 : MAX_TOKENS);
+    this.samples = new AtomicLongArray(builder.percentile == 0 ? 1 : builder.sampleSize);
+    this.percentileDelayNanos = builder.delayNanos;
+  }
+
+  /**
+   * Builder of {@link HedgePolicy}. By default the backup call is fired after 100 milliseconds for
+   * at most 10% of the attempts.
+   */
+  public static final class Builder {
+
+    private long delayNanos = Duration.ofMillis(100).toNanos();
+    private double percentile;
+    private int sampleSize = 1024;
+    private double budget = 0.1;
+
+    private Builder() {
+    }
+
+    /**
+     * @param delay to wait for the first call before firing the backup one. With
+     *              {@link #percentile(double)} it's used until enough latencies are observed.
+     * @return this builder.
+     */
+    public Builder delay(Duration delay) {
+      if (delay.isNegative()) {
+        throw new IllegalArgumentException("delay must not be negative: " + delay);
+      }
+      this.delayNanos = delay.toNanos();
+      return this;
+    }
+
+    /**
+     * Derive the delay from the latencies of the first calls of recent attempts.
+     *
+     * @param percentile of the observed latencies to use as the delay, for instance 0.95.
+     * @return this builder.
+     */
+    public Builder percentile(double percentile) {
+      if (!(percentile > 0 && percentile <= 1)) {
+        throw new IllegalArgumentException("percentile must be in (0, 1]: " + percentile);
+      }
+      this.percentile = percentile;
+      return this;
+    }
+
+    /**
+     * @param sampleSize the number of the most recent latencies the percentile is computed from.
+     * @return this builder.
+     */
+    public Builder sampleSize(int sampleSize) {
+      if (sampleSize < MIN_SAMPLES) {
+        throw new IllegalArgumentException(
+            "sampleSize must be at least " + MIN_SAMPLES + ": " + sampleSize);
+      }
+      this.sampleSize = sampleSize;
+      return this;
+    }
+
+    /**
+     * @param budget the maximum share of attempts allowed to fire a backup call, from 0 to 1.
+     *               Short bursts of up to 10 backup calls over the share are allowed.
+     * @return this builder.
+     */
+    public Builder budget(double budget) {
+      if (!(budget >= 0 && budget <= 1)) {
+        throw new IllegalArgumentException("budget must be in [0, 1]: " + budget);
+      }
+      this.budget = budget;
+      return this;
+    }
+
+    /**
+     * @return a new {@link HedgePolicy}.
+     */
+    public HedgePolicy build() {
+      return new HedgePolicy(this);
+    }
+  }
+}
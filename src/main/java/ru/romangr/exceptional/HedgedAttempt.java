@@ -0,0 +1,91 @@
+package ru.romangr.exceptional;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalSupplier;
+import ru.romangr.exceptional.type.ExceptionalWrappedException;
+
+/**
+ * Calls a supplier and, if it doesn't complete within the delay of the policy, calls it once more
+ * in parallel. The first value wins and the other call is cancelled.
+ */
+@NonNullApi
+final class HedgedAttempt {
+
+  static <V> Exceptional<V> attempt(ExceptionalSupplier<V> supplier, HedgePolicy policy,
+                                    ExecutorService executor) {
+    policy.onAttempt();
+    CompletionService<Exceptional<V>> completion = new ExecutorCompletionService<>(executor);
+    Callable<Exceptional<V>> call = () -> Exceptional.getExceptional(supplier);
+    long start = System.nanoTime();
+    Future<Exceptional<V>> primary = completion.submit(call);
+    Future<Exceptional<V>> backup = null;
+    long primaryLatency = -1;
+    try {
+      Future<Exceptional<V>> done = completion.poll(policy.hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+      if (done == null) {
+        backup = submitBackup(completion, call, policy);
+        done = completion.take();
+      }
+      if (done == primary) {
+        primaryLatency = System.nanoTime() - start;
+      }
+      Exceptional<V> first = outcome(done);
+      if (!first.isException() || backup == null) {
+        return first;
+      }
+      Future<Exceptional<V>> other = completion.take();
+      if (other == primary) {
+        primaryLatency = System.nanoTime() - start;
+      }
+      Exceptional<V> second = outcome(other);
+      return second.isException() ? first : second;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Exceptional.exceptional(e);
+    } finally {
+      primary.cancel(true);
+      if (backup != null) {
+        backup.cancel(true);
+      }
+      policy.recordLatency(primaryLatency < 0 ? System.nanoTime() - start : primaryLatency);
+    }
+  }
+
+  @Nullable
+  private static <V> Future<Exceptional<V>> submitBackup(
+      CompletionService<Exceptional<V>> completion, Callable<Exceptional<V>> call,
+      HedgePolicy policy) {
+    if (!policy.tryAcquireHedge()) {
+      return null;
+    }
+    try {
+      return completion.submit(call);
+    } catch (RejectedExecutionException e) {
+      return null;
+    }
+  }
+
+  private static <V> Exceptional<V> outcome(Future<Exceptional<V>> future)
+      throws InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      return Exceptional.exceptional(new ExceptionalWrappedException(e.getCause()));
+    }
+  }
+
+  private HedgedAttempt() {
+  }
+}
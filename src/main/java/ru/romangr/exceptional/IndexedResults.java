@@ -0,0 +1,109 @@
+package ru.romangr.exceptional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ProcessingResult;
+
+/**
+ * Results of processing collection elements out of order. Keeps the position of the first (in the
+ * collection order) failed element, so the result is the same as the result of sequential
+ * processing and elements following a failed one can be skipped.
+ */
+@NonNullApi
+final class IndexedResults<E> {
+
+  private final Object[] results;
+  private final AtomicInteger firstFailedIndex;
+  private volatile boolean emptyRecorded;
+
+  IndexedResults(int size) {
+    this.results = new Object[size];
+    this.firstFailedIndex = new AtomicInteger(size);
+  }
+
+  /**
+   * @return true if an element preceding the one at the position has already failed.
+   */
+  boolean isAfterFailure(int index) {
+    return index > firstFailedIndex.get();
+  }
+
+  /**
+   * @return true if the result contains an exception.
+   */
+  boolean record(int index, Exceptional<E> result) {
+    if (result.isValuePresent()) {
+      results[index] = result.getValue();
+      return false;
+    }
+    if (result.isException()) {
+      results[index] = new Failure(result.getException());
+      registerFailure(index);
+      return true;
+    }
+    emptyRecorded = true;
+    return false;
+  }
+
+  /**
+   * Must be called once all the elements are processed or skipped.
+   */
+  @SuppressWarnings("unchecked")
+  ProcessingResult<E> toProcessingResult() {
+    int processed = firstFailedIndex.get();
+    int successCount = 0;
+    for (int i = 0; i < processed; i++) {
+      if (results[i] != null) {
+        successCount++;
+      }
+    }
+    List<E> successResults = new ArrayList<>(successCount);
+    for (int i = 0; i < processed; i++) {
+      if (results[i] != null) {
+        successResults.add((E) results[i]);
+      }
+    }
+    if (processed == results.length) {
+      return new ProcessingResult<>(successResults, null);
+    }
+    return new ProcessingResult<>(successResults, ((Failure) results[processed]).exception);
+  }
+
+  /**
+   * Must be called once all the elements are processed or skipped.
+   *
+   * @return the exception of the first failed element or, if no element failed, empty
+   * {@link Exceptional} if any element is empty or the values of all the elements otherwise.
+   */
+  @SuppressWarnings("unchecked")
+  Exceptional<List<E>> toTraversalResult() {
+    int firstFailed = firstFailedIndex.get();
+    if (firstFailed < results.length) {
+      return Exceptional.exceptional(((Failure) results[firstFailed]).exception);
+    }
+    if (emptyRecorded) {
+      return Exceptional.empty();
+    }
+    return Exceptional.exceptional(Collections.unmodifiableList((List<E>) Arrays.asList(results)));
+  }
+
+  private void registerFailure(int index) {
+    int current = firstFailedIndex.get();
+    while (index < current && !firstFailedIndex.compareAndSet(current, index)) {
+      current = firstFailedIndex.get();
+    }
+  }
+
+  private static final class Failure {
+
+    private final Exception exception;
+
+    private Failure(Exception exception) {
+      this.exception = exception;
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package ru.romangr.exceptional;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalConsumer;
+import ru.romangr.exceptional.type.ExceptionalFunction;
+import ru.romangr.exceptional.type.ExceptionalRunnable;
+import ru.romangr.exceptional.type.ExceptionalToDoubleFunction;
+import ru.romangr.exceptional.type.ExceptionalToIntFunction;
+import ru.romangr.exceptional.type.ExceptionalToLongFunction;
+
+/**
+ * {@link Exceptional} evaluated on the first call needing its state. The outcome is memoized
+ * exactly once: concurrent first calls are serialized, later calls read the published outcome
+ * without locking. Mapping methods return new lazy instances, so the whole chain is evaluated
+ * only when its result is used.
+ * <p>
+ * If a mapper which doesn't catch exceptions throws, the exception is thrown by the call that
+ * triggered the evaluation and nothing is memoized.
+ */
+@NonNullApi
+final class LazyExceptional<T> extends Exceptional<T> {
+
+  @Nullable
+  private Supplier<Exceptional<T>> supplier;
+
+  @Nullable
+  private volatile Exceptional<T> outcome;
+
+  LazyExceptional(Supplier<Exceptional<T>> supplier) {
+    this.supplier = supplier;
+  }
+
+  Exceptional<T> resolve() {
+    Exceptional<T> result = outcome;
+    if (result != null) {
+      return result;
+    }
+    synchronized (this) {
+      result = outcome;
+      if (result == null) {
+        result = supplier.get();
+        outcome = result;
+        supplier = null;
+      }
+      return result;
+    }
+  }
+
+  @Override
+  public <V> Exceptional<V> map(Function<? super T, V> mapper) {
+    return new LazyExceptional<>(() -> resolve().map(mapper));
+  }
+
+  @Override
+  public <V> Exceptional<V> safelyMap(ExceptionalFunction<? super T, V> mapper) {
+    return new LazyExceptional<>(() -> resolve().safelyMap(mapper));
+  }
+
+  @Override
+  public <V> Exceptional<V> flatMap(Function<? super T, Exceptional<V>> mapper) {
+    return new LazyExceptional<>(() -> resolve().flatMap(mapper));
+  }
+
+  @Override
+  public <V> Exceptional<V> safelyMapWithin(Deadline deadline,
+                                            ExceptionalFunction<? super T, V> mapper) {
+    return new LazyExceptional<>(() -> resolve().safelyMapWithin(deadline, mapper));
+  }
+
+  @Override
+  public <V> Exceptional<V> flatMapWithin(Deadline deadline,
+                                          Function<? super T, Exceptional<V>> mapper) {
+    return new LazyExceptional<>(() -> resolve().flatMapWithin(deadline, mapper));
+  }
+
+  @Override
+  public Exceptional<T> flatMapIfEmpty(Supplier<Exceptional<T>> supplier) {
+    return new LazyExceptional<>(() -> resolve().flatMapIfEmpty(supplier));
+  }
+
+  @Override
+  public Exceptional<T> resumeOnException(ExceptionalFunction<Exception, T> mapper) {
+    return new LazyExceptional<>(() -> resolve().resumeOnException(mapper));
+  }
+
+  @Override
+  public Exceptional<T> mapException(Function<Exception, Exception> mapper) {
+    return new LazyExceptional<>(() -> resolve().mapException(mapper));
+  }
+
+  @Override
+  public <E extends Exception> Exceptional<T> mapException(Class<E> clazz,
+                                                           Function<E, Exception> mapper) {
+    return new LazyExceptional<>(() -> resolve().mapException(clazz, mapper));
+  }
+
+  @Override
+  public ExceptionalInt mapToInt(ToIntFunction<? super T> mapper) {
+    return resolve().mapToInt(mapper);
+  }
+
+  @Override
+  public ExceptionalInt safelyMapToInt(ExceptionalToIntFunction<? super T> mapper) {
+    return resolve().safelyMapToInt(mapper);
+  }
+
+  @Override
+  public ExceptionalLong mapToLong(ToLongFunction<? super T> mapper) {
+    return resolve().mapToLong(mapper);
+  }
+
+  @Override
+  public ExceptionalLong safelyMapToLong(ExceptionalToLongFunction<? super T> mapper) {
+    return resolve().safelyMapToLong(mapper);
+  }
+
+  @Override
+  public ExceptionalDouble mapToDouble(ToDoubleFunction<? super T> mapper) {
+    return resolve().mapToDouble(mapper);
+  }
+
+  @Override
+  public ExceptionalDouble safelyMapToDouble(ExceptionalToDoubleFunction<? super T> mapper) {
+    return resolve().safelyMapToDouble(mapper);
+  }
+
+  @Override
+  public Exceptional<T> ifValue(Consumer<? super T> consumer) {
+    return resolve().ifValue(consumer);
+  }
+
+  @Override
+  public Exceptional<T> ifException(Consumer<Exception> consumer) {
+    return resolve().ifException(consumer);
+  }
+
+  @Override
+  public <E extends Exception> Exceptional<T> ifException(Class<E> clazz, Consumer<E> consumer) {
+    return resolve().ifException(clazz, consumer);
+  }
+
+  @Override
+  public Exceptional<T> ifEmpty(ExceptionalRunnable runnable) {
+    return resolve().ifEmpty(runnable);
+  }
+
+  @Override
+  public T getValue() {
+    return resolve().getValue();
+  }
+
+  @Override
+  public Exception getException() {
+    return resolve().getException();
+  }
+
+  @Override
+  public T getOrDefault(T defaultValue) {
+    return resolve().getOrDefault(defaultValue);
+  }
+
+  @Override
+  @Nullable
+  public T getOrNull() {
+    return resolve().getOrNull();
+  }
+
+  @Override
+  public Exceptional<T> handleException(ExceptionalConsumer<Exception> consumer) {
+    return resolve().handleException(consumer);
+  }
+
+  @Override
+  public <E extends Exception> Exceptional<T> handleException(Class<E> clazz,
+                                                              ExceptionalConsumer<E> consumer) {
+    return resolve().handleException(clazz, consumer);
+  }
+
+  @Override
+  public boolean isException() {
+    return resolve().isException();
+  }
+
+  @Override
+  public boolean isValuePresent() {
+    return resolve().isValuePresent();
+  }
+
+  @Override
+  public Stream<T> asStream() {
+    return resolve().asStream();
+  }
+
+  @Override
+  public Optional<T> asOptional() {
+    return resolve().asOptional();
+  }
+
+  @Override
+  public T getOrThrow() {
+    return resolve().getOrThrow();
+  }
+
+  @Override
+  @Nullable
+  public T getOrThrowRuntime() {
+    return resolve().getOrThrowRuntime();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return resolve().isEmpty();
+  }
+
+  @Override
+  @Nullable
+  Exception getExceptionOrNull() {
+    return resolve().getExceptionOrNull();
+  }
+}
@@ -0,0 +1,103 @@
+package ru.romangr.exceptional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ProcessingResult;
+
+/**
+ * Applies mapper to collection elements on a {@link ForkJoinPool}. The result is the same as the
+ * result of sequential processing: successful results preceding the first (in the collection
+ * order) failed element and the exception of that element. As soon as an element fails, workers
+ * stop processing the elements following it.
+ */
+@NonNullApi
+final class ParallelCollectionProcessor<C, E> {
+
+  static final int DEFAULT_PARALLELISM_THRESHOLD = 1024;
+
+  private static final int TASKS_PER_THREAD = 8;
+
+  private final List<C> elements;
+  private final Function<? super C, Exceptional<E>> mapper;
+  private final IndexedResults<E> results;
+  private final int leafSize;
+
+  static <C, E> Exceptional<ProcessingResult<E>> process(Collection<C> collection,
+                                                         Function<? super C, Exceptional<E>> mapper,
+                                                         ForkJoinPool pool,
+                                                         int parallelismThreshold) {
+    if (collection.size() < parallelismThreshold || collection.size() < 2) {
+      return Exceptional.processCollection(collection, mapper);
+    }
+    return Exceptional.exceptional(processAll(collection, mapper, pool).toProcessingResult());
+  }
+
+  static <C, E> Exceptional<List<E>> traverse(List<C> list,
+                                              Function<? super C, Exceptional<E>> mapper,
+                                              ForkJoinPool pool,
+                                              int parallelismThreshold) {
+    if (list.size() < parallelismThreshold || list.size() < 2) {
+      return Exceptionals.traverse(list, mapper);
+    }
+    return processAll(list, mapper, pool).toTraversalResult();
+  }
+
+  private static <C, E> IndexedResults<E> processAll(Collection<C> collection,
+                                                     Function<? super C, Exceptional<E>> mapper,
+                                                     ForkJoinPool pool) {
+    List<C> elements = collection instanceof List && collection instanceof RandomAccess
+        ? (List<C>) collection
+        : new ArrayList<>(collection);
+    ParallelCollectionProcessor<C, E> processor =
+        new ParallelCollectionProcessor<>(elements, mapper, pool.getParallelism());
+    pool.invoke(processor.new ProcessingTask(0, elements.size()));
+    return processor.results;
+  }
+
+  private ParallelCollectionProcessor(List<C> elements,
+                                      Function<? super C, Exceptional<E>> mapper,
+                                      int parallelism) {
+    this.elements = elements;
+    this.mapper = mapper;
+    this.results = new IndexedResults<>(elements.size());
+    this.leafSize = Math.max(1, elements.size() / (parallelism * TASKS_PER_THREAD));
+  }
+
+  private void processRange(int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (results.isAfterFailure(i) || results.record(i, mapper.apply(elements.get(i)))) {
+        return;
+      }
+    }
+  }
+
+  private final class ProcessingTask extends RecursiveAction {
+
+    private final int from;
+    private final int to;
+
+    private ProcessingTask(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (results.isAfterFailure(from)) {
+        return;
+      }
+      if (to - from <= leafSize) {
+        processRange(from, to);
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new ProcessingTask(from, middle), new ProcessingTask(middle, to));
+    }
+  }
+}
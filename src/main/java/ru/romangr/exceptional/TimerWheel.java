@@ -0,0 +1,210 @@
+package ru.romangr.exceptional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.DeadlineExceededException;
+
+/**
+ * Hashed timer wheel interrupting threads which run past their deadlines. A single daemon thread
+ * serves all the calls: scheduling a timeout is a queue offer and cancelling it is a CAS, so a
+ * bounded call costs no thread and no scheduled future of its own.
+ * <p>
+ * Timeouts are placed into buckets by their deadline tick. The wheel thread advances one bucket
+ * per tick and interrupts the threads of expired timeouts, a timeout more than one revolution
+ * away waits for its remaining rounds. When there are no timeouts the thread parks until the next
+ * one is scheduled.
+ */
+@NonNullApi
+final class TimerWheel {
+
+  private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final int WHEEL_SIZE = 512;
+  private static final int MASK = WHEEL_SIZE - 1;
+
+  private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+  private final List<List<Timeout>> buckets = new ArrayList<>(WHEEL_SIZE);
+  private final Thread worker;
+  private int size;
+
+  static TimerWheel shared() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Execute the call interrupting the current thread if it doesn't complete before the deadline.
+   *
+   * @return the result of the call or {@link Exceptional} with {@link DeadlineExceededException}
+   * if the deadline has passed before or during the call. Errors thrown by the call are rethrown
+   * regardless of the deadline.
+   */
+  <V> Exceptional<V> callWithin(Deadline deadline, Supplier<Exceptional<V>> call) {
+    if (deadline.isExpired()) {
+      return exceeded(deadline);
+    }
+    Timeout timeout = schedule(Thread.currentThread(), deadline.nanoTime());
+    Exceptional<V> result;
+    try {
+      result = call.get();
+    } catch (RuntimeException e) {
+      if (timeout.cancel()) {
+        throw e;
+      }
+      return exceeded(deadline);
+    } catch (Error e) {
+      timeout.cancel();
+      throw e;
+    }
+    if (timeout.cancel()) {
+      return result;
+    }
+    return exceeded(deadline);
+  }
+
+  Timeout schedule(Thread thread, long deadlineNanos) {
+    Timeout timeout = new Timeout(thread, deadlineNanos);
+    scheduled.offer(timeout);
+    LockSupport.unpark(worker);
+    return timeout;
+  }
+
+  private static <V> Exceptional<V> exceeded(Deadline deadline) {
+    return Exceptional.exceptional(new DeadlineExceededException(
+        "Deadline exceeded by " + TimeUnit.NANOSECONDS.toMillis(-deadline.remainingNanos())
+            + " ms"));
+  }
+
+  private void run() {
+    long start = System.nanoTime();
+    long tick = 0;
+    while (true) {
+      if (size == 0 && scheduled.isEmpty()) {
+        LockSupport.park(this);
+        start = System.nanoTime();
+        tick = 0;
+        continue;
+      }
+      long tickEnd = start + (tick + 1) * TICK_NANOS;
+      long sleep = tickEnd - System.nanoTime();
+      if (sleep > 0) {
+        LockSupport.parkNanos(this, sleep);
+        continue;
+      }
+      transferScheduled(start, tick);
+      expire(buckets.get((int) (tick & MASK)), System.nanoTime());
+      tick++;
+    }
+  }
+
+  private void transferScheduled(long start, long tick) {
+    Timeout timeout;
+    while ((timeout = scheduled.poll()) != null) {
+      if (timeout.isCancelled()) {
+        continue;
+      }
+      long deadlineTick = Math.max((timeout.deadlineNanos - start) / TICK_NANOS, tick);
+      timeout.remainingRounds = (deadlineTick - tick) / WHEEL_SIZE;
+      buckets.get((int) (deadlineTick & MASK)).add(timeout);
+      size++;
+    }
+  }
+
+  private void expire(List<Timeout> bucket, long now) {
+    Iterator<Timeout> iterator = bucket.iterator();
+    while (iterator.hasNext()) {
+      Timeout timeout = iterator.next();
+      if (timeout.isCancelled()) {
+        iterator.remove();
+        size--;
+      } else if (timeout.remainingRounds > 0) {
+        timeout.remainingRounds--;
+      } else if (timeout.deadlineNanos - now <= 0) {
+        iterator.remove();
+        size--;
+        timeout.expire();
+      }
+    }
+  }
+
+  private TimerWheel() {
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      buckets.add(new ArrayList<>());
+    }
+    this.worker = new Thread(this::run, "exceptional-timer");
+    worker.setDaemon(true);
+  }
+
+  private static final class Holder {
+
+    private static final TimerWheel INSTANCE = new TimerWheel();
+
+    static {
+      INSTANCE.worker.start();
+    }
+  }
+
+  /**
+   * Timeout of a single call. The calling thread and the wheel thread race to move it out of the
+   * pending state: the caller by cancelling it, the wheel by expiring it.
+   */
+  static final class Timeout {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRING = 2;
+    private static final int EXPIRED = 3;
+
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+        AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final Thread thread;
+    private final long deadlineNanos;
+    private long remainingRounds;
+    private boolean interruptedBeforeExpiration;
+    private volatile int state;
+
+    private Timeout(Thread thread, long deadlineNanos) {
+      this.thread = thread;
+      this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Must be called by the thread the timeout was scheduled for.
+     *
+     * @return true if the timeout is cancelled before expiration, false if it has expired. In the
+     * latter case the interruption caused by the expiration is cleared, unless the thread had
+     * already been interrupted when the timeout expired.
+     */
+    boolean cancel() {
+      if (STATE.compareAndSet(this, PENDING, CANCELLED)) {
+        return true;
+      }
+      while (state != EXPIRED) {
+        Thread.yield();
+      }
+      if (!interruptedBeforeExpiration) {
+        Thread.interrupted();
+      }
+      return false;
+    }
+
+    private boolean isCancelled() {
+      return state == CANCELLED;
+    }
+
+    private void expire() {
+      if (STATE.compareAndSet(this, PENDING, EXPIRING)) {
+        interruptedBeforeExpiration = thread.isInterrupted();
+        thread.interrupt();
+        state = EXPIRED;
+      }
+    }
+  }
+}
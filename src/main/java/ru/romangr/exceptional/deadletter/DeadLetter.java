@@ -0,0 +1,47 @@
+package ru.romangr.exceptional.deadletter;
+
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Failed element read from a {@link DeadLetterLog} with the class name and the message of its
+ * exception.
+ *
+ * @param <C> type of the element.
+ */
+@NonNullApi
+public final class DeadLetter<C> {
+
+  private final C element;
+  private final String exceptionClass;
+  @Nullable
+  private final String message;
+
+  DeadLetter(C element, String exceptionClass, @Nullable String message) {
+    this.element = element;
+    this.exceptionClass = exceptionClass;
+    this.message = message;
+  }
+
+  /**
+   * @return the failed element.
+   */
+  public C element() {
+    return element;
+  }
+
+  /**
+   * @return fully qualified class name of the exception.
+   */
+  public String exceptionClass() {
+    return exceptionClass;
+  }
+
+  /**
+   * @return message of the exception or null if it had none.
+   */
+  @Nullable
+  public String message() {
+    return message;
+  }
+}
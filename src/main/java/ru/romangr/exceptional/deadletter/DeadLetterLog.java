@@ -0,0 +1,457 @@
+package ru.romangr.exceptional.deadletter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.Exceptional;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ColumnarProcessingResult;
+
+/**
+ * Append-only log of failed elements stored in memory-mapped segment files in a directory. Every
+ * record holds the serialized element and the class name and the message of its exception.
+ * <p>
+ * A writer claims the space for its record by advancing the position of the current segment
+ * atomically and fills it in without waiting for other writers. The writer whose record crosses
+ * the end of the segment creates the next one and forces the full one to the disk after that;
+ * writers racing with it block until the new segment appears, which is the only case an append
+ * waits for others. If the next segment can't be created, the writers waiting for it fail and the
+ * next append tries again.
+ * <p>
+ * Readers see the records of a segment up to its committed offset. Every writer advances it over
+ * the written records following it without gaps, so readers never see partially written records,
+ * a record becomes visible once the records preceding it are written and records being appended
+ * concurrently with reading may be missed. If the process stops while a record is being
+ * written, the records following it in the segment are discarded when the log is opened again.
+ * <p>
+ * Records are written to the mapped memory and reach the disk when the OS flushes it, call
+ * {@link #flush()} to force that. Segments stay mapped while the log is in use and are read
+ * through the same mappings every time.
+ *
+ * @param <C> type of the elements.
+ */
+@NonNullApi
+public final class DeadLetterLog<C> implements FailureSink<C>, Closeable {
+
+  public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+  private static final int MAX_SEGMENT_SIZE = 1 << 30;
+  private static final int LENGTH_SIZE = Integer.BYTES;
+  private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{16})\\.log");
+
+  private final Path directory;
+  private final ElementSerializer<C> serializer;
+  private final int segmentSize;
+  private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+  private volatile Segment current;
+  private volatile boolean closed;
+
+  private DeadLetterLog(Path directory, ElementSerializer<C> serializer, int segmentSize)
+      throws IOException {
+    this.directory = directory;
+    this.serializer = serializer;
+    this.segmentSize = segmentSize;
+    Files.createDirectories(directory);
+    List<Long> indices = segmentIndices();
+    for (int i = 0; i < indices.size() - 1; i++) {
+      segments.add(Segment.openReadOnly(segmentPath(indices.get(i)), indices.get(i)));
+    }
+    this.current = indices.isEmpty()
+        ? Segment.create(segmentPath(0), 0, segmentSize)
+        : Segment.open(segmentPath(indices.get(indices.size() - 1)),
+            indices.get(indices.size() - 1));
+    segments.add(current);
+  }
+
+  /**
+   * Open the log in the directory with segments of {@link #DEFAULT_SEGMENT_SIZE} bytes, creating
+   * the directory if it doesn't exist. Records appended to the log before are kept.
+   *
+   * @param directory  to store segments in.
+   * @param serializer of elements.
+   * @param <C>        type of the elements.
+   * @return the opened log.
+   * @throws IOException if the directory or a segment can't be opened.
+   */
+  public static <C> DeadLetterLog<C> open(Path directory, ElementSerializer<C> serializer)
+      throws IOException {
+    return open(directory, serializer, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Open the log in the directory, creating the directory if it doesn't exist. Records appended to
+   * the log before are kept.
+   *
+   * @param directory   to store segments in.
+   * @param serializer  of elements.
+   * @param segmentSize size of new segment files in bytes, which limits the size of a record.
+   * @param <C>         type of the elements.
+   * @return the opened log.
+   * @throws IOException              if the directory or a segment can't be opened.
+   * @throws IllegalArgumentException if segmentSize is not positive or exceeds 1 GiB.
+   */
+  public static <C> DeadLetterLog<C> open(Path directory, ElementSerializer<C> serializer,
+                                          int segmentSize) throws IOException {
+    if (segmentSize <= 0 || segmentSize > MAX_SEGMENT_SIZE) {
+      throw new IllegalArgumentException("segmentSize must be in (0, 1 GiB]: " + segmentSize);
+    }
+    return new DeadLetterLog<>(directory, serializer, segmentSize);
+  }
+
+  /**
+   * Append the element with the class name and the message of its exception.
+   *
+   * @param element   processing of which failed.
+   * @param exception of the element.
+   * @throws IOException if the log is closed, the record doesn't fit into a segment or a new
+   *                     segment can't be created.
+   */
+  @Override
+  public void accept(C element, Exception exception) throws IOException {
+    if (closed) {
+      throw new IOException("Dead letter log is closed");
+    }
+    byte[] record = encode(element, exception);
+    int length = LENGTH_SIZE + record.length;
+    if (length > segmentSize) {
+      throw new IOException("Record of " + length + " bytes exceeds segment size " + segmentSize);
+    }
+    while (true) {
+      Segment segment = current;
+      long offset = segment.position.getAndAdd(length);
+      if (offset + length <= segment.capacity) {
+        segment.write((int) offset, record);
+        return;
+      }
+      roll(segment);
+    }
+  }
+
+  /**
+   * Wrap the mapper to append elements it returns {@link Exceptional} with exception for. If the
+   * element can't be appended, the {@link IOException} is added to the suppressed exceptions of
+   * the element exception.
+   *
+   * @param mapper to wrap.
+   * @param <E>    type of the values.
+   * @return mapper returning the same results as the wrapped one.
+   */
+  public <E> Function<C, Exceptional<E>> recording(Function<? super C, Exceptional<E>> mapper) {
+    return element -> {
+      Exceptional<E> result = mapper.apply(element);
+      if (result.isException()) {
+        Exception exception = result.getException();
+        try {
+          accept(element, exception);
+        } catch (IOException e) {
+          exception.addSuppressed(e);
+        }
+      }
+      return result;
+    };
+  }
+
+  /**
+   * Apply the mapper to every element in the log in the order of appending, like
+   * {@link Exceptional#processAll} does. Elements which can't be deserialized are represented by
+   * exceptions of the serializer. Elements appended by the mapper itself are not replayed.
+   *
+   * @param mapper to apply to the elements.
+   * @param <E>    type of the values.
+   * @return an instance of {@link Exceptional} with {@link ColumnarProcessingResult} containing
+   * the results of all the elements or with {@link IOException} if a segment can't be read.
+   */
+  public <E> Exceptional<ColumnarProcessingResult<E>> replay(
+      Function<? super C, Exceptional<E>> mapper) {
+    return Exceptional.getExceptional(() -> {
+      List<ByteBuffer> records = readRecords();
+      ColumnarProcessingResult.Builder<E> builder =
+          new ColumnarProcessingResult.Builder<>(records.size());
+      for (ByteBuffer record : records) {
+        builder.add(Exceptional.getExceptional(() -> decodeElement(record))
+            .flatMap(mapper::apply));
+      }
+      return builder.build();
+    });
+  }
+
+  /**
+   * @return an instance of {@link Exceptional} with all the records in the order of appending or
+   * with exception if a segment can't be read or an element can't be deserialized.
+   */
+  public Exceptional<List<DeadLetter<C>>> letters() {
+    return Exceptional.getExceptional(() -> {
+      List<ByteBuffer> records = readRecords();
+      List<DeadLetter<C>> letters = new ArrayList<>(records.size());
+      for (ByteBuffer record : records) {
+        C element = decodeElement(record);
+        String exceptionClass = readString(record);
+        String message = record.get() == 0 ? null : readString(record);
+        letters.add(new DeadLetter<>(element, exceptionClass, message));
+      }
+      return letters;
+    });
+  }
+
+  /**
+   * Force the records of the current segment to the disk. Previous segments are forced when the
+   * log rolls over them.
+   */
+  public void flush() {
+    current.buffer.force();
+  }
+
+  /**
+   * Flush the log and reject further appends.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    flush();
+  }
+
+  /**
+   * Create the segment following the full one unless another writer is already doing that, in
+   * which case wait for it and fail if it fails.
+   */
+  private void roll(Segment segment) throws IOException {
+    if (segment.rolling.compareAndSet(false, true)) {
+      boolean rolled = false;
+      try {
+        if (current == segment) {
+          Segment next = Segment.create(segmentPath(segment.index + 1), segment.index + 1,
+              segmentSize);
+          segments.add(next);
+          current = next;
+          rolled = true;
+        }
+      } catch (IOException e) {
+        segment.rollFailure = e;
+        throw e;
+      } finally {
+        segment.rolling.set(false);
+      }
+      if (rolled) {
+        segment.buffer.force();
+      }
+      return;
+    }
+    while (segment.rolling.get()) {
+      Thread.yield();
+    }
+    IOException failure = segment.rollFailure;
+    if (current == segment && failure != null) {
+      throw new IOException("Dead letter log can't roll to the next segment", failure);
+    }
+  }
+
+  private byte[] encode(C element, Exception exception) throws IOException {
+    byte[] elementBytes = serializer.serialize(element);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(elementBytes.length + 128);
+    DataOutputStream output = new DataOutputStream(bytes);
+    output.writeInt(elementBytes.length);
+    output.write(elementBytes);
+    writeString(output, exception.getClass().getName());
+    String message = exception.getMessage();
+    output.writeBoolean(message != null);
+    if (message != null) {
+      writeString(output, message);
+    }
+    return bytes.toByteArray();
+  }
+
+  private C decodeElement(ByteBuffer record) throws IOException {
+    byte[] element = new byte[record.getInt()];
+    record.get(element);
+    return serializer.deserialize(element);
+  }
+
+  private static void writeString(DataOutputStream output, String string) throws IOException {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static String readString(ByteBuffer record) {
+    byte[] bytes = new byte[record.getInt()];
+    record.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private List<ByteBuffer> readRecords() throws IOException {
+    List<ByteBuffer> records = new ArrayList<>();
+    for (Segment segment : segments) {
+      Segment.readRecords(segment.buffer.duplicate(), segment.committed.get(), records);
+    }
+    return records;
+  }
+
+  private List<Long> segmentIndices() throws IOException {
+    List<Long> indices = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files.forEach(file -> {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        if (matcher.matches()) {
+          indices.add(Long.parseLong(matcher.group(1)));
+        }
+      });
+    }
+    indices.sort(null);
+    return indices;
+  }
+
+  private Path segmentPath(long index) {
+    return directory.resolve(String.format("segment-%016d.log", index));
+  }
+
+  /**
+   * Mapped segment file. Records are laid out one after another as the record length followed by
+   * the record, zero length marks the end of the written records.
+   */
+  private static final class Segment {
+
+    private final long index;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final AtomicLong position;
+    private final AtomicBoolean rolling = new AtomicBoolean();
+    /**
+     * End of the records visible to readers. It's advanced only over written records, so reading
+     * it publishes the records preceding it.
+     */
+    private final AtomicInteger committed;
+    /**
+     * Ends of the written records which the committed offset hasn't reached yet by their offsets.
+     */
+    private final ConcurrentMap<Integer, Integer> written = new ConcurrentHashMap<>();
+    /**
+     * Failure of the last attempt to create the next segment, reported to the writers waiting for
+     * that attempt.
+     */
+    @Nullable
+    private volatile IOException rollFailure;
+
+    private Segment(long index, MappedByteBuffer buffer, int position) {
+      this.index = index;
+      this.buffer = buffer;
+      this.capacity = buffer.capacity();
+      this.position = new AtomicLong(position);
+      this.committed = new AtomicInteger(position);
+    }
+
+    static Segment create(Path path, long index, int size) throws IOException {
+      return new Segment(index, map(path, FileChannel.MapMode.READ_WRITE, size), 0);
+    }
+
+    static Segment openReadOnly(Path path, long index) throws IOException {
+      MappedByteBuffer buffer = map(path, FileChannel.MapMode.READ_ONLY, -1);
+      return new Segment(index, buffer, readRecords(buffer, buffer.capacity(), null));
+    }
+
+    static Segment open(Path path, long index) throws IOException {
+      MappedByteBuffer buffer = map(path, FileChannel.MapMode.READ_WRITE, -1);
+      int end = readRecords(buffer, buffer.capacity(), null);
+      truncate(buffer, end);
+      return new Segment(index, buffer, end);
+    }
+
+    /**
+     * Zero everything following the end of the records, so records written after an unfinished
+     * one are not mistaken for the records appended over them.
+     */
+    private static void truncate(MappedByteBuffer buffer, int end) {
+      int offset = end;
+      for (; offset + Long.BYTES <= buffer.capacity(); offset += Long.BYTES) {
+        if (buffer.getLong(offset) != 0) {
+          buffer.putLong(offset, 0);
+        }
+      }
+      for (; offset < buffer.capacity(); offset++) {
+        buffer.put(offset, (byte) 0);
+      }
+    }
+
+    /**
+     * @param size of the mapping or -1 to map the whole existing file.
+     */
+    static MappedByteBuffer map(Path path, FileChannel.MapMode mode, int size) throws IOException {
+      StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+          ? new StandardOpenOption[]{StandardOpenOption.READ}
+          : new StandardOpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.READ,
+              StandardOpenOption.WRITE};
+      try (FileChannel channel = FileChannel.open(path, options)) {
+        long mappedSize = size < 0 ? channel.size() : size;
+        if (mappedSize > MAX_SEGMENT_SIZE) {
+          throw new IOException("Segment " + path + " exceeds 1 GiB");
+        }
+        return channel.map(mode, 0, mappedSize);
+      }
+    }
+
+    /**
+     * @param records to add views of the records to, or null to only find their end.
+     * @return position following the last record.
+     */
+    static int readRecords(ByteBuffer segment, int limit, @Nullable List<ByteBuffer> records)
+        throws IOException {
+      int offset = 0;
+      while (offset + LENGTH_SIZE <= limit) {
+        int length = segment.getInt(offset);
+        if (length == 0) {
+          break;
+        }
+        int recordStart = offset + LENGTH_SIZE;
+        if (length < 0 || recordStart + length > limit) {
+          throw new IOException("Corrupted record at offset " + offset);
+        }
+        if (records != null) {
+          ByteBuffer record = segment.duplicate();
+          record.limit(recordStart + length).position(recordStart);
+          records.add(record.slice());
+        }
+        offset = recordStart + length;
+      }
+      return offset;
+    }
+
+    void write(int offset, byte[] record) {
+      ByteBuffer target = buffer.duplicate();
+      target.position(offset + LENGTH_SIZE);
+      target.put(record);
+      buffer.putInt(offset, record.length);
+      written.put(offset, offset + LENGTH_SIZE + record.length);
+      while (true) {
+        int start = committed.get();
+        Integer end = written.get(start);
+        if (end == null) {
+          return;
+        }
+        if (committed.compareAndSet(start, end)) {
+          written.remove(start);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package ru.romangr.exceptional.deadletter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Converts elements to bytes stored in a {@link DeadLetterLog} and back.
+ *
+ * @param <C> type of the elements.
+ */
+@NonNullApi
+public interface ElementSerializer<C> {
+
+  byte[] serialize(C element) throws IOException;
+
+  C deserialize(byte[] bytes) throws IOException;
+
+  /**
+   * @return serializer of strings in UTF-8.
+   */
+  static ElementSerializer<String> strings() {
+    return new ElementSerializer<String>() {
+      @Override
+      public byte[] serialize(String element) {
+        return element.getBytes(StandardCharsets.UTF_8);
+      }
+
+      @Override
+      public String deserialize(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+      }
+    };
+  }
+}
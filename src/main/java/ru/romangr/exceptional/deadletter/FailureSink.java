@@ -0,0 +1,16 @@
+package ru.romangr.exceptional.deadletter;
+
+import java.io.IOException;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Receives elements processing of which failed together with their exceptions.
+ *
+ * @param <C> type of the elements.
+ */
+@NonNullApi
+@FunctionalInterface
+public interface FailureSink<C> {
+
+  void accept(C element, Exception exception) throws IOException;
+}
@@ -0,0 +1,30 @@
+package ru.romangr.exceptional.metrics;
+
+/**
+ * Place in {@link ru.romangr.exceptional.Exceptional} or in one of its primitive specializations
+ * where an outcome of user code is captured.
+ */
+public enum CaptureSite {
+  /**
+   * Supplier called by {@code getExceptional} or {@code attempt}.
+   */
+  GET_EXCEPTIONAL,
+  /**
+   * Mapper called by {@code safelyMap} or by one of its primitive variants such as
+   * {@code safelyMapToInt} and {@code safelyMapToObj}.
+   */
+  SAFELY_MAP,
+  /**
+   * Consumer or runnable called by {@code ifValue}, {@code ifException}, {@code ifEmpty} or
+   * {@code handleException}.
+   */
+  EXECUTE_SAFELY,
+  /**
+   * Result of mapper for an element processed by {@code processCollection}.
+   */
+  PROCESS_COLLECTION,
+  /**
+   * Mapper called by {@code resumeOnException}.
+   */
+  RESUME_ON_EXCEPTION
+}
@@ -0,0 +1,40 @@
+package ru.romangr.exceptional.metrics;
+
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Receives outcomes captured by {@link ru.romangr.exceptional.Exceptional} and its primitive
+ * specializations. Methods are called on the thread which captured the outcome, so implementations
+ * must be thread-safe, fast and must not throw.
+ *
+ * @see ExceptionalMetrics#install(ExceptionalListener)
+ */
+@NonNullApi
+public interface ExceptionalListener {
+
+  /**
+   * Called when user code completes with a value or, if it returns nothing, completes normally.
+   *
+   * @param site where the outcome is captured.
+   */
+  default void onValue(CaptureSite site) {
+  }
+
+  /**
+   * Called when user code completes with null.
+   *
+   * @param site where the outcome is captured.
+   */
+  default void onEmpty(CaptureSite site) {
+  }
+
+  /**
+   * Called when user code throws an exception or returns {@link ru.romangr.exceptional.Exceptional}
+   * with exception.
+   *
+   * @param site      where the outcome is captured.
+   * @param exception captured.
+   */
+  default void onFailure(CaptureSite site, Exception exception) {
+  }
+}
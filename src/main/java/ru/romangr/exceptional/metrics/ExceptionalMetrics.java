@@ -0,0 +1,43 @@
+package ru.romangr.exceptional.metrics;
+
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Holds the {@link ExceptionalListener} notified about the outcomes captured by
+ * {@link ru.romangr.exceptional.Exceptional}. No listener is installed by default, then capturing
+ * an outcome costs a single read of a volatile field.
+ */
+@NonNullApi
+public final class ExceptionalMetrics {
+
+  @Nullable
+  private static volatile ExceptionalListener listener;
+
+  /**
+   * Install the listener replacing the current one.
+   *
+   * @param listener to notify about captured outcomes.
+   */
+  public static void install(ExceptionalListener listener) {
+    ExceptionalMetrics.listener = listener;
+  }
+
+  /**
+   * Remove the current listener, if any.
+   */
+  public static void uninstall() {
+    listener = null;
+  }
+
+  /**
+   * @return the installed listener or null if there is none.
+   */
+  @Nullable
+  public static ExceptionalListener listener() {
+    return listener;
+  }
+
+  private ExceptionalMetrics() {
+  }
+}
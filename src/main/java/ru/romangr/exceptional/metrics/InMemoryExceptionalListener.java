@@ -0,0 +1,134 @@
+package ru.romangr.exceptional.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Counts captured outcomes in memory, per capture site and per exception class. Counters are
+ * striped, so concurrent updates don't contend, and the counters of an exception class are looked
+ * up in a concurrent map owned by the listener without locking once the class has been seen.
+ */
+@NonNullApi
+public final class InMemoryExceptionalListener implements ExceptionalListener {
+
+  private static final CaptureSite[] SITES = CaptureSite.values();
+
+  private final LongAdder[] values = newCounters();
+  private final LongAdder[] empties = newCounters();
+  private final ConcurrentMap<Class<?>, LongAdder[]> failures = new ConcurrentHashMap<>();
+
+  @Override
+  public void onValue(CaptureSite site) {
+    values[site.ordinal()].increment();
+  }
+
+  @Override
+  public void onEmpty(CaptureSite site) {
+    empties[site.ordinal()].increment();
+  }
+
+  @Override
+  public void onFailure(CaptureSite site, Exception exception) {
+    Class<?> type = exception.getClass();
+    LongAdder[] counters = failures.get(type);
+    if (counters == null) {
+      counters = failures.computeIfAbsent(type, ignored -> newCounters());
+    }
+    counters[site.ordinal()].increment();
+  }
+
+  /**
+   * @return the counts collected so far.
+   */
+  public Snapshot snapshot() {
+    return new Snapshot(this);
+  }
+
+  private static LongAdder[] newCounters() {
+    LongAdder[] counters = new LongAdder[SITES.length];
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] = new LongAdder();
+    }
+    return counters;
+  }
+
+  /**
+   * Immutable copy of the counts of {@link InMemoryExceptionalListener}.
+   */
+  public static final class Snapshot {
+
+    private final long[] values = new long[SITES.length];
+    private final long[] empties = new long[SITES.length];
+    private final Map<CaptureSite, Map<Class<? extends Exception>, Long>> failures =
+        new EnumMap<>(CaptureSite.class);
+
+    @SuppressWarnings("unchecked")
+    private Snapshot(InMemoryExceptionalListener listener) {
+      for (CaptureSite site : SITES) {
+        int index = site.ordinal();
+        values[index] = listener.values[index].sum();
+        empties[index] = listener.empties[index].sum();
+        Map<Class<? extends Exception>, Long> siteFailures = new HashMap<>();
+        listener.failures.forEach((type, counters) -> {
+          long count = counters[index].sum();
+          if (count > 0) {
+            siteFailures.put((Class<? extends Exception>) type, count);
+          }
+        });
+        failures.put(site, Collections.unmodifiableMap(siteFailures));
+      }
+    }
+
+    /**
+     * @param site of the outcomes.
+     * @return the number of values captured at the site.
+     */
+    public long valueCount(CaptureSite site) {
+      return values[site.ordinal()];
+    }
+
+    /**
+     * @param site of the outcomes.
+     * @return the number of nulls captured at the site.
+     */
+    public long emptyCount(CaptureSite site) {
+      return empties[site.ordinal()];
+    }
+
+    /**
+     * @param site of the outcomes.
+     * @return the number of exceptions of all classes captured at the site.
+     */
+    public long failureCount(CaptureSite site) {
+      long count = 0;
+      for (long classCount : failures.get(site).values()) {
+        count += classCount;
+      }
+      return count;
+    }
+
+    /**
+     * @param site  of the outcomes.
+     * @param clazz exact class of the exceptions.
+     * @return the number of exceptions of the class captured at the site.
+     */
+    public long failureCount(CaptureSite site, Class<? extends Exception> clazz) {
+      return failures.get(site).getOrDefault(clazz, 0L);
+    }
+
+    /**
+     * @param site of the outcomes.
+     * @return unmodifiable map of exact exception classes to the numbers of their exceptions
+     * captured at the site.
+     */
+    public Map<Class<? extends Exception>, Long> failureCounts(CaptureSite site) {
+      return failures.get(site);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package ru.romangr.exceptional.type;
+
+import java.util.Locale;
+import javax.annotation.Nullable;
+
+/**
+ * Defines how much of the stack trace a {@link LightweightException} records when it is created.
+ * Filling in the stack trace usually dominates the cost of an exception, while for expected
+ * failures (bad input, not found) nobody ever looks at it.
+ * <p>
+ * The global mode is configured with the {@value #MODE_PROPERTY} system property ({@code full},
+ * {@code stackless} or {@code top_frames}) and the number of frames recorded in
+ * {@link #TOP_FRAMES} mode with the {@value #DEPTH_PROPERTY} system property.
+ */
+public enum CaptureMode {
+
+  /**
+   * The whole stack trace is recorded, as for any other exception.
+   */
+  FULL,
+
+  /**
+   * No stack trace is recorded.
+   */
+  STACKLESS,
+
+  /**
+   * Only the top frames of the stack are recorded.
+   */
+  TOP_FRAMES;
+
+  public static final String MODE_PROPERTY = "ru.romangr.exceptional.captureMode";
+  public static final String DEPTH_PROPERTY = "ru.romangr.exceptional.captureDepth";
+
+  private static final int DEFAULT_DEPTH = 8;
+
+  private static final CaptureMode GLOBAL_MODE = parse(System.getProperty(MODE_PROPERTY));
+  private static final int TOP_FRAMES_DEPTH =
+      Math.max(1, Integer.getInteger(DEPTH_PROPERTY, DEFAULT_DEPTH));
+
+  /**
+   * @return the mode configured with {@value #MODE_PROPERTY} system property or {@link #FULL} if
+   * it's not set.
+   */
+  public static CaptureMode global() {
+    return GLOBAL_MODE;
+  }
+
+  /**
+   * @return the number of frames recorded in {@link #TOP_FRAMES} mode.
+   */
+  public static int topFramesDepth() {
+    return TOP_FRAMES_DEPTH;
+  }
+
+  static CaptureMode parse(@Nullable String mode) {
+    if (mode == null) {
+      return FULL;
+    }
+    String name = mode.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+    for (CaptureMode value : values()) {
+      if (value.name().equals(name)) {
+        return value;
+      }
+    }
+    return FULL;
+  }
+}
@@ -0,0 +1,17 @@
+package ru.romangr.exceptional.type;
+
+/**
+ * Represents a call rejected by an open circuit breaker. Rejections happen in bulk exactly when a
+ * dependency is down, so the exception doesn't record a stack trace and a single instance is
+ * reused for all the rejections of a breaker. The shared instance doesn't record suppressed
+ * exceptions.
+ */
+public final class CircuitBreakerOpenException extends LightweightException {
+
+  /**
+   * @param message the detail message.
+   */
+  public CircuitBreakerOpenException(String message) {
+    super(message, null, CaptureMode.STACKLESS, false);
+  }
+}
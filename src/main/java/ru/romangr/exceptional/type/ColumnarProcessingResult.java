@@ -0,0 +1,295 @@
+package ru.romangr.exceptional.type;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+import ru.romangr.exceptional.Exceptional;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Result of processing every element of a collection regardless of failures. Successful values
+ * are stored in a dense array indexed by element position, failures are stored in two sparse
+ * columns: sorted positions of failed elements and their exceptions. No per-element objects are
+ * kept.
+ *
+ * @param <T> type of the successful values.
+ */
+@NonNullApi
+public final class ColumnarProcessingResult<T> {
+
+  private static final int[] NO_INDICES = new int[0];
+  private static final Exception[] NO_EXCEPTIONS = new Exception[0];
+
+  private final Object[] values;
+  private final int size;
+  private final int successCount;
+  private final int[] failureIndices;
+  private final Exception[] failures;
+  private final int failureCount;
+
+  private ColumnarProcessingResult(Builder<T> builder) {
+    this.values = builder.values;
+    this.size = builder.size;
+    this.successCount = builder.successCount;
+    this.failureIndices = builder.failureIndices;
+    this.failures = builder.failures;
+    this.failureCount = builder.failureCount;
+  }
+
+  /**
+   * @return the number of processed elements.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the number of elements processed to a value.
+   */
+  public int successCount() {
+    return successCount;
+  }
+
+  /**
+   * @return the number of elements processing of which failed.
+   */
+  public int failureCount() {
+    return failureCount;
+  }
+
+  /**
+   * @return true if processing of any element failed.
+   */
+  public boolean hasFailures() {
+    return failureCount > 0;
+  }
+
+  /**
+   * Get the result of processing the element at the position.
+   *
+   * @param index position of the element in the processed collection.
+   * @return an instance of {@link Exceptional} with value or exception or in empty state.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   */
+  @SuppressWarnings("unchecked")
+  public Exceptional<T> get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+    if (values[index] != null) {
+      return Exceptional.exceptional((T) values[index]);
+    }
+    int failure = Arrays.binarySearch(failureIndices, 0, failureCount, index);
+    if (failure >= 0) {
+      return Exceptional.exceptional(failures[failure]);
+    }
+    return Exceptional.empty();
+  }
+
+  /**
+   * @return unmodifiable list of successful values in the collection order.
+   */
+  @SuppressWarnings("unchecked")
+  public List<T> successResults() {
+    if (successCount == size) {
+      return Collections.unmodifiableList(
+          (List<T>) Arrays.asList(values).subList(0, size));
+    }
+    Object[] successes = new Object[successCount];
+    int next = 0;
+    for (int i = 0; i < size; i++) {
+      if (values[i] != null) {
+        successes[next++] = values[i];
+      }
+    }
+    return Collections.unmodifiableList((List<T>) Arrays.asList(successes));
+  }
+
+  /**
+   * @return unmodifiable list of exceptions in the collection order.
+   */
+  public List<Exception> exceptions() {
+    return new AbstractList<Exception>() {
+      @Override
+      public Exception get(int index) {
+        return failure(index);
+      }
+
+      @Override
+      public int size() {
+        return failureCount;
+      }
+    };
+  }
+
+  /**
+   * @param failure ordinal number of the failure, from 0 to {@link #failureCount()} exclusive.
+   * @return position of the failed element in the processed collection.
+   */
+  public int failureIndex(int failure) {
+    checkFailure(failure);
+    return failureIndices[failure];
+  }
+
+  /**
+   * @param failure ordinal number of the failure, from 0 to {@link #failureCount()} exclusive.
+   * @return exception of the failed element.
+   */
+  public Exception failure(int failure) {
+    checkFailure(failure);
+    return failures[failure];
+  }
+
+  /**
+   * Pass every successful value with its position to the consumer in the collection order.
+   *
+   * @param consumer of values and their positions.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEachSuccess(ObjIntConsumer<? super T> consumer) {
+    for (int i = 0; i < size; i++) {
+      if (values[i] != null) {
+        consumer.accept((T) values[i], i);
+      }
+    }
+  }
+
+  /**
+   * Pass every exception with the position of the failed element to the consumer in the
+   * collection order.
+   *
+   * @param consumer of exceptions and positions.
+   */
+  public void forEachFailure(ObjIntConsumer<Exception> consumer) {
+    for (int i = 0; i < failureCount; i++) {
+      consumer.accept(failures[i], failureIndices[i]);
+    }
+  }
+
+  private void checkFailure(int failure) {
+    if (failure < 0 || failure >= failureCount) {
+      throw new IndexOutOfBoundsException("Failure: " + failure + ", failures: " + failureCount);
+    }
+  }
+
+  /**
+   * Accumulates results of processing in the collection order. Builders are not thread-safe.
+   *
+   * @param <T> type of the successful values.
+   */
+  public static final class Builder<T> {
+
+    private Object[] values;
+    private int size;
+    private int successCount;
+    private int[] failureIndices = NO_INDICES;
+    private Exception[] failures = NO_EXCEPTIONS;
+    private int failureCount;
+
+    /**
+     * @param expectedSize the expected number of elements, used to presize the value column.
+     */
+    public Builder(int expectedSize) {
+      this.values = new Object[Math.max(expectedSize, 0)];
+    }
+
+    /**
+     * Append the result of processing the next element.
+     *
+     * @param result of processing.
+     * @return this builder.
+     */
+    public Builder<T> add(Exceptional<? extends T> result) {
+      if (result.isValuePresent()) {
+        return addValue(result.getValue());
+      }
+      if (result.isException()) {
+        return addFailure(result.getException());
+      }
+      return addEmpty();
+    }
+
+    /**
+     * Append the value of the next element.
+     *
+     * @param value of the element.
+     * @return this builder.
+     */
+    public Builder<T> addValue(T value) {
+      ensureCapacity(size + 1);
+      values[size++] = value;
+      successCount++;
+      return this;
+    }
+
+    /**
+     * Append the next element processed to empty state.
+     *
+     * @return this builder.
+     */
+    public Builder<T> addEmpty() {
+      ensureCapacity(size + 1);
+      size++;
+      return this;
+    }
+
+    /**
+     * Append the exception of the next element.
+     *
+     * @param exception of the element.
+     * @return this builder.
+     */
+    public Builder<T> addFailure(Exception exception) {
+      ensureFailureCapacity(failureCount + 1);
+      ensureCapacity(size + 1);
+      failureIndices[failureCount] = size++;
+      failures[failureCount++] = exception;
+      return this;
+    }
+
+    /**
+     * Append all the results from another builder after the results of this one.
+     *
+     * @param other builder to take results from.
+     * @return this builder.
+     */
+    public Builder<T> addAll(Builder<? extends T> other) {
+      ensureCapacity(size + other.size);
+      ensureFailureCapacity(failureCount + other.failureCount);
+      System.arraycopy(other.values, 0, values, size, other.size);
+      for (int i = 0; i < other.failureCount; i++) {
+        failureIndices[failureCount + i] = other.failureIndices[i] + size;
+      }
+      System.arraycopy(other.failures, 0, failures, failureCount, other.failureCount);
+      size += other.size;
+      successCount += other.successCount;
+      failureCount += other.failureCount;
+      return this;
+    }
+
+    /**
+     * The builder must not be used after the result is built, the result shares its columns.
+     *
+     * @return the result with all the appended elements.
+     */
+    public ColumnarProcessingResult<T> build() {
+      return new ColumnarProcessingResult<>(this);
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity > values.length) {
+        values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1)));
+      }
+    }
+
+    private void ensureFailureCapacity(int capacity) {
+      if (capacity > failureIndices.length) {
+        int newLength = Math.max(Math.max(capacity, 4), failureIndices.length * 2);
+        failureIndices = Arrays.copyOf(failureIndices, newLength);
+        failures = Arrays.copyOf(failures, newLength);
+      }
+    }
+  }
+}
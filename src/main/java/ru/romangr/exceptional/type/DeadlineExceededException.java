@@ -0,0 +1,15 @@
+package ru.romangr.exceptional.type;
+
+/**
+ * Represents a call which didn't complete before its deadline. The exception is a part of normal
+ * control flow, so it doesn't record a stack trace.
+ */
+public final class DeadlineExceededException extends LightweightException {
+
+  /**
+   * @param message the detail message.
+   */
+  public DeadlineExceededException(String message) {
+    super(message, CaptureMode.STACKLESS);
+  }
+}
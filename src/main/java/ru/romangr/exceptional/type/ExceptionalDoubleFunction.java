@@ -0,0 +1,8 @@
+package ru.romangr.exceptional.type;
+
+@FunctionalInterface
+public interface ExceptionalDoubleFunction<R> {
+
+  R apply(double value) throws Exception;
+
+}
@@ -0,0 +1,8 @@
+package ru.romangr.exceptional.type;
+
+@FunctionalInterface
+public interface ExceptionalDoubleSupplier {
+
+  double getAsDouble() throws Exception;
+
+}
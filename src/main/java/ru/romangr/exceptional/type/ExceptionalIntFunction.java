@@ -0,0 +1,8 @@
+package ru.romangr.exceptional.type;
+
+@FunctionalInterface
+public interface ExceptionalIntFunction<R> {
+
+  R apply(int value) throws Exception;
+
+}
@@ -0,0 +1,8 @@
+package ru.romangr.exceptional.type;
+
+@FunctionalInterface
+public interface ExceptionalIntSupplier {
+
+  int getAsInt() throws Exception;
+
+}
@@ -0,0 +1,8 @@
+package ru.romangr.exceptional.type;
+
+@FunctionalInterface
+public interface ExceptionalLongFunction<R> {
+
+  R apply(long value) throws Exception;
+
+}
@@ -0,0 +1,8 @@
+package ru.romangr.exceptional.type;
+
+@FunctionalInterface
+public interface ExceptionalLongSupplier {
+
+  long getAsLong() throws Exception;
+
+}
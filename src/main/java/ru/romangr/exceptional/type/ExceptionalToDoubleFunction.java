@@ -0,0 +1,8 @@
+package ru.romangr.exceptional.type;
+
+@FunctionalInterface
+public interface ExceptionalToDoubleFunction<T> {
+
+  double applyAsDouble(T value) throws Exception;
+
+}
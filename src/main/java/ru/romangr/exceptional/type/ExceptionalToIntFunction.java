@@ -0,0 +1,8 @@
+package ru.romangr.exceptional.type;
+
+@FunctionalInterface
+public interface ExceptionalToIntFunction<T> {
+
+  int applyAsInt(T value) throws Exception;
+
+}
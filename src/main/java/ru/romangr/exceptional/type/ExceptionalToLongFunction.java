@@ -0,0 +1,8 @@
+package ru.romangr.exceptional.type;
+
+@FunctionalInterface
+public interface ExceptionalToLongFunction<T> {
+
+  long applyAsLong(T value) throws Exception;
+
+}
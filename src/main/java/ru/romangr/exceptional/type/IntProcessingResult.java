@@ -0,0 +1,52 @@
+package ru.romangr.exceptional.type;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.ExceptionalInt;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+@NonNullApi
+public final class IntProcessingResult {
+
+  private final int[] successResults;
+
+  private final int successCount;
+
+  @Nullable
+  private final Exception exception;
+
+  /**
+   * @param successResults array the first {@code successCount} elements of which are successful
+   *                       results, it's not copied.
+   * @param successCount   number of successful results.
+   * @param exception      that occurred during collection processing.
+   */
+  public IntProcessingResult(int[] successResults, int successCount,
+                            @Nullable Exception exception) {
+    this.successResults = successResults;
+    this.successCount = successCount;
+    this.exception = exception;
+  }
+
+  /**
+   * @return a new array of successfully processed elements of collection.
+   */
+  public int[] successResults() {
+    return Arrays.copyOf(successResults, successCount);
+  }
+
+  /**
+   * @return number of successfully processed elements of collection.
+   */
+  public int successCount() {
+    return successCount;
+  }
+
+  /**
+   * @return an instance of {@link ExceptionalInt} with exception that occurred during collection
+   * processing or empty {@link ExceptionalInt} if no exception occurred.
+   */
+  public ExceptionalInt exception() {
+    return ExceptionalInt.exceptional(exception);
+  }
+}
@@ -0,0 +1,76 @@
+package ru.romangr.exceptional.type;
+
+import javax.annotation.Nullable;
+
+/**
+ * Exception for expected failures which records its stack trace according to a
+ * {@link CaptureMode}. Throw it (or a subclass) from suppliers and mappers passed to
+ * {@link ru.romangr.exceptional.Exceptional} to avoid paying for a full stack trace when the
+ * failure is a part of normal control flow.
+ */
+public class LightweightException extends RuntimeException {
+
+  private final CaptureMode captureMode;
+
+  /**
+   * Creates an exception recording its stack trace according to {@link CaptureMode#global()}.
+   *
+   * @param message the detail message.
+   */
+  public LightweightException(@Nullable String message) {
+    this(message, null, CaptureMode.global());
+  }
+
+  /**
+   * @param message     the detail message.
+   * @param captureMode defines how much of the stack trace to record.
+   */
+  public LightweightException(@Nullable String message, CaptureMode captureMode) {
+    this(message, null, captureMode);
+  }
+
+  /**
+   * @param message     the detail message.
+   * @param cause       the cause of the exception.
+   * @param captureMode defines how much of the stack trace to record.
+   */
+  public LightweightException(@Nullable String message, @Nullable Throwable cause,
+                              CaptureMode captureMode) {
+    this(message, cause, captureMode, true);
+  }
+
+  /**
+   * Constructor for exceptions shared between threads, which must not accumulate suppressed
+   * exceptions added by every code path they are thrown through.
+   *
+   * @param message           the detail message.
+   * @param cause             the cause of the exception.
+   * @param captureMode       defines how much of the stack trace to record.
+   * @param enableSuppression whether {@link #addSuppressed} records suppressed exceptions.
+   */
+  protected LightweightException(@Nullable String message, @Nullable Throwable cause,
+                                 CaptureMode captureMode, boolean enableSuppression) {
+    super(message, cause, enableSuppression, captureMode != CaptureMode.STACKLESS);
+    this.captureMode = captureMode;
+    if (captureMode == CaptureMode.FULL) {
+      super.fillInStackTrace();
+    } else if (captureMode == CaptureMode.TOP_FRAMES) {
+      setStackTrace(StackFrames.capture(CaptureMode.topFramesDepth()));
+    }
+  }
+
+  /**
+   * @return the mode the stack trace of this exception was recorded with.
+   */
+  public CaptureMode getCaptureMode() {
+    return captureMode;
+  }
+
+  /**
+   * The stack trace is captured once in the constructor according to the {@link CaptureMode}.
+   */
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -0,0 +1,17 @@
+package ru.romangr.exceptional.type;
+
+/**
+ * Represents a call rejected by a concurrency limiter. Rejections happen in bulk exactly when the
+ * system is overloaded, so the exception doesn't record a stack trace and a single instance is
+ * reused for all the rejections of a limiter. The shared instance doesn't record suppressed
+ * exceptions.
+ */
+public final class LimitExceededException extends LightweightException {
+
+  /**
+   * @param message the detail message.
+   */
+  public LimitExceededException(String message) {
+    super(message, null, CaptureMode.STACKLESS, false);
+  }
+}
@@ -0,0 +1,134 @@
+package ru.romangr.exceptional.type;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.Exceptional;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Lazily applies mapper to elements of a source until the first {@link Exceptional} with exception
+ * returned by mapper. Successful results are passed downstream one by one and never collected, so
+ * memory consumption doesn't depend on the number of elements.
+ * <p>
+ * Results can be consumed only once, with either {@link #forEach(Consumer)} or {@link #stream()}.
+ * After that {@link #exception()} reports the failure that stopped the processing, if any.
+ * Instances are not thread-safe.
+ *
+ * @param <E> type of the mapped results.
+ */
+@NonNullApi
+public final class ProcessingStream<E> implements Iterator<E>, AutoCloseable {
+
+  private final Iterator<Exceptional<E>> results;
+  private final Runnable closeHandler;
+
+  @Nullable
+  private E nextValue;
+
+  @Nullable
+  private Exception exception;
+
+  private long successCount;
+
+  public <C> ProcessingStream(Iterator<C> source, Function<? super C, Exceptional<E>> mapper,
+                              Runnable closeHandler) {
+    this.results = new Iterator<Exceptional<E>>() {
+      @Override
+      public boolean hasNext() {
+        return source.hasNext();
+      }
+
+      @Override
+      public Exceptional<E> next() {
+        return mapper.apply(source.next());
+      }
+    };
+    this.closeHandler = closeHandler;
+  }
+
+  /**
+   * Pass every successful result to the consumer until the source is exhausted or mapper returns
+   * an exception.
+   *
+   * @param consumer of the successful results.
+   * @return the number of successful results passed to the consumer.
+   */
+  public long forEach(Consumer<? super E> consumer) {
+    while (hasNext()) {
+      consumer.accept(next());
+    }
+    return successCount;
+  }
+
+  /**
+   * @return sequential {@link Stream} of the successful results, closing it closes the source.
+   */
+  public Stream<E> stream() {
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+        false)
+        .onClose(closeHandler);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextValue != null) {
+      return true;
+    }
+    while (exception == null && results.hasNext()) {
+      Exceptional<E> result = results.next();
+      if (result.isValuePresent()) {
+        nextValue = result.getValue();
+        return true;
+      }
+      if (result.isException()) {
+        exception = result.getException();
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public E next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    E value = nextValue;
+    nextValue = null;
+    successCount++;
+    return value;
+  }
+
+  /**
+   * @return the number of successful results consumed so far.
+   */
+  public long successCount() {
+    return successCount;
+  }
+
+  /**
+   * @return an instance of {@link Exceptional} with exception that stopped the processing or empty
+   * {@link Exceptional} if no exception occurred so far.
+   */
+  public Exceptional<E> exception() {
+    if (exception == null) {
+      return Exceptional.empty();
+    }
+    return Exceptional.exceptional(exception);
+  }
+
+  /**
+   * Closes the source of elements.
+   */
+  @Override
+  public void close() {
+    closeHandler.run();
+  }
+}
@@ -0,0 +1,42 @@
+package ru.romangr.exceptional.type;
+
+import java.util.Arrays;
+
+/**
+ * Captures the top frames of the current stack skipping the frames of exception constructors.
+ * This implementation materializes the whole stack, Java 9+ runtimes use the version based on
+ * {@code StackWalker} from the multi-release part of the jar.
+ */
+final class StackFrames {
+
+  private static final String CLASS_NAME = StackFrames.class.getName();
+  private static final String CONSTRUCTOR = "<init>";
+
+  static StackTraceElement[] capture(int depth) {
+    StackTraceElement[] stack = new Throwable().getStackTrace();
+    int first = 0;
+    while (first < stack.length && CLASS_NAME.equals(stack[first].getClassName())) {
+      first++;
+    }
+    while (first < stack.length && isThrowableConstructor(stack[first])) {
+      first++;
+    }
+    return Arrays.copyOfRange(stack, first, Math.min(stack.length, first + depth));
+  }
+
+  private static boolean isThrowableConstructor(StackTraceElement frame) {
+    if (!CONSTRUCTOR.equals(frame.getMethodName())) {
+      return false;
+    }
+    try {
+      Class<?> declaringClass = Class.forName(frame.getClassName(), false,
+          Thread.currentThread().getContextClassLoader());
+      return Throwable.class.isAssignableFrom(declaringClass);
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  private StackFrames() {
+  }
+}
@@ -0,0 +1,31 @@
+package ru.romangr.exceptional;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Exception thrown by user code and captured into {@link Exceptional}.
+ */
+@NonNullApi
+@Name("ru.romangr.exceptional.ExceptionCaptured")
+@Label("Exception Captured")
+@Description("Exception thrown by user code and captured into Exceptional")
+@Category("Exceptional")
+@StackTrace(false)
+final class ExceptionCapturedEvent extends Event {
+
+  @Label("Capture Site")
+  String site;
+
+  @Label("Exception Class")
+  Class<?> exceptionClass;
+
+  @Label("Caller")
+  @Description("Class defining the supplier, mapper or consumer which threw the exception")
+  String caller;
+}
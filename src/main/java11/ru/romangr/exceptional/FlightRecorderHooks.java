@@ -0,0 +1,86 @@
+package ru.romangr.exceptional;
+
+import javax.annotation.Nullable;
+import jdk.jfr.EventType;
+import ru.romangr.exceptional.metrics.CaptureSite;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Emits Java Flight Recorder events about captured exceptions and slow suppliers. Runtimes
+ * without the {@code jdk.jfr} module get no events, and the event classes are never loaded there.
+ * While an event is disabled, emitting it costs a check of its enabled flag, the event object is
+ * allocated only when a recording has the event enabled.
+ */
+@NonNullApi
+final class FlightRecorderHooks {
+
+  private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+  @Nullable
+  static Object supplierStarted() {
+    return AVAILABLE ? Events.supplierStarted() : null;
+  }
+
+  static void supplierFinished(@Nullable Object timing, Object supplier) {
+    if (timing != null) {
+      Events.supplierFinished(timing, supplier);
+    }
+  }
+
+  static void exceptionCaptured(CaptureSite site, Exception exception, Object userCode) {
+    if (AVAILABLE) {
+      Events.exceptionCaptured(site, exception, userCode);
+    }
+  }
+
+  /**
+   * @return the name of the class defining the user code, the synthetic class of a lambda or a
+   * method reference is reported as the class the lambda is written in.
+   */
+  private static String callerTag(Object userCode) {
+    String name = userCode.getClass().getName();
+    int lambda = name.indexOf("$$Lambda");
+    return lambda < 0 ? name : name.substring(0, lambda);
+  }
+
+  private FlightRecorderHooks() {
+  }
+
+  private static final class Events {
+
+    private static final EventType SLOW_SUPPLIER = EventType.getEventType(SlowSupplierEvent.class);
+    private static final EventType EXCEPTION_CAPTURED =
+        EventType.getEventType(ExceptionCapturedEvent.class);
+
+    @Nullable
+    static Object supplierStarted() {
+      if (!SLOW_SUPPLIER.isEnabled()) {
+        return null;
+      }
+      SlowSupplierEvent event = new SlowSupplierEvent();
+      event.begin();
+      return event;
+    }
+
+    static void supplierFinished(Object timing, Object supplier) {
+      SlowSupplierEvent event = (SlowSupplierEvent) timing;
+      event.end();
+      if (event.shouldCommit()) {
+        event.supplierClass = supplier.getClass();
+        event.caller = callerTag(supplier);
+        event.commit();
+      }
+    }
+
+    static void exceptionCaptured(CaptureSite site, Exception exception, Object userCode) {
+      if (!EXCEPTION_CAPTURED.isEnabled()) {
+        return;
+      }
+      ExceptionCapturedEvent event = new ExceptionCapturedEvent();
+      event.site = site.name();
+      event.exceptionClass = exception.getClass();
+      event.caller = callerTag(userCode);
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package ru.romangr.exceptional;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import ru.romangr.exceptional.nullability.NonNullApi;
+
+/**
+ * Supplier called by {@link Exceptional#getExceptional} or {@link Exceptional#attempt} which took
+ * longer than the threshold. The threshold is a regular event setting, so it can be changed per
+ * recording, e.g. with {@code Recording.enable(...).withThreshold(...)} or {@code jfr configure}.
+ */
+@NonNullApi
+@Name("ru.romangr.exceptional.SlowSupplier")
+@Label("Slow Supplier")
+@Description("Supplier called by Exceptional which took longer than the threshold")
+@Category("Exceptional")
+@Threshold("20 ms")
+@StackTrace(false)
+final class SlowSupplierEvent extends Event {
+
+  @Label("Supplier Class")
+  Class<?> supplierClass;
+
+  @Label("Caller")
+  @Description("Class defining the supplier")
+  String caller;
+}
@@ -0,0 +1,18 @@
+package ru.romangr.exceptional;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates executors for concurrent fan-out starting a virtual thread per task. Concurrency is
+ * bounded by the caller.
+ */
+final class FanOutExecutors {
+
+  static ExecutorService newExecutor(int concurrency) {
+    return Executors.newVirtualThreadPerTaskExecutor();
+  }
+
+  private FanOutExecutors() {
+  }
+}
@@ -0,0 +1,317 @@
+package ru.romangr.exceptional;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import ru.romangr.exceptional.nullability.NonNullApi;
+import ru.romangr.exceptional.type.ExceptionalFunction;
+
+/**
+ * {@link Flow.Processor} applying an {@link ExceptionalFunction} to every item. Values are passed
+ * to the downstream subscriber, exceptions are passed to a separate failure subscriber instead of
+ * terminating the stream, and items mapped to null are dropped. Each of the two subscribers gets
+ * items only within its own demand, so a slow one holds back the upstream.
+ * <p>
+ * Up to {@code prefetch} items are requested from the upstream in advance and more are requested
+ * in batches once three quarters of them are consumed. Errors and completion of the upstream are
+ * passed downstream after the items received before them; the failure subscriber is completed at
+ * the same time. A non-positive request of the downstream subscriber fails it right away and
+ * discards the queued items. A processor supports a single downstream subscriber.
+ *
+ * @param <T> type of the items.
+ * @param <R> type of the values.
+ */
+@NonNullApi
+public final class ExceptionalProcessor<T, R> implements Flow.Processor<T, R> {
+
+  private final ExceptionalFunction<? super T, ? extends R> mapper;
+  private final Flow.Subscriber<? super Exception> failureSubscriber;
+  private final int prefetch;
+  private final int replenishThreshold;
+
+  private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger wip = new AtomicInteger();
+  private final AtomicLong requested = new AtomicLong();
+  private final AtomicLong failuresRequested = new AtomicLong();
+  private final AtomicReference<Flow.Subscriber<? super R>> downstream = new AtomicReference<>();
+  private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+
+  private volatile boolean done;
+  @Nullable
+  private volatile Throwable error;
+  @Nullable
+  private volatile Throwable requestError;
+  private volatile boolean cancelled;
+  private volatile boolean failuresCancelled;
+  private volatile boolean failuresSubscribed;
+  @Nullable
+  private volatile Throwable failuresError;
+
+  // accessed only by the draining thread
+  @Nullable
+  private Object pending;
+  private int consumed;
+  private boolean terminated;
+  private boolean failuresErrorSignalled;
+
+  private ExceptionalProcessor(ExceptionalFunction<? super T, ? extends R> mapper,
+                               Flow.Subscriber<? super Exception> failureSubscriber,
+                               int prefetch) {
+    this.mapper = mapper;
+    this.failureSubscriber = failureSubscriber;
+    this.prefetch = prefetch;
+    this.replenishThreshold = prefetch - (prefetch >> 2);
+  }
+
+  /**
+   * Create a processor prefetching {@link Flow#defaultBufferSize()} items.
+   *
+   * @param mapper            to apply to every item.
+   * @param failureSubscriber to pass exceptions to.
+   * @param <T>               type of the items.
+   * @param <R>               type of the values.
+   * @return a new processor.
+   */
+  public static <T, R> ExceptionalProcessor<T, R> create(
+      ExceptionalFunction<? super T, ? extends R> mapper,
+      Flow.Subscriber<? super Exception> failureSubscriber) {
+    return create(mapper, failureSubscriber, Flow.defaultBufferSize());
+  }
+
+  /**
+   * @param mapper            to apply to every item.
+   * @param failureSubscriber to pass exceptions to.
+   * @param prefetch          maximum number of items requested from the upstream in advance.
+   * @param <T>               type of the items.
+   * @param <R>               type of the values.
+   * @return a new processor.
+   * @throws IllegalArgumentException if prefetch is not positive.
+   */
+  public static <T, R> ExceptionalProcessor<T, R> create(
+      ExceptionalFunction<? super T, ? extends R> mapper,
+      Flow.Subscriber<? super Exception> failureSubscriber,
+      int prefetch) {
+    if (prefetch <= 0) {
+      throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+    }
+    return new ExceptionalProcessor<>(mapper, failureSubscriber, prefetch);
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super R> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber");
+    if (!downstream.compareAndSet(null, subscriber)) {
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+      });
+      subscriber.onError(new IllegalStateException("Processor supports a single subscriber"));
+      return;
+    }
+    subscriber.onSubscribe(new Flow.Subscription() {
+      @Override
+      public void request(long n) {
+        if (n <= 0) {
+          cancelUpstream();
+          requestError = new IllegalArgumentException("Requested number must be positive: " + n);
+        } else {
+          addDemand(requested, n);
+        }
+        drain();
+      }
+
+      @Override
+      public void cancel() {
+        cancelled = true;
+        cancelUpstream();
+        drain();
+      }
+    });
+    drain();
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    Objects.requireNonNull(subscription, "subscription");
+    if (cancelled || !upstream.compareAndSet(null, subscription)) {
+      subscription.cancel();
+      return;
+    }
+    failureSubscriber.onSubscribe(new Flow.Subscription() {
+      @Override
+      public void request(long n) {
+        if (n <= 0) {
+          failuresError = new IllegalArgumentException("Requested number must be positive: " + n);
+          failuresCancelled = true;
+        } else {
+          addDemand(failuresRequested, n);
+        }
+        drain();
+      }
+
+      @Override
+      public void cancel() {
+        failuresCancelled = true;
+        drain();
+      }
+    });
+    failuresSubscribed = true;
+    subscription.request(prefetch);
+  }
+
+  @Override
+  public void onNext(T item) {
+    queue.offer(Objects.requireNonNull(item, "item"));
+    drain();
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    error = Objects.requireNonNull(throwable, "throwable");
+    done = true;
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    done = true;
+    drain();
+  }
+
+  private void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      Throwable failuresError = this.failuresError;
+      if (failuresError != null && !failuresErrorSignalled) {
+        failuresErrorSignalled = true;
+        failureSubscriber.onError(failuresError);
+      }
+      Flow.Subscriber<? super R> subscriber = downstream.get();
+      if (subscriber != null && !terminated) {
+        drainTo(subscriber);
+      }
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void drainTo(Flow.Subscriber<? super R> subscriber) {
+    while (true) {
+      Throwable requestError = this.requestError;
+      if (cancelled || requestError != null) {
+        terminated = true;
+        pending = null;
+        queue.clear();
+        if (!cancelled) {
+          subscriber.onError(requestError);
+        }
+        if (failuresSubscribed && !failuresCancelled) {
+          failureSubscriber.onComplete();
+        }
+        return;
+      }
+      if (pending == null) {
+        boolean upstreamDone = done;
+        T item = queue.poll();
+        if (item == null) {
+          if (upstreamDone) {
+            terminate(subscriber);
+          }
+          return;
+        }
+        pending = apply(item);
+        replenish();
+        continue;
+      }
+      if (pending instanceof Failure) {
+        if (!failuresCancelled) {
+          if (failuresRequested.get() == 0) {
+            return;
+          }
+          failuresRequested.decrementAndGet();
+          failureSubscriber.onNext(((Failure) pending).exception);
+        }
+      } else {
+        if (requested.get() == 0) {
+          return;
+        }
+        if (requested.get() != Long.MAX_VALUE) {
+          requested.decrementAndGet();
+        }
+        subscriber.onNext((R) pending);
+      }
+      pending = null;
+    }
+  }
+
+  @Nullable
+  private Object apply(T item) {
+    try {
+      return mapper.apply(item);
+    } catch (Exception e) {
+      return new Failure(e);
+    }
+  }
+
+  private void replenish() {
+    if (++consumed == replenishThreshold) {
+      consumed = 0;
+      Flow.Subscription subscription = upstream.get();
+      if (subscription != null) {
+        subscription.request(replenishThreshold);
+      }
+    }
+  }
+
+  private void terminate(Flow.Subscriber<? super R> subscriber) {
+    terminated = true;
+    Throwable throwable = error;
+    if (throwable != null) {
+      subscriber.onError(throwable);
+    } else {
+      subscriber.onComplete();
+    }
+    if (!failuresCancelled) {
+      failureSubscriber.onComplete();
+    }
+  }
+
+  private void cancelUpstream() {
+    Flow.Subscription subscription = upstream.get();
+    if (subscription != null) {
+      subscription.cancel();
+    }
+  }
+
+  private static void addDemand(AtomicLong demand, long n) {
+    demand.getAndUpdate(current -> {
+      long sum = current + n;
+      return sum < 0 ? Long.MAX_VALUE : sum;
+    });
+  }
+
+  /**
+   * Exception of an item waiting for the demand of the failure subscriber.
+   */
+  private static final class Failure {
+
+    private final Exception exception;
+
+    private Failure(Exception exception) {
+      this.exception = exception;
+    }
+  }
+}
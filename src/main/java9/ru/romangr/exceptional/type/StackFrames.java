@@ -0,0 +1,31 @@
+package ru.romangr.exceptional.type;
+
+import java.lang.StackWalker.StackFrame;
+
+/**
+ * Captures the top frames of the current stack skipping the frames of exception constructors.
+ * Only the requested frames are materialized.
+ */
+final class StackFrames {
+
+  private static final StackWalker WALKER =
+      StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+  static StackTraceElement[] capture(int depth) {
+    return WALKER.walk(frames -> frames
+        .dropWhile(StackFrames::isCaptureFrame)
+        .limit(depth)
+        .map(StackFrame::toStackTraceElement)
+        .toArray(StackTraceElement[]::new));
+  }
+
+  private static boolean isCaptureFrame(StackFrame frame) {
+    Class<?> declaringClass = frame.getDeclaringClass();
+    return declaringClass == StackFrames.class
+        || Throwable.class.isAssignableFrom(declaringClass)
+        && "<init>".equals(frame.getMethodName());
+  }
+
+  private StackFrames() {
+  }
+}
@@ -0,0 +1,204 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class AsyncExceptionalTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void attemptOnExecutor() {
+    AsyncExceptional<Integer> result =
+        AsyncExceptional.attempt(() -> Integer.parseInt("42"), executor);
+
+    assertThat(result.join().getValue()).isEqualTo(42);
+    assertThat(result.isDone()).isTrue();
+  }
+
+  @Test
+  void getExceptionalCatchesException() {
+    AsyncExceptional<Integer> result =
+        AsyncExceptional.getExceptional(() -> Integer.parseInt("x"), executor);
+
+    assertThat(result.join().getException()).isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  void stepsAreNotExecutedBeforeCompletion() {
+    CompletableFuture<String> source = new CompletableFuture<>();
+    List<String> values = new ArrayList<>();
+
+    AsyncExceptional<Integer> result = AsyncExceptional.fromStage(source)
+        .ifValue(values::add)
+        .safelyMap(Integer::parseInt)
+        .map(i -> i * 2);
+
+    assertThat(result.isDone()).isFalse();
+    assertThat(values).isEmpty();
+    source.complete("21");
+    assertThat(result.join().getValue()).isEqualTo(42);
+    assertThat(values).containsExactly("21");
+  }
+
+  @Test
+  void fromFailedStage() {
+    CompletableFuture<String> source = new CompletableFuture<>();
+    source.completeExceptionally(new IOException());
+
+    assertThat(AsyncExceptional.fromStage(source).join().getException())
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void fromStageFailedWithError() {
+    CompletableFuture<String> source = new CompletableFuture<>();
+    source.completeExceptionally(new AssertionError());
+
+    assertThatThrownBy(() -> AsyncExceptional.fromStage(source).join())
+        .isInstanceOf(AssertionError.class);
+    assertThatThrownBy(() -> AsyncExceptional.fromStage(source).toValueFuture().get())
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(AssertionError.class);
+  }
+
+  @Test
+  void fromStageWithNull() {
+    assertThat(AsyncExceptional.fromStage(CompletableFuture.completedFuture(null)).join()
+        .isEmpty()).isTrue();
+  }
+
+  @Test
+  void safelyMapAsync() {
+    Exceptional<Integer> result = AsyncExceptional.of(Exceptional.of("5"))
+        .safelyMapAsync(Integer::parseInt, executor)
+        .join();
+
+    assertThat(result.getValue()).isEqualTo(5);
+  }
+
+  @Test
+  void mapExceptionIsThrownFromJoin() {
+    AsyncExceptional<Integer> result = AsyncExceptional.of(Exceptional.of("5"))
+        .map(s -> {
+          throw new IllegalStateException();
+        });
+
+    assertThatThrownBy(result::join).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void errorIsThrownFromJoin() {
+    AsyncExceptional<Integer> result = AsyncExceptional.of(Exceptional.of("5"))
+        .map(s -> {
+          throw new AssertionError();
+        });
+
+    assertThatThrownBy(result::join).isInstanceOf(AssertionError.class);
+  }
+
+  @Test
+  void flatMap() {
+    Exceptional<Integer> result = AsyncExceptional.of(Exceptional.of("5"))
+        .flatMap(s -> AsyncExceptional.attempt(() -> Integer.parseInt(s), executor))
+        .join();
+
+    assertThat(result.getValue()).isEqualTo(5);
+  }
+
+  @Test
+  void flatMapOfEmpty() {
+    Exceptional<Integer> result = AsyncExceptional.<String>empty()
+        .flatMap(s -> AsyncExceptional.attempt(() -> Integer.parseInt(s), executor))
+        .join();
+
+    assertThat(result.isEmpty()).isTrue();
+  }
+
+  @Test
+  void flatMapIfEmpty() {
+    assertThat(AsyncExceptional.<String>empty()
+        .flatMapIfEmpty(() -> AsyncExceptional.of(Exceptional.of("default")))
+        .join().getValue()).isEqualTo("default");
+    assertThat(AsyncExceptional.of(Exceptional.of("value"))
+        .flatMapIfEmpty(() -> AsyncExceptional.of(Exceptional.of("default")))
+        .join().getValue()).isEqualTo("value");
+  }
+
+  @Test
+  void ifException() {
+    List<Exception> exceptions = new ArrayList<>();
+    List<NumberFormatException> numberFormatExceptions = new ArrayList<>();
+
+    AsyncExceptional.attempt(() -> Integer.parseInt("x"), executor)
+        .ifException(exceptions::add)
+        .ifException(NumberFormatException.class, numberFormatExceptions::add)
+        .ifException(IOException.class, e -> exceptions.add(e))
+        .join();
+
+    assertThat(exceptions).hasSize(1);
+    assertThat(numberFormatExceptions).hasSize(1);
+  }
+
+  @Test
+  void resumeOnException() {
+    Exceptional<Integer> result = AsyncExceptional.attempt(() -> Integer.parseInt("x"), executor)
+        .resumeOnException(e -> -1)
+        .join();
+
+    assertThat(result.getValue()).isEqualTo(-1);
+  }
+
+  @Test
+  void toCompletionStage() throws Exception {
+    Exceptional<String> result = AsyncExceptional.of(Exceptional.of("value"))
+        .toCompletionStage()
+        .toCompletableFuture()
+        .get(1, TimeUnit.SECONDS);
+
+    assertThat(result.getValue()).isEqualTo("value");
+  }
+
+  @Test
+  void toValueFuture() throws Exception {
+    assertThat(AsyncExceptional.of(Exceptional.of("value")).toValueFuture().get())
+        .isEqualTo("value");
+    assertThat(AsyncExceptional.empty().toValueFuture().get()).isNull();
+    assertThatThrownBy(() -> AsyncExceptional.of(Exceptional.of(new IOException()))
+        .toValueFuture().get())
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IOException.class);
+    assertThatThrownBy(() -> AsyncExceptional.of(Exceptional.of("value"))
+        .map(s -> {
+          throw new IllegalStateException();
+        })
+        .toValueFuture().get())
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> AsyncExceptional.of(Exceptional.of("value"))
+        .map(s -> {
+          throw new OutOfMemoryError();
+        })
+        .toValueFuture().get())
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(OutOfMemoryError.class);
+  }
+}
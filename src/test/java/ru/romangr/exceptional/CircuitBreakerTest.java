@@ -0,0 +1,204 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.romangr.exceptional.type.CircuitBreakerOpenException;
+import ru.romangr.exceptional.type.ExceptionalFunction;
+import ru.romangr.exceptional.type.ExceptionalSupplier;
+
+@Tag("unit")
+class CircuitBreakerTest {
+
+  private final AtomicLong time = new AtomicLong();
+  private final AtomicInteger calls = new AtomicInteger();
+  private final CircuitBreaker breaker = CircuitBreaker.builder()
+      .name("test")
+      .failureRateThreshold(0.5)
+      .minimumCalls(4)
+      .window(Duration.ofSeconds(10), 10)
+      .openDuration(Duration.ofSeconds(5))
+      .probes(2)
+      .ticker(time::get)
+      .build();
+
+  @Test
+  void closedBreakerPermitsCalls() {
+    Exceptional<Integer> result = breaker.attempt(calls::incrementAndGet);
+
+    assertThat(result.getValue()).isEqualTo(1);
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void opensWhenFailureRateIsReached() {
+    breaker.attempt(calls::incrementAndGet);
+    breaker.attempt(this::fail);
+    breaker.attempt(calls::incrementAndGet);
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+    breaker.attempt(this::fail);
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    Exceptional<Integer> rejected = breaker.attempt(calls::incrementAndGet);
+    assertThat(rejected.getException())
+        .isInstanceOf(CircuitBreakerOpenException.class)
+        .hasMessage("test circuit breaker is open")
+        .isSameAs(breaker.attempt(calls::incrementAndGet).getException());
+    assertThat(rejected.getException().getStackTrace()).isEmpty();
+    assertThat(calls).hasValue(2);
+    rejected.getException().addSuppressed(new IOException());
+    assertThat(rejected.getException().getSuppressed()).isEmpty();
+  }
+
+  @Test
+  void minimumCallsPreventOpening() {
+    breaker.attempt(this::fail);
+    breaker.attempt(this::fail);
+    breaker.attempt(this::fail);
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void oldOutcomesLeaveWindow() {
+    breaker.attempt(this::fail);
+    breaker.attempt(this::fail);
+    breaker.attempt(this::fail);
+    time.set(Duration.ofSeconds(11).toNanos());
+
+    breaker.attempt(this::fail);
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void closesAfterSuccessfulProbes() {
+    open();
+    time.addAndGet(Duration.ofSeconds(5).toNanos());
+
+    assertThat(breaker.attempt(calls::incrementAndGet).isValuePresent()).isTrue();
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(breaker.attempt(calls::incrementAndGet).isValuePresent()).isTrue();
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    breaker.attempt(this::fail);
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void reopensAfterFailedProbe() {
+    open();
+    time.addAndGet(Duration.ofSeconds(5).toNanos());
+
+    breaker.attempt(this::fail);
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.attempt(calls::incrementAndGet).isException()).isTrue();
+    assertThat(calls).hasValue(0);
+  }
+
+  @Test
+  void halfOpenBreakerLimitsProbes() throws Exception {
+    open();
+    time.addAndGet(Duration.ofSeconds(5).toNanos());
+    List<Exceptional<Integer>> nested = new ArrayList<>();
+
+    breaker.attempt(() -> {
+      nested.add(breaker.attempt(() -> {
+        nested.add(breaker.attempt(calls::incrementAndGet));
+        return calls.incrementAndGet();
+      }));
+      return calls.incrementAndGet();
+    });
+
+    assertThat(nested.get(0).getException()).isInstanceOf(CircuitBreakerOpenException.class);
+    assertThat(nested.get(1).getValue()).isEqualTo(1);
+  }
+
+  @Test
+  void wrappedSupplier() {
+    ExceptionalSupplier<Integer> supplier = breaker.wrap(calls::incrementAndGet);
+    open();
+
+    assertThatThrownBy(supplier::get).isInstanceOf(CircuitBreakerOpenException.class);
+    assertThat(Exceptional.attempt(supplier).getException())
+        .isInstanceOf(CircuitBreakerOpenException.class);
+  }
+
+  @Test
+  void wrappedFunction() throws Exception {
+    ExceptionalFunction<String, Integer> parse = breaker.wrap(Integer::parseInt);
+
+    assertThat(parse.apply("1")).isEqualTo(1);
+    for (int i = 0; i < 3; i++) {
+      assertThat(Exceptional.of("x").safelyMap(parse).getException())
+          .isInstanceOf(NumberFormatException.class);
+    }
+
+    assertThat(Exceptional.of("1").safelyMap(parse).getException())
+        .isInstanceOf(CircuitBreakerOpenException.class);
+  }
+
+  @Test
+  void concurrentCalls() throws Exception {
+    CircuitBreaker breaker = CircuitBreaker.builder().minimumCalls(100).build();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 10_000; j++) {
+            breaker.attempt(calls::incrementAndGet);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(calls).hasValue(80_000);
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void invalidConfiguration() {
+    CircuitBreaker.Builder builder = CircuitBreaker.builder();
+
+    assertThatThrownBy(() -> builder.failureRateThreshold(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.minimumCalls(0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.window(Duration.ZERO, 10))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.window(Duration.ofSeconds(1), 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.openDuration(Duration.ofSeconds(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.probes(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void open() {
+    for (int i = 0; i < 4; i++) {
+      breaker.attempt(this::fail);
+    }
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  private Integer fail() throws IOException {
+    throw new IOException("failure");
+  }
+}
@@ -0,0 +1,190 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.romangr.exceptional.type.ExceptionalFunction;
+import ru.romangr.exceptional.type.ExceptionalSupplier;
+import ru.romangr.exceptional.type.LimitExceededException;
+
+@Tag("unit")
+class ConcurrencyLimiterTest {
+
+  private final AtomicLong time = new AtomicLong();
+  private final ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+      .name("test")
+      .initialLimit(2)
+      .limitRange(1, 4)
+      .latencyThreshold(Duration.ofMillis(100))
+      .backoffRatio(0.5)
+      .ticker(time::get)
+      .build();
+
+  @Test
+  void callsWithinLimitArePermitted() {
+    Exceptional<Integer> result = limiter.attempt(() -> 1);
+
+    assertThat(result.getValue()).isEqualTo(1);
+    assertThat(limiter.getInflight()).isZero();
+  }
+
+  @Test
+  void callsOverLimitAreRejected() {
+    List<Exceptional<Integer>> nested = new ArrayList<>();
+
+    limiter.attempt(() -> {
+      assertThat(limiter.getInflight()).isEqualTo(1);
+      nested.add(limiter.attempt(() -> {
+        nested.add(limiter.attempt(() -> 3));
+        return 2;
+      }));
+      return 1;
+    });
+
+    Exception rejection = nested.get(0).getException();
+    assertThat(rejection)
+        .isInstanceOf(LimitExceededException.class)
+        .hasMessage("test concurrency limit exceeded");
+    assertThat(rejection.getStackTrace()).isEmpty();
+    rejection.addSuppressed(new IllegalStateException());
+    assertThat(rejection.getSuppressed()).isEmpty();
+    assertThat(nested.get(1).getValue()).isEqualTo(2);
+    assertThat(limiter.getInflight()).isZero();
+  }
+
+  @Test
+  void fastCallsAtLimitIncreaseIt() {
+    for (int i = 0; i < 10; i++) {
+      limiter.attempt(() -> limiter.attempt(() -> 1));
+    }
+
+    assertThat(limiter.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  void fastCallsBelowLimitKeepIt() {
+    for (int i = 0; i < 10; i++) {
+      limiter.attempt(() -> 1);
+    }
+
+    assertThat(limiter.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  void slowCallDecreasesLimit() {
+    limiter.attempt(() -> time.addAndGet(Duration.ofMillis(200).toNanos()));
+
+    assertThat(limiter.getLimit()).isEqualTo(1);
+    limiter.attempt(() -> time.addAndGet(Duration.ofMillis(200).toNanos()));
+    assertThat(limiter.getLimit()).isEqualTo(1);
+  }
+
+  @Test
+  void slowCallsInFlightDecreaseLimitOnce() {
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+        .initialLimit(4)
+        .limitRange(1, 4)
+        .latencyThreshold(Duration.ofMillis(100))
+        .backoffRatio(0.5)
+        .ticker(time::get)
+        .build();
+
+    limiter.attempt(() -> limiter.attempt(() -> limiter.attempt(
+        () -> time.addAndGet(Duration.ofMillis(200).toNanos()))));
+
+    assertThat(limiter.getLimit()).isEqualTo(2);
+    limiter.attempt(() -> time.addAndGet(Duration.ofMillis(200).toNanos()));
+    assertThat(limiter.getLimit()).isEqualTo(1);
+  }
+
+  @Test
+  void errorIsNotSuccess() {
+    for (int i = 0; i < 10; i++) {
+      assertThatThrownBy(() -> limiter.attempt(() -> limiter.attempt(() -> {
+        throw new AssertionError();
+      }))).isInstanceOf(AssertionError.class);
+    }
+    ExceptionalSupplier<Integer> supplier = limiter.wrap(() -> {
+      throw new AssertionError();
+    });
+    ExceptionalFunction<Integer, Integer> function = limiter.wrap(v -> {
+      throw new AssertionError();
+    });
+
+    assertThatThrownBy(supplier::get).isInstanceOf(AssertionError.class);
+    assertThatThrownBy(() -> function.apply(1)).isInstanceOf(AssertionError.class);
+    assertThat(limiter.getLimit()).isEqualTo(2);
+    assertThat(limiter.getInflight()).isZero();
+  }
+
+  @Test
+  void timeoutDecreasesLimit() {
+    limiter.attempt(() -> {
+      throw new TimeoutException();
+    });
+
+    assertThat(limiter.getLimit()).isEqualTo(1);
+  }
+
+  @Test
+  void otherExceptionsDoNotChangeLimit() {
+    limiter.attempt(() -> {
+      throw new IOException();
+    });
+
+    assertThat(limiter.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  void wrappedSupplier() throws Exception {
+    ExceptionalSupplier<Integer> supplier = limiter.wrap(() -> 1);
+    ExceptionalSupplier<Integer> failing = limiter.wrap(() -> {
+      throw new TimeoutException();
+    });
+
+    assertThat(supplier.get()).isEqualTo(1);
+    assertThat(Exceptional.attempt(failing).getException()).isInstanceOf(TimeoutException.class);
+    assertThat(limiter.getLimit()).isEqualTo(1);
+    ExceptionalSupplier<Integer> nested =
+        limiter.wrap(() -> Exceptional.attempt(supplier).getOrThrowRuntime());
+    assertThat(Exceptional.attempt(nested).getException())
+        .isInstanceOf(LimitExceededException.class);
+  }
+
+  @Test
+  void wrappedFunction() throws Exception {
+    ExceptionalFunction<String, Integer> parse = limiter.wrap(Integer::parseInt);
+
+    assertThat(parse.apply("1")).isEqualTo(1);
+    assertThat(Exceptional.of("x").safelyMap(parse).getException())
+        .isInstanceOf(NumberFormatException.class);
+    assertThat(limiter.getInflight()).isZero();
+    ExceptionalFunction<String, Integer> nested =
+        limiter.wrap(s -> limiter.wrap(parse).apply(s));
+    assertThat(Exceptional.of("1").safelyMap(nested).getException())
+        .isInstanceOf(LimitExceededException.class);
+  }
+
+  @Test
+  void invalidConfiguration() {
+    ConcurrencyLimiter.Builder builder = ConcurrencyLimiter.builder();
+
+    assertThatThrownBy(() -> builder.initialLimit(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.limitRange(0, 10))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.limitRange(10, 5))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.latencyThreshold(Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.backoffRatio(1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
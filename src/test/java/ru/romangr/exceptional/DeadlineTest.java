@@ -0,0 +1,33 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class DeadlineTest {
+
+  @Test
+  void remaining() {
+    Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+
+    assertThat(deadline.isExpired()).isFalse();
+    assertThat(deadline.remaining()).isBetween(Duration.ofSeconds(59), Duration.ofMinutes(1));
+  }
+
+  @Test
+  void expired() {
+    Deadline deadline = Deadline.after(Duration.ZERO);
+
+    assertThat(deadline.isExpired()).isTrue();
+    assertThat(deadline.remaining()).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  void hugeTimeoutsAreClamped() {
+    assertThat(Deadline.after(Duration.ofSeconds(Long.MAX_VALUE)).isExpired()).isFalse();
+    assertThat(Deadline.after(Duration.ofSeconds(Long.MIN_VALUE)).isExpired()).isTrue();
+  }
+}
@@ -0,0 +1,203 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Tag;
+
+@Tag("unit")
+class ExceptionalCacheTest {
+
+  private final AtomicLong time = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void valueIsLoadedOnce() {
+    ExceptionalCache<String, Integer> cache = ExceptionalCache.<String, Integer>builder().build();
+
+    Exceptional<Integer> first = cache.get("42", this::parse);
+    Exceptional<Integer> second = cache.get("42", this::parse);
+
+    assertThat(first.getValue()).isEqualTo(42);
+    assertThat(second.getValue()).isEqualTo(42);
+    assertThat(loads).hasValue(1);
+    assertThat(cache.hitCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(1);
+  }
+
+  @Test
+  void failuresAreNotCachedByDefault() {
+    ExceptionalCache<String, Integer> cache = ExceptionalCache.<String, Integer>builder().build();
+
+    assertThat(cache.get("x", this::parse).getException())
+        .isInstanceOf(NumberFormatException.class);
+    assertThat(cache.get("x", this::parse).isException()).isTrue();
+    assertThat(loads).hasValue(2);
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void failuresExpireSeparately() {
+    ExceptionalCache<String, Integer> cache = ExceptionalCache.<String, Integer>builder()
+        .successTtl(Duration.ofSeconds(10))
+        .failureTtl(Duration.ofSeconds(1))
+        .ticker(time::get)
+        .build();
+
+    cache.get("1", this::parse);
+    cache.get("x", this::parse);
+    time.set(Duration.ofMillis(500).toNanos());
+    cache.get("1", this::parse);
+    cache.get("x", this::parse);
+    assertThat(loads).hasValue(2);
+
+    time.set(Duration.ofSeconds(1).toNanos());
+    cache.get("1", this::parse);
+    cache.get("x", this::parse);
+    assertThat(loads).hasValue(3);
+
+    time.set(Duration.ofSeconds(10).toNanos());
+    cache.get("1", this::parse);
+    assertThat(loads).hasValue(4);
+    assertThat(cache.hitCount()).isEqualTo(3);
+    assertThat(cache.missCount()).isEqualTo(4);
+  }
+
+  @Test
+  void emptyResultIsCachedAsSuccess() {
+    ExceptionalCache<String, Integer> cache = ExceptionalCache.<String, Integer>builder().build();
+
+    cache.get("key", key -> {
+      loads.incrementAndGet();
+      return null;
+    });
+
+    assertThat(cache.get("key", this::parse).isEmpty()).isTrue();
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void leastRecentlyUsedEntryIsEvicted() {
+    ExceptionalCache<String, Integer> cache = ExceptionalCache.<String, Integer>builder()
+        .maximumSize(2)
+        .segments(1)
+        .build();
+
+    cache.get("1", this::parse);
+    cache.get("2", this::parse);
+    cache.get("1", this::parse);
+    cache.get("3", this::parse);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.evictionCount()).isEqualTo(1);
+    cache.get("1", this::parse);
+    assertThat(loads).hasValue(3);
+    cache.get("2", this::parse);
+    assertThat(loads).hasValue(4);
+  }
+
+  @Test
+  void sizeIsBoundedWithManySegments() {
+    ExceptionalCache<Integer, Integer> cache = ExceptionalCache.<Integer, Integer>builder()
+        .maximumSize(64)
+        .segments(8)
+        .build();
+
+    for (int i = 0; i < 1000; i++) {
+      cache.get(i, key -> key);
+    }
+
+    assertThat(cache.size()).isLessThanOrEqualTo(64);
+    assertThat(cache.evictionCount()).isEqualTo(1000 - cache.size());
+  }
+
+  @Test
+  void segmentSizesAddUpToMaximumSize() {
+    ExceptionalCache<Integer, Integer> cache = ExceptionalCache.<Integer, Integer>builder()
+        .maximumSize(10)
+        .segments(8)
+        .build();
+
+    for (int i = 0; i < 10_000; i++) {
+      cache.get(i, key -> key);
+    }
+
+    assertThat(cache.size()).isEqualTo(10);
+  }
+
+  @Test
+  void everyCallerHandlesCachedFailure() {
+    ExceptionalCache<String, Integer> cache = ExceptionalCache.<String, Integer>builder()
+        .failureTtl(Duration.ofSeconds(10))
+        .build();
+    AtomicInteger handled = new AtomicInteger();
+
+    cache.get("x", this::parse).handleException(e -> handled.incrementAndGet());
+    cache.get("x", this::parse).handleException(e -> handled.incrementAndGet());
+    Exceptional<Integer> third = cache.get("x", this::parse);
+    third.handleException(e -> handled.incrementAndGet());
+    third.handleException(e -> handled.incrementAndGet());
+
+    assertThat(loads).hasValue(1);
+    assertThat(handled).hasValue(3);
+    assertThat(cache.get("1", this::parse).getValue()).isEqualTo(1);
+    assertThat(cache.get("1", this::parse).getValue()).isEqualTo(1);
+  }
+
+  @Test
+  void invalidate() {
+    ExceptionalCache<String, Integer> cache = ExceptionalCache.<String, Integer>builder().build();
+    cache.get("1", this::parse);
+    cache.get("2", this::parse);
+
+    cache.invalidate("1");
+    assertThat(cache.size()).isEqualTo(1);
+    cache.invalidateAll();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void zeroSuccessTtlDisablesCaching() {
+    ExceptionalCache<String, Integer> cache = ExceptionalCache.<String, Integer>builder()
+        .successTtl(Duration.ZERO)
+        .build();
+
+    cache.get("1", this::parse);
+    cache.get("1", this::parse);
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void hugeTtlNeverExpires() {
+    ExceptionalCache<String, Integer> cache = ExceptionalCache.<String, Integer>builder()
+        .failureTtl(Duration.ofSeconds(Long.MAX_VALUE))
+        .ticker(time::get)
+        .build();
+
+    cache.get("x", this::parse);
+    time.set(Long.MAX_VALUE);
+    cache.get("x", this::parse);
+
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void invalidConfiguration() {
+    ExceptionalCache.Builder<String, Integer> builder = ExceptionalCache.builder();
+
+    assertThatThrownBy(() -> builder.maximumSize(0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.segments(0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.successTtl(Duration.ofSeconds(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private Integer parse(String value) {
+    loads.incrementAndGet();
+    return Integer.parseInt(value);
+  }
+}
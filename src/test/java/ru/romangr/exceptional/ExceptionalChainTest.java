@@ -0,0 +1,147 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class ExceptionalChainTest {
+
+  private final ExceptionalChain<String, Integer> parseAndDouble = ExceptionalChain.<String>start()
+      .safelyMap(Integer::parseInt)
+      .map(i -> i * 2);
+
+  @Test
+  void emptyChain() {
+    Exceptional<String> result = ExceptionalChain.<String>start().apply("test");
+
+    assertThat(result.getValue()).isEqualTo("test");
+  }
+
+  @Test
+  void applyToValue() {
+    assertThat(parseAndDouble.apply("21").getValue()).isEqualTo(42);
+  }
+
+  @Test
+  void applyIsRepeatable() {
+    assertThat(parseAndDouble.apply("1").getValue()).isEqualTo(2);
+    assertThat(parseAndDouble.apply("2").getValue()).isEqualTo(4);
+    assertThat(parseAndDouble.apply("x").isException()).isTrue();
+  }
+
+  @Test
+  void applyToNull() {
+    String input = null;
+
+    assertThat(parseAndDouble.apply(input).isEmpty()).isTrue();
+  }
+
+  @Test
+  void safelyMapCatchesException() {
+    Exceptional<Integer> result = parseAndDouble.apply("123.45");
+
+    assertThat(result.getException()).isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  void mapDoesNotCatchException() {
+    ExceptionalChain<String, Integer> chain = ExceptionalChain.<String>start()
+        .map(s -> {
+          throw new IllegalArgumentException(s);
+        });
+
+    assertThatThrownBy(() -> chain.apply("test"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void flatMapDoesNotCatchException() {
+    ExceptionalChain<String, Integer> chain = ExceptionalChain.<String>start()
+        .flatMap(s -> {
+          throw new IllegalArgumentException(s);
+        });
+
+    assertThatThrownBy(() -> chain.apply("test"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void mapToNullMakesResultEmpty() {
+    List<String> called = new ArrayList<>();
+    ExceptionalChain<String, String> chain = ExceptionalChain.<String>start()
+        .map(s -> (String) null)
+        .ifValue(called::add);
+
+    assertThat(chain.apply("test").isEmpty()).isTrue();
+    assertThat(called).isEmpty();
+  }
+
+  @Test
+  void flatMapToValue() {
+    ExceptionalChain<String, Integer> chain = parseAndDouble
+        .flatMap(i -> Exceptional.of(i + 1));
+
+    assertThat(chain.apply("1").getValue()).isEqualTo(3);
+  }
+
+  @Test
+  void flatMapToException() {
+    IllegalStateException exception = new IllegalStateException();
+    ExceptionalChain<String, Integer> chain = parseAndDouble
+        .flatMap(i -> Exceptional.<Integer>exceptional(exception))
+        .map(i -> i + 1);
+
+    assertThat(chain.apply("1").getException()).isSameAs(exception);
+  }
+
+  @Test
+  void flatMapToEmpty() {
+    ExceptionalChain<String, Integer> chain = parseAndDouble
+        .flatMap(i -> Exceptional.<Integer>empty())
+        .map(i -> i + 1);
+
+    assertThat(chain.apply("1").isEmpty()).isTrue();
+  }
+
+  @Test
+  void ifValue() {
+    List<Integer> values = new ArrayList<>();
+    ExceptionalChain<String, Integer> chain = parseAndDouble.ifValue(values::add);
+
+    assertThat(chain.apply("1").getValue()).isEqualTo(2);
+    assertThat(chain.apply("x").isException()).isTrue();
+    assertThat(values).containsExactly(2);
+  }
+
+  @Test
+  void ifValueCatchesException() {
+    ExceptionalChain<String, Integer> chain = parseAndDouble.ifValue(i -> {
+      throw new IllegalStateException();
+    });
+
+    assertThat(chain.apply("1").getException()).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void applyToExceptional() {
+    Exceptional<String> exception = Exceptional.exceptional(new IllegalStateException());
+
+    assertThat(parseAndDouble.apply(Exceptional.of("5")).getValue()).isEqualTo(10);
+    assertThat(parseAndDouble.apply(Exceptional.<String>empty()).isEmpty()).isTrue();
+    assertThat(parseAndDouble.apply(exception).getException())
+        .isSameAs(exception.getException());
+  }
+
+  @Test
+  void stepsDoNotChangeOriginalChain() {
+    ExceptionalChain<String, Integer> longer = parseAndDouble.map(i -> i + 1);
+
+    assertThat(parseAndDouble.apply("1").getValue()).isEqualTo(2);
+    assertThat(longer.apply("1").getValue()).isEqualTo(3);
+  }
+}
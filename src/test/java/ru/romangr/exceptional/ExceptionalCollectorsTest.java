@@ -0,0 +1,158 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.romangr.exceptional.type.ColumnarProcessingResult;
+import ru.romangr.exceptional.type.ProcessingResult;
+
+@Tag("unit")
+class ExceptionalCollectorsTest {
+
+  @Test
+  void toProcessingResultWithoutFailures() {
+    ProcessingResult<Integer> result = Stream.of(1, null, 3)
+        .map(Exceptional::exceptional)
+        .collect(ExceptionalCollectors.toProcessingResult());
+
+    assertThat(result.successResults()).containsExactly(1, 3);
+    assertThat(result.exception().isEmpty()).isTrue();
+  }
+
+  @Test
+  void toProcessingResultKeepsFirstFailure() {
+    ProcessingResult<Integer> result = Stream.of("1", "x", "3", "y")
+        .map(s -> Exceptional.attempt(() -> Integer.parseInt(s)))
+        .collect(ExceptionalCollectors.toProcessingResult(4));
+
+    assertThat(result.successResults()).containsExactly(1);
+    assertThat(result.exception().getException())
+        .isInstanceOf(NumberFormatException.class)
+        .hasMessageContaining("\"x\"");
+  }
+
+  @Test
+  void toProcessingResultOnParallelStream() {
+    ProcessingResult<Integer> result = IntStream.range(0, 100_000).boxed()
+        .parallel()
+        .map(i -> i == 70_000 || i == 90_000
+            ? Exceptional.<Integer>exceptional(new IllegalStateException(String.valueOf(i)))
+            : Exceptional.of(i))
+        .collect(ExceptionalCollectors.toProcessingResult());
+
+    assertThat(result.successResults())
+        .isEqualTo(IntStream.range(0, 70_000).boxed().collect(Collectors.toList()));
+    assertThat(result.exception().getException()).hasMessage("70000");
+  }
+
+  @Test
+  void toColumnarProcessingResultOnParallelStream() {
+    ColumnarProcessingResult<Integer> result = IntStream.range(0, 100_000).boxed()
+        .parallel()
+        .map(i -> i % 1000 == 0
+            ? Exceptional.<Integer>exceptional(new IllegalStateException(String.valueOf(i)))
+            : i % 1000 == 1 ? Exceptional.<Integer>empty() : Exceptional.of(i))
+        .collect(ExceptionalCollectors.toColumnarProcessingResult());
+
+    assertThat(result.size()).isEqualTo(100_000);
+    assertThat(result.successCount()).isEqualTo(99_800);
+    assertThat(result.failureCount()).isEqualTo(100);
+    assertThat(result.failureIndex(42)).isEqualTo(42_000);
+    assertThat(result.failure(42)).hasMessage("42000");
+    assertThat(result.get(1001).isEmpty()).isTrue();
+    assertThat(result.get(99_999).getValue()).isEqualTo(99_999);
+  }
+
+  @Test
+  void presizedCollectorsOnParallelStreams() {
+    Collector<Exceptional<Integer>, ?, ProcessingResult<Integer>> untilFailure =
+        ExceptionalCollectors.toProcessingResult(100_000);
+    Collector<Exceptional<Integer>, ?, ColumnarProcessingResult<Integer>> all =
+        ExceptionalCollectors.toColumnarProcessingResult(100_000);
+    List<Integer> expected = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+
+    for (int i = 0; i < 2; i++) {
+      assertThat(expected.parallelStream().map(Exceptional::of).collect(untilFailure)
+          .successResults()).isEqualTo(expected);
+      assertThat(expected.parallelStream().map(Exceptional::of).collect(all)
+          .successResults()).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void collectingClosesStream() {
+    AtomicInteger closed = new AtomicInteger();
+
+    ExceptionalCollectors.collect(
+        Stream.of(Exceptional.of(1)).onClose(closed::incrementAndGet));
+    ExceptionalCollectors.collectAll(
+        Stream.of(Exceptional.of(1)).parallel().onClose(closed::incrementAndGet));
+
+    assertThat(closed).hasValue(2);
+  }
+
+  @Test
+  void collectStopsAfterFailure() {
+    AtomicInteger consumed = new AtomicInteger();
+
+    ProcessingResult<Integer> result = ExceptionalCollectors.collect(IntStream.range(0, 100)
+        .boxed()
+        .peek(i -> consumed.incrementAndGet())
+        .map(i -> i == 10
+            ? Exceptional.<Integer>exceptional(new IllegalStateException())
+            : Exceptional.of(i)));
+
+    assertThat(result.successResults()).hasSize(10).endsWith(9);
+    assertThat(result.exception().getException()).isInstanceOf(IllegalStateException.class);
+    assertThat(consumed).hasValue(11);
+  }
+
+  @Test
+  void collectParallelStream() {
+    AtomicInteger consumed = new AtomicInteger();
+
+    ProcessingResult<Integer> result = ExceptionalCollectors.collect(
+        IntStream.range(0, 100_000).boxed()
+            .parallel()
+            .peek(i -> consumed.incrementAndGet())
+            .map(i -> i % 10_000 == 5_000
+                ? Exceptional.<Integer>exceptional(new IllegalStateException(String.valueOf(i)))
+                : Exceptional.of(i)));
+
+    assertThat(result.successResults())
+        .isEqualTo(IntStream.range(0, 5_000).boxed().collect(Collectors.toList()));
+    assertThat(result.exception().getException()).hasMessage("5000");
+    assertThat(consumed.get()).isLessThan(100_000);
+  }
+
+  @Test
+  void collectWithoutFailures() {
+    List<Integer> source = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+    ProcessingResult<Integer> result =
+        ExceptionalCollectors.collect(source.stream().map(Exceptional::of));
+
+    assertThat(result.successResults()).isEqualTo(source);
+    assertThat(result.exception().isEmpty()).isTrue();
+  }
+
+  @Test
+  void collectAll() {
+    ColumnarProcessingResult<Integer> sequential = ExceptionalCollectors.collectAll(
+        Stream.of("1", "x", "3").map(s -> Exceptional.attempt(() -> Integer.parseInt(s))));
+    ColumnarProcessingResult<Integer> parallel = ExceptionalCollectors.collectAll(
+        IntStream.range(0, 10_000).boxed().parallel().map(Exceptional::of));
+
+    assertThat(sequential.successResults()).containsExactly(1, 3);
+    assertThat(sequential.failureIndex(0)).isEqualTo(1);
+    assertThat(parallel.successResults())
+        .isEqualTo(IntStream.range(0, 10_000).boxed().collect(Collectors.toList()));
+  }
+}
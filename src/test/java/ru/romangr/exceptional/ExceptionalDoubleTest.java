@@ -0,0 +1,123 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.romangr.exceptional.type.DoubleProcessingResult;
+
+@Tag("unit")
+class ExceptionalDoubleTest {
+
+  @Test
+  void nanIsValue() {
+    ExceptionalDouble exceptional =
+        ExceptionalDouble.getExceptional(() -> Double.parseDouble("NaN"));
+
+    assertThat(exceptional.isValuePresent()).isTrue();
+    assertThat(exceptional.isEmpty()).isFalse();
+    assertThat(exceptional.getValue()).isNaN();
+    assertThat(exceptional.getOrDefault(0d)).isNaN();
+    assertThat(exceptional.map(v -> v * 0).getValue()).isNaN();
+    assertThat(exceptional.mapToObj(Double::isNaN).getValue()).isTrue();
+    assertThat(exceptional.safelyMapToObj(BigDecimal::valueOf).getException())
+        .isInstanceOf(NumberFormatException.class);
+    assertThat(exceptional.asOptional().getAsDouble()).isNaN();
+    assertThat(exceptional.asStream().toArray()).containsExactly(Double.NaN);
+    assertThat(exceptional.boxed().getValue()).isNaN();
+    assertThatThrownBy(exceptional::getException).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void infinity() {
+    ExceptionalDouble exceptional = ExceptionalDouble.attempt(() -> Double.parseDouble("1e400"));
+
+    assertThat(exceptional.getValue()).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(exceptional.map(v -> -v).getValue()).isEqualTo(Double.NEGATIVE_INFINITY);
+    assertThat(exceptional.ifValue(BigDecimal::valueOf).getException())
+        .isInstanceOf(NumberFormatException.class);
+    assertThat(exceptional.resumeOnException(e -> 0d).getValue())
+        .isEqualTo(Double.POSITIVE_INFINITY);
+  }
+
+  @Test
+  void parseFailure() {
+    List<Exception> exceptions = new ArrayList<>();
+
+    ExceptionalDouble exceptional = ExceptionalDouble.attempt(() -> Double.parseDouble("x"))
+        .ifException(exceptions::add);
+
+    assertThat(exceptional.isException()).isTrue();
+    assertThat(exceptions).containsExactly(exceptional.getException());
+    assertThat(exceptional.map(v -> v + 1).getException()).isSameAs(exceptions.get(0));
+    assertThat(exceptional.mapToObj(Double::isNaN).isException()).isTrue();
+    assertThat(exceptional.getOrDefault(Double.NaN)).isNaN();
+    assertThat(exceptional.resumeOnException(e -> Double.NaN).getValue()).isNaN();
+    assertThat(exceptional.resumeOnException(e -> {
+      throw new IllegalStateException();
+    }).getException()).isInstanceOf(IllegalStateException.class);
+    assertThat(exceptional.ifException(e -> {
+      throw new IllegalStateException();
+    }).getException()).isInstanceOf(IllegalStateException.class);
+    assertThat(exceptional.boxed().getException()).isInstanceOf(NumberFormatException.class);
+    assertThatThrownBy(exceptional::getValue).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void empty() {
+    List<Double> values = new ArrayList<>();
+    ExceptionalDouble exceptional = ExceptionalDouble.empty().ifValue(values::add);
+
+    assertThat(exceptional.isEmpty()).isTrue();
+    assertThat(values).isEmpty();
+    assertThat(ExceptionalDouble.exceptional(null)).isSameAs(exceptional);
+    assertThat(exceptional.getOrDefault(-0d)).isEqualTo(-0d);
+    assertThat(exceptional.map(v -> v + 1).isEmpty()).isTrue();
+    assertThat(exceptional.safelyMapToObj(v -> v).isEmpty()).isTrue();
+    assertThat(exceptional.boxed()).isSameAs(Exceptional.empty());
+    assertThat(exceptional.asOptional().isPresent()).isFalse();
+    assertThat(exceptional.asStream().count()).isZero();
+  }
+
+  @Test
+  void mapFromExceptional() {
+    assertThat(Exceptional.of(1).mapToDouble(v -> v / 0d).getValue())
+        .isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(Exceptional.of("0.1").safelyMapToDouble(Double::parseDouble).getValue())
+        .isEqualTo(0.1);
+    assertThat(Exceptional.of("x").safelyMapToDouble(Double::parseDouble).getException())
+        .isInstanceOf(NumberFormatException.class);
+    assertThat(Exceptional.<String>empty().mapToDouble(Double::parseDouble).isEmpty()).isTrue();
+    assertThat(Exceptional.<String>exceptional(new IOException())
+        .safelyMapToDouble(Double::parseDouble).getException()).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void processCollection() {
+    DoubleProcessingResult result = ExceptionalDouble
+        .processCollection(Arrays.asList("NaN", "-0.0", "1e400"), Double::parseDouble)
+        .getValue();
+    DoubleProcessingResult failed = ExceptionalDouble
+        .processCollection(Arrays.asList("0.5", "x", "1"), Double::parseDouble)
+        .getValue();
+
+    assertThat(result.successResults())
+        .containsExactly(Double.NaN, -0d, Double.POSITIVE_INFINITY);
+    result.successResults()[0] = 0;
+    assertThat(result.successResults()[0]).isNaN();
+    assertThat(result.exception().isEmpty()).isTrue();
+    assertThat(failed.successResults()).containsExactly(0.5);
+    assertThat(failed.successCount()).isEqualTo(1);
+    assertThat(failed.exception().getException()).isInstanceOf(NumberFormatException.class);
+    assertThat(ExceptionalDouble
+        .processCollection(Collections.<String>emptyList(), Double::parseDouble)
+        .getValue().successResults()).isEmpty();
+  }
+}
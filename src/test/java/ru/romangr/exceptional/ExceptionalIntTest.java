@@ -0,0 +1,170 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.romangr.exceptional.type.IntProcessingResult;
+
+@Tag("unit")
+class ExceptionalIntTest {
+
+  @Test
+  void getExceptionalValue() {
+    ExceptionalInt exceptional = ExceptionalInt.getExceptional(() -> Integer.parseInt("42"));
+
+    assertThat(exceptional.isValuePresent()).isTrue();
+    assertThat(exceptional.isException()).isFalse();
+    assertThat(exceptional.isEmpty()).isFalse();
+    assertThat(exceptional.getValue()).isEqualTo(42);
+    assertThatThrownBy(exceptional::getException).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void attemptException() {
+    ExceptionalInt exceptional = ExceptionalInt.attempt(() -> Integer.parseInt("x"));
+
+    assertThat(exceptional.isValuePresent()).isFalse();
+    assertThat(exceptional.isException()).isTrue();
+    assertThat(exceptional.isEmpty()).isFalse();
+    assertThat(exceptional.getException()).isInstanceOf(NumberFormatException.class);
+    assertThatThrownBy(exceptional::getValue).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void empty() {
+    ExceptionalInt exceptional = ExceptionalInt.empty();
+
+    assertThat(exceptional.isEmpty()).isTrue();
+    assertThat(ExceptionalInt.exceptional(null)).isSameAs(exceptional);
+    assertThat(exceptional.getOrDefault(1)).isEqualTo(1);
+    assertThat(exceptional.boxed()).isSameAs(Exceptional.empty());
+    assertThat(exceptional.asOptional().isPresent()).isFalse();
+    assertThat(exceptional.asStream().count()).isZero();
+  }
+
+  @Test
+  void map() {
+    assertThat(ExceptionalInt.of(21).map(v -> v * 2).getValue()).isEqualTo(42);
+    assertThat(ExceptionalInt.empty().map(v -> v * 2).isEmpty()).isTrue();
+  }
+
+  @Test
+  void mapToObj() {
+    assertThat(ExceptionalInt.of(42).mapToObj(v -> "v" + v).getValue()).isEqualTo("v" + 42);
+    assertThat(ExceptionalInt.of(42).mapToObj(v -> null).isEmpty()).isTrue();
+    assertThat(ExceptionalInt.exceptional(new IOException()).mapToObj(v -> "v" + v)
+        .getException()).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void safelyMapToObj() {
+    assertThat(ExceptionalInt.of(42).safelyMapToObj(v -> "v" + v).getValue())
+        .isEqualTo("v" + 42);
+    assertThat(ExceptionalInt.of(42).safelyMapToObj(v -> {
+      throw new IOException();
+    }).getException()).isInstanceOf(IOException.class);
+    assertThat(ExceptionalInt.empty().safelyMapToObj(v -> "v" + v).isEmpty()).isTrue();
+  }
+
+  @Test
+  void ifValue() {
+    List<Object> values = new ArrayList<>();
+
+    ExceptionalInt.of(42).ifValue(values::add);
+    ExceptionalInt.empty().ifValue(values::add);
+    ExceptionalInt result = ExceptionalInt.of(1).ifValue(v -> {
+      throw new IllegalStateException();
+    });
+
+    assertThat(values).containsExactly(42);
+    assertThat(result.getException()).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void ifException() {
+    List<Exception> exceptions = new ArrayList<>();
+    IOException exception = new IOException();
+
+    ExceptionalInt.of(42).ifException(exceptions::add);
+    ExceptionalInt.exceptional(exception).ifException(exceptions::add);
+    ExceptionalInt result = ExceptionalInt.exceptional(exception).ifException(e -> {
+      throw new IllegalStateException();
+    });
+
+    assertThat(exceptions).containsExactly(exception);
+    assertThat(result.getException()).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void resumeOnException() {
+    assertThat(ExceptionalInt.attempt(() -> Integer.parseInt("x")).resumeOnException(e -> -1)
+        .getValue()).isEqualTo(-1);
+    assertThat(ExceptionalInt.of(42).resumeOnException(e -> -1).getValue()).isEqualTo(42);
+    assertThat(ExceptionalInt.exceptional(new IOException()).resumeOnException(e -> {
+      throw new IllegalStateException();
+    }).getException()).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void conversions() {
+    ExceptionalInt exceptional = ExceptionalInt.of(42);
+
+    assertThat(exceptional.getOrDefault(1)).isEqualTo(42);
+    assertThat(exceptional.asOptional().getAsInt()).isEqualTo(42);
+    assertThat(exceptional.asStream().toArray()).containsExactly(42);
+    assertThat(exceptional.boxed().getValue()).isEqualTo(42);
+    assertThat(ExceptionalInt.exceptional(new IOException()).boxed().getException())
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void mapFromExceptional() {
+    assertThat(Exceptional.of("42").mapToInt(Integer::parseInt).getValue()).isEqualTo(42);
+    assertThat(Exceptional.of("42").safelyMapToInt(Integer::parseInt).getValue()).isEqualTo(42);
+    assertThat(Exceptional.of("x").safelyMapToInt(Integer::parseInt).getException())
+        .isInstanceOf(NumberFormatException.class);
+    assertThat(Exceptional.<String>empty().mapToInt(Integer::parseInt).isEmpty()).isTrue();
+    assertThat(Exceptional.<String>exceptional(new IOException()).safelyMapToInt(Integer::parseInt)
+        .getException()).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void processCollection() {
+    IntProcessingResult result = ExceptionalInt
+        .processCollection(Arrays.asList("1", "2", "3"), Integer::parseInt)
+        .getValue();
+
+    assertThat(result.successResults()).containsExactly(1, 2, 3);
+    result.successResults()[0] = 0;
+    assertThat(result.successResults()).containsExactly(1, 2, 3);
+    assertThat(result.successCount()).isEqualTo(3);
+    assertThat(result.exception().isEmpty()).isTrue();
+  }
+
+  @Test
+  void processCollectionWithException() {
+    IntProcessingResult result = ExceptionalInt
+        .processCollection(Arrays.asList("1", "x", "3"), Integer::parseInt)
+        .getValue();
+
+    assertThat(result.successResults()).containsExactly(1);
+    assertThat(result.successCount()).isEqualTo(1);
+    assertThat(result.exception().getException()).isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  void processEmptyCollection() {
+    IntProcessingResult result = ExceptionalInt
+        .processCollection(Collections.<String>emptyList(), Integer::parseInt)
+        .getValue();
+
+    assertThat(result.successResults()).isEmpty();
+  }
+}
@@ -0,0 +1,113 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.romangr.exceptional.type.LongProcessingResult;
+
+@Tag("unit")
+class ExceptionalLongTest {
+
+  @Test
+  void valueOutsideIntRange() {
+    ExceptionalLong exceptional =
+        ExceptionalLong.getExceptional(() -> Long.parseLong("9223372036854775807"));
+
+    assertThat(exceptional.isValuePresent()).isTrue();
+    assertThat(exceptional.getValue()).isEqualTo(Long.MAX_VALUE);
+    assertThat(exceptional.map(v -> v - 1).getValue()).isEqualTo(Long.MAX_VALUE - 1);
+    assertThat(exceptional.mapToObj(Long::toHexString).getValue()).isEqualTo("7fffffffffffffff");
+    assertThat(exceptional.safelyMapToObj(Math::incrementExact).getException())
+        .isInstanceOf(ArithmeticException.class);
+    assertThat(exceptional.getOrDefault(0L)).isEqualTo(Long.MAX_VALUE);
+    assertThat(exceptional.asOptional().getAsLong()).isEqualTo(Long.MAX_VALUE);
+    assertThat(exceptional.asStream().toArray()).containsExactly(Long.MAX_VALUE);
+    assertThat(exceptional.boxed().getValue()).isEqualTo(Long.MAX_VALUE);
+    assertThatThrownBy(exceptional::getException).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void overflow() {
+    List<Exception> exceptions = new ArrayList<>();
+
+    ExceptionalLong exceptional = ExceptionalLong
+        .attempt(() -> Long.parseLong("9223372036854775808"))
+        .ifException(exceptions::add);
+
+    assertThat(exceptional.isException()).isTrue();
+    assertThat(exceptions).containsExactly(exceptional.getException());
+    assertThat(exceptional.map(v -> v + 1).getException()).isSameAs(exceptions.get(0));
+    assertThat(exceptional.mapToObj(Long::toHexString).isException()).isTrue();
+    assertThat(exceptional.getOrDefault(Long.MIN_VALUE)).isEqualTo(Long.MIN_VALUE);
+    assertThat(exceptional.resumeOnException(e -> Long.MIN_VALUE).getValue())
+        .isEqualTo(Long.MIN_VALUE);
+    assertThat(exceptional.resumeOnException(e -> {
+      throw new IllegalStateException();
+    }).getException()).isInstanceOf(IllegalStateException.class);
+    assertThat(exceptional.ifException(e -> {
+      throw new IllegalStateException();
+    }).getException()).isInstanceOf(IllegalStateException.class);
+    assertThat(exceptional.boxed().getException()).isInstanceOf(NumberFormatException.class);
+    assertThatThrownBy(exceptional::getValue).isInstanceOf(IllegalStateException.class);
+    assertThat(ExceptionalLong.of(Long.MAX_VALUE).ifValue(Math::incrementExact).getException())
+        .isInstanceOf(ArithmeticException.class);
+    assertThat(ExceptionalLong.of(Long.MAX_VALUE).resumeOnException(e -> 0L).getValue())
+        .isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void empty() {
+    List<Long> values = new ArrayList<>();
+    ExceptionalLong exceptional = ExceptionalLong.empty().ifValue(values::add);
+
+    assertThat(exceptional.isEmpty()).isTrue();
+    assertThat(values).isEmpty();
+    assertThat(ExceptionalLong.exceptional(null)).isSameAs(exceptional);
+    assertThat(exceptional.getOrDefault(Long.MIN_VALUE)).isEqualTo(Long.MIN_VALUE);
+    assertThat(exceptional.map(v -> v + 1).isEmpty()).isTrue();
+    assertThat(exceptional.safelyMapToObj(v -> v).isEmpty()).isTrue();
+    assertThat(exceptional.boxed()).isSameAs(Exceptional.empty());
+    assertThat(exceptional.asOptional().isPresent()).isFalse();
+    assertThat(exceptional.asStream().count()).isZero();
+  }
+
+  @Test
+  void mapFromExceptional() {
+    assertThat(Exceptional.of(4_294_967_296L).mapToLong(v -> v * 2).getValue())
+        .isEqualTo(8_589_934_592L);
+    assertThat(Exceptional.of("4294967296").safelyMapToLong(Long::parseLong).getValue())
+        .isEqualTo(4_294_967_296L);
+    assertThat(Exceptional.of("x").safelyMapToLong(Long::parseLong).getException())
+        .isInstanceOf(NumberFormatException.class);
+    assertThat(Exceptional.<String>empty().mapToLong(Long::parseLong).isEmpty()).isTrue();
+    assertThat(Exceptional.<String>exceptional(new IOException()).safelyMapToLong(Long::parseLong)
+        .getException()).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void processCollection() {
+    LongProcessingResult result = ExceptionalLong
+        .processCollection(Arrays.asList("4294967296", "-4294967296"), Long::parseLong)
+        .getValue();
+    LongProcessingResult failed = ExceptionalLong
+        .processCollection(Arrays.asList("4294967296", "x", "1"), Long::parseLong)
+        .getValue();
+
+    assertThat(result.successResults()).containsExactly(4_294_967_296L, -4_294_967_296L);
+    result.successResults()[0] = 0;
+    assertThat(result.successResults()).containsExactly(4_294_967_296L, -4_294_967_296L);
+    assertThat(result.exception().isEmpty()).isTrue();
+    assertThat(failed.successResults()).containsExactly(4_294_967_296L);
+    assertThat(failed.successCount()).isEqualTo(1);
+    assertThat(failed.exception().getException()).isInstanceOf(NumberFormatException.class);
+    assertThat(ExceptionalLong.processCollection(Collections.<String>emptyList(), Long::parseLong)
+        .getValue().successResults()).isEmpty();
+  }
+}
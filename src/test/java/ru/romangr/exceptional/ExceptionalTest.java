@@ -4,17 +4,26 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import ru.romangr.exceptional.type.CaptureMode;
+import ru.romangr.exceptional.type.ExceptionalSupplier;
 import ru.romangr.exceptional.type.ExceptionalWrappedException;
+import ru.romangr.exceptional.type.LightweightException;
 import ru.romangr.exceptional.type.ProcessingResult;
 
 @Tag("unit")
@@ -102,6 +111,18 @@ class ExceptionalTest {
     assertThat(exceptional.getOrNull()).isNull();
   }
 
+  @Test
+  void emptyStateIsCanonical() {
+    String s = null;
+
+    assertThat(Exceptional.of(s)).isSameAs(Exceptional.empty());
+    assertThat(Exceptional.exceptional(s)).isSameAs(Exceptional.empty());
+    assertThat(Exceptional.of(Optional.empty())).isSameAs(Exceptional.empty());
+    assertThat(Exceptional.of("test").map(v -> null)).isSameAs(Exceptional.empty());
+    assertThat(Exceptional.of("test").safelyMap(v -> null)).isSameAs(Exceptional.empty());
+    assertThat(Exceptional.getExceptional(() -> null)).isSameAs(Exceptional.empty());
+  }
+
   @Test
   void getException() {
     Exception exception = newException();
@@ -949,6 +970,340 @@ class ExceptionalTest {
     assertThat(result.getValue().exception().getException()).isInstanceOf(RuntimeException.class);
   }
 
+  @Test
+  void processCollectionInBatches() {
+    List<List<Integer>> batches = new ArrayList<>();
+
+    Exceptional<ProcessingResult<Integer>> result = Exceptional.processCollectionInBatches(
+        Arrays.asList(1, 2, 3, 4, 5), 2, batch -> {
+          batches.add(new ArrayList<>(batch));
+          List<Integer> doubled = new ArrayList<>();
+          batch.forEach(e -> doubled.add(e == 3 ? null : e * 2));
+          return doubled;
+        });
+
+    assertThat(result.getValue().successResults()).containsExactly(2, 4, 8, 10);
+    assertThat(result.getValue().exception().isEmpty()).isTrue();
+    assertThat(batches).containsExactly(Arrays.asList(1, 2), Arrays.asList(3, 4),
+        Collections.singletonList(5));
+  }
+
+  @Test
+  void processCollectionInBatchesBisectsFailedBatch() {
+    List<List<Integer>> batches = new ArrayList<>();
+
+    Exceptional<ProcessingResult<Integer>> result = Exceptional.processCollectionInBatches(
+        new HashSet<>(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)), 8, batch -> {
+          batches.add(new ArrayList<>(batch));
+          if (batch.contains(5) || batch.contains(7)) {
+            throw new IllegalArgumentException();
+          }
+          return batch;
+        });
+
+    assertThat(result.getValue().successResults()).containsExactly(0, 1, 2, 3, 4);
+    assertThat(result.getValue().exception().getException())
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(batches).containsExactly(
+        Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7),
+        Arrays.asList(0, 1, 2, 3),
+        Arrays.asList(4, 5, 6, 7),
+        Arrays.asList(4, 5),
+        Collections.singletonList(4),
+        Collections.singletonList(5));
+  }
+
+  @Test
+  void processCollectionInBatchesRejectsWrongNumberOfResults() {
+    Exceptional<ProcessingResult<Integer>> result = Exceptional.processCollectionInBatches(
+        Arrays.asList(1, 2, 3), 3, batch -> batch.contains(2) ? Collections.emptyList() : batch);
+
+    assertThat(result.getValue().successResults()).containsExactly(1);
+    assertThat(result.getValue().exception().getException())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Batch mapper returned 0 results for 1 elements");
+  }
+
+  @Test
+  void processEmptyCollectionInBatches() {
+    Exceptional<ProcessingResult<Integer>> result = Exceptional.processCollectionInBatches(
+        Collections.<Integer>emptyList(), 10, batch -> {
+          throw new IllegalStateException();
+        });
+
+    assertThat(result.getValue().successResults()).isEmpty();
+    assertThat(result.getValue().exception().isEmpty()).isTrue();
+    assertThatThrownBy(() -> Exceptional.processCollectionInBatches(
+        Collections.<Integer>emptyList(), 0, batch -> batch))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void processCollectionInParallel() {
+    List<String> collection = numbers(10_000);
+
+    Exceptional<ProcessingResult<Integer>> result = Exceptional.processCollectionInParallel(
+        collection, e -> Exceptional.getExceptional(() -> Integer.parseInt(e)));
+
+    assertThat(result.getValue().successResults())
+        .hasSize(10_000)
+        .isSorted();
+    assertThat(result.getValue().exception().isEmpty()).isTrue();
+  }
+
+  @Test
+  void processCollectionInParallelWithException() {
+    List<String> collection = numbers(10_000);
+    collection.set(7_000, "not a number");
+    collection.set(9_000, "not a number either");
+
+    Exceptional<ProcessingResult<Integer>> result = Exceptional.processCollectionInParallel(
+        collection, e -> Exceptional.getExceptional(() -> Integer.parseInt(e)));
+
+    assertThat(result.getValue().successResults())
+        .hasSize(7_000)
+        .isSorted()
+        .startsWith(0, 1, 2)
+        .endsWith(6_998, 6_999);
+    assertThat(result.getValue().exception().getException())
+        .isInstanceOf(NumberFormatException.class)
+        .hasMessageContaining("not a number");
+  }
+
+  @Test
+  void processCollectionInParallelSkipsEmptyResults() {
+    Collection<String> collection = new HashSet<>(numbers(100));
+
+    Exceptional<ProcessingResult<Integer>> result = Exceptional.processCollectionInParallel(
+        collection,
+        e -> Exceptional.getExceptional(() -> Integer.parseInt(e)).map(i -> i % 2 == 0 ? i : null),
+        new ForkJoinPool(4), 10);
+
+    assertThat(result.getValue().successResults())
+        .hasSize(50)
+        .allMatch(i -> i % 2 == 0);
+    assertThat(result.getValue().exception().isEmpty()).isTrue();
+  }
+
+  @Test
+  void smallCollectionIsProcessedOnCallerThread() {
+    Thread caller = Thread.currentThread();
+    List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+
+    Exceptional<ProcessingResult<String>> result = Exceptional.processCollectionInParallel(
+        numbers(10), e -> {
+          threads.add(Thread.currentThread());
+          return Exceptional.of(e);
+        });
+
+    assertThat(result.getValue().successResults()).hasSize(10);
+    assertThat(threads).containsOnly(caller);
+  }
+
+  @Test
+  void processCollectionInParallelStopsAfterFailure() {
+    AtomicInteger processed = new AtomicInteger();
+    List<String> collection = numbers(100_000);
+    collection.set(0, "not a number");
+
+    Exceptional<ProcessingResult<Integer>> result = Exceptional.processCollectionInParallel(
+        collection, e -> {
+          processed.incrementAndGet();
+          return Exceptional.getExceptional(() -> Integer.parseInt(e));
+        }, new ForkJoinPool(2), 1);
+
+    assertThat(result.getValue().successResults()).isEmpty();
+    assertThat(result.getValue().exception().isException()).isTrue();
+    assertThat(processed.get()).isLessThan(100_000);
+  }
+
+  @Test
+  void processCollectionConcurrently() {
+    Exceptional<ProcessingResult<Integer>> result = Exceptional.processCollectionConcurrently(
+        numbers(1_000), e -> Exceptional.getExceptional(() -> Integer.parseInt(e)), 16);
+
+    assertThat(result.getValue().successResults())
+        .hasSize(1_000)
+        .isSorted();
+    assertThat(result.getValue().exception().isEmpty()).isTrue();
+  }
+
+  @Test
+  void processCollectionConcurrentlyWithException() {
+    List<String> collection = numbers(1_000);
+    collection.set(500, "not a number");
+
+    Exceptional<ProcessingResult<Integer>> result = Exceptional.processCollectionConcurrently(
+        collection, e -> Exceptional.getExceptional(() -> Integer.parseInt(e)), 8);
+
+    assertThat(result.getValue().successResults())
+        .hasSize(500)
+        .isSorted();
+    assertThat(result.getValue().exception().getException())
+        .isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  void processCollectionConcurrentlyBoundsConcurrency() {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    Exceptional<ProcessingResult<String>> result = Exceptional.processCollectionConcurrently(
+        numbers(200), e -> Exceptional.getExceptional(() -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          Thread.sleep(1);
+          running.decrementAndGet();
+          return e;
+        }), 4);
+
+    assertThat(result.getValue().successResults()).hasSize(200);
+    assertThat(maxRunning.get()).isBetween(1, 4);
+  }
+
+  @Test
+  void processCollectionConcurrentlyRethrowsMapperException() {
+    assertThatThrownBy(() -> Exceptional.processCollectionConcurrently(numbers(10), e -> {
+      throw new IllegalStateException(e);
+    }, 2)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void processCollectionConcurrentlyRethrowsMapperError() {
+    assertThatThrownBy(() -> Exceptional.processCollectionConcurrently(numbers(10), e -> {
+      throw new AssertionError(e);
+    }, 2)).isInstanceOf(AssertionError.class);
+    assertThatThrownBy(() -> Exceptional.processCollectionConcurrently(numbers(10), e -> {
+      throw ExceptionalTest.<RuntimeException>sneakyThrow(new IOException());
+    }, 2)).isInstanceOf(ExceptionalWrappedException.class).hasCauseInstanceOf(IOException.class);
+  }
+
+  @Test
+  void processEmptyCollectionConcurrently() {
+    Exceptional<ProcessingResult<String>> result = Exceptional.processCollectionConcurrently(
+        Collections.<String>emptyList(), Exceptional::of, 2);
+
+    assertThat(result.getValue().successResults()).isEmpty();
+    assertThatThrownBy(() -> Exceptional.processCollectionConcurrently(
+        numbers(1), Exceptional::of, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void processCollectionConcurrentlyInterrupted() {
+    Thread.currentThread().interrupt();
+
+    Exceptional<ProcessingResult<String>> result = Exceptional.processCollectionConcurrently(
+        numbers(10), Exceptional::of, 2);
+
+    assertThat(Thread.interrupted()).isTrue();
+    assertThat(result.getException()).isInstanceOf(InterruptedException.class);
+  }
+
+  @Test
+  void processCollectionConcurrentlyInterruptedCancelsRunningTasks() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch cancelled = new CountDownLatch(1);
+    Thread caller = Thread.currentThread();
+    Thread interrupter = new Thread(() -> {
+      try {
+        started.await();
+      } catch (InterruptedException e) {
+        return;
+      }
+      caller.interrupt();
+    });
+    interrupter.start();
+
+    Exceptional<ProcessingResult<String>> result = Exceptional.processCollectionConcurrently(
+        numbers(2), s -> {
+          started.countDown();
+          try {
+            Thread.sleep(10_000);
+          } catch (InterruptedException e) {
+            cancelled.countDown();
+          }
+          return Exceptional.of(s);
+        }, 2);
+
+    assertThat(Thread.interrupted()).isTrue();
+    assertThat(result.getException()).isInstanceOf(InterruptedException.class);
+    assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+    interrupter.join();
+  }
+
+  @Test
+  void attemptAll() {
+    List<ExceptionalSupplier<Integer>> suppliers = Arrays.asList(
+        () -> 1,
+        () -> {
+          throw new IllegalStateException();
+        },
+        () -> null,
+        () -> 4
+    );
+
+    List<Exceptional<Integer>> results = Exceptional.attemptAll(suppliers, 2);
+
+    assertThat(results).hasSize(4);
+    assertThat(results.get(0).getValue()).isEqualTo(1);
+    assertThat(results.get(1).getException()).isInstanceOf(IllegalStateException.class);
+    assertThat(results.get(2).isEmpty()).isTrue();
+    assertThat(results.get(3).getValue()).isEqualTo(4);
+    assertThat(Exceptional.attemptAll(Collections.<ExceptionalSupplier<Integer>>emptyList(), 1))
+        .isEmpty();
+  }
+
+  @Test
+  void attemptAllRethrowsError() {
+    List<ExceptionalSupplier<Integer>> suppliers = Arrays.asList(() -> 1, () -> {
+      throw new AssertionError();
+    });
+
+    assertThatThrownBy(() -> Exceptional.attemptAll(suppliers, 2))
+        .isInstanceOf(AssertionError.class);
+  }
+
+  @Test
+  void attemptAllInterrupted() {
+    List<ExceptionalSupplier<Integer>> suppliers = Arrays.asList(() -> 1, () -> 2);
+    Thread.currentThread().interrupt();
+
+    List<Exceptional<Integer>> results = Exceptional.attemptAll(suppliers, 1);
+
+    assertThat(Thread.interrupted()).isTrue();
+    assertThat(results).hasSize(2)
+        .allMatch(Exceptional::isException);
+  }
+
+  @Test
+  void failure() {
+    Exceptional<String> exceptional = Exceptional.failure("not found");
+
+    assertThat(exceptional.getException())
+        .isInstanceOf(LightweightException.class)
+        .hasMessage("not found");
+  }
+
+  @Test
+  void stacklessFailure() {
+    Exceptional<String> exceptional = Exceptional.failure("not found", CaptureMode.STACKLESS);
+
+    assertThat(exceptional.getException()).hasMessage("not found");
+    assertThat(exceptional.getException().getStackTrace()).isEmpty();
+  }
+
+  private static List<String> numbers(int count) {
+    List<String> numbers = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      numbers.add(Integer.toString(i));
+    }
+    return numbers;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Throwable> RuntimeException sneakyThrow(Throwable exception) throws T {
+    throw (T) exception;
+  }
+
   private RuntimeException newException() {
     return new RuntimeException();
   }
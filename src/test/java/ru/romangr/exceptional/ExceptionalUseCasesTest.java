@@ -32,4 +32,13 @@ class ExceptionalUseCasesTest {
         .ifException(e -> assertThat(e).isInstanceOf(NumberFormatException.class));
   }
 
+  @Test
+  void parseIntWithoutBoxing() {
+    String possibleInt = "12345";
+
+    ExceptionalInt integer = ExceptionalInt.getExceptional(() -> Integer.parseInt(possibleInt));
+
+    assertThat(integer.getValue()).isEqualTo(12345);
+  }
+
 }
@@ -0,0 +1,211 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class ExceptionalsTest {
+
+  private final IOException exception = new IOException();
+
+  @Test
+  void values() {
+    Stream<Integer> values = Exceptionals.values(Stream.of(
+        Exceptional.of(1), Exceptional.empty(), Exceptional.exceptional(exception),
+        Exceptional.of(2)));
+
+    assertThat(values).containsExactly(1, 2);
+  }
+
+  @Test
+  void valuesByOne() {
+    Spliterator<Integer> values = Exceptionals.values(Stream.of(
+        Exceptional.<Integer>empty(), Exceptional.of(1), Exceptional.exceptional(exception)))
+        .spliterator();
+
+    assertThat(values.tryAdvance(value -> assertThat(value).isEqualTo(1))).isTrue();
+    assertThat(values.tryAdvance(value -> assertThat(value).isNull())).isFalse();
+    assertThat(values.hasCharacteristics(Spliterator.NONNULL)).isTrue();
+    assertThat(values.hasCharacteristics(Spliterator.SIZED)).isFalse();
+  }
+
+  @Test
+  void exceptions() {
+    Stream<Exception> exceptions = Exceptionals.exceptions(Stream.of(
+        Exceptional.of(1), Exceptional.empty(), Exceptional.exceptional(exception),
+        Exceptional.lazy(() -> {
+          throw exception;
+        })));
+
+    assertThat(exceptions).containsExactly(exception, exception);
+  }
+
+  @Test
+  void presentValues() {
+    Stream<String> values = Exceptionals.presentValues(
+        Stream.of(Optional.of("a"), Optional.empty(), Optional.of("b")));
+
+    assertThat(values).containsExactly("a", "b");
+  }
+
+  @Test
+  void parallelStream() {
+    Stream<Integer> values = Exceptionals.values(IntStream.range(0, 100_000).boxed()
+        .parallel()
+        .map(i -> i % 2 == 0 ? Exceptional.of(i) : Exceptional.<Integer>empty()));
+
+    assertThat(values.isParallel()).isTrue();
+    assertThat(values.collect(Collectors.toList()))
+        .isEqualTo(IntStream.range(0, 50_000).map(i -> i * 2).boxed()
+            .collect(Collectors.toList()));
+  }
+
+  @Test
+  void closingClosesSource() {
+    AtomicBoolean closed = new AtomicBoolean();
+
+    Exceptionals.exceptions(Stream.of(Exceptional.of(1)).onClose(() -> closed.set(true))).close();
+
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  void sequenceList() {
+    List<Exceptional<Integer>> source = Arrays.asList(Exceptional.of(1), Exceptional.of(2));
+    List<Exceptional<Integer>> linked = new LinkedList<>(source);
+
+    List<Integer> values = Exceptionals.sequence(source).getValue();
+
+    assertThat(values).containsExactly(1, 2);
+    assertThat(Exceptionals.sequence(linked).getValue()).containsExactly(1, 2);
+    assertThatThrownBy(() -> values.set(0, 3)).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void sequenceListWithFailure() {
+    IOException second = new IOException();
+    List<Exceptional<Integer>> source = Arrays.asList(Exceptional.empty(),
+        Exceptional.exceptional(exception), Exceptional.exceptional(second));
+
+    assertThat(Exceptionals.sequence(source).getException()).isSameAs(exception);
+    assertThat(Exceptionals.sequence(new LinkedList<>(source)).getException())
+        .isSameAs(exception);
+  }
+
+  @Test
+  void sequenceListWithEmpty() {
+    List<Exceptional<Integer>> source = Arrays.asList(Exceptional.of(1), Exceptional.empty());
+
+    assertThat(Exceptionals.sequence(source).isEmpty()).isTrue();
+    assertThat(Exceptionals.sequence(new LinkedList<>(source)).isEmpty()).isTrue();
+  }
+
+  @Test
+  void traverseList() {
+    List<String> source = Arrays.asList("1", "2", "3");
+
+    assertThat(Exceptionals.traverse(source, s -> Exceptional.attempt(() -> Integer.parseInt(s)))
+        .getValue()).containsExactly(1, 2, 3);
+    assertThat(Exceptionals.traverse(new LinkedList<>(source), s -> Exceptional.of(s + s))
+        .getValue()).containsExactly("11", "22", "33");
+    assertThat(Exceptionals.traverse(new LinkedList<>(source),
+        s -> "2".equals(s) ? Exceptional.empty() : Exceptional.of(s)).isEmpty()).isTrue();
+  }
+
+  @Test
+  void traverseListStopsAtFailure() {
+    AtomicInteger calls = new AtomicInteger();
+
+    Exceptional<List<Integer>> result = Exceptionals.traverse(Arrays.asList("1", "x", "3"), s -> {
+      calls.incrementAndGet();
+      return Exceptional.attempt(() -> Integer.parseInt(s));
+    });
+    Exceptional<List<Integer>> linkedResult = Exceptionals.traverse(
+        new LinkedList<>(Arrays.asList("x", "y")),
+        s -> Exceptional.attempt(() -> Integer.parseInt(s)));
+
+    assertThat(result.getException()).isInstanceOf(NumberFormatException.class);
+    assertThat(calls).hasValue(2);
+    assertThat(linkedResult.getException()).hasMessageContaining("\"x\"");
+  }
+
+  @Test
+  void traverseListInParallel() {
+    List<Integer> source = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      source.add(i);
+    }
+
+    Exceptional<List<Integer>> result = Exceptionals.traverseInParallel(source,
+        i -> Exceptional.of(i * 2));
+    Exceptional<List<Integer>> failed = Exceptionals.traverseInParallel(source,
+        i -> i % 1000 == 999
+            ? Exceptional.exceptional(new IllegalStateException(String.valueOf(i)))
+            : Exceptional.of(i), ForkJoinPool.commonPool(), 100);
+    Exceptional<List<Integer>> empty = Exceptionals.traverseInParallel(source,
+        i -> i == 5000 ? Exceptional.empty() : Exceptional.of(i), ForkJoinPool.commonPool(), 100);
+    Exceptional<List<Integer>> small = Exceptionals.traverseInParallel(Arrays.asList(1, 2),
+        Exceptional::of);
+
+    assertThat(result.getValue()).hasSize(10_000).startsWith(0, 2, 4).endsWith(19_998);
+    assertThat(failed.getException()).hasMessage("999");
+    assertThat(empty.isEmpty()).isTrue();
+    assertThat(small.getValue()).containsExactly(1, 2);
+  }
+
+  @Test
+  void sequenceMap() {
+    Map<String, Exceptional<Integer>> source = new LinkedHashMap<>();
+    source.put("a", Exceptional.of(1));
+    source.put("b", Exceptional.of(2));
+
+    Map<String, Integer> values = Exceptionals.sequence(source).getValue();
+
+    assertThat(values).containsExactly(entry("a", 1), entry("b", 2));
+    assertThat(values.get("b")).isEqualTo(2);
+    assertThat(values.get("c")).isNull();
+    assertThat(values.containsKey("a")).isTrue();
+    assertThat(values).hasSize(2);
+    assertThat(values.entrySet()).hasSize(2);
+    assertThatThrownBy(() -> values.put("c", 3)).isInstanceOf(UnsupportedOperationException.class);
+    source.put("c", Exceptional.empty());
+    assertThat(Exceptionals.sequence(source).isEmpty()).isTrue();
+    source.put("d", Exceptional.exceptional(exception));
+    assertThat(Exceptionals.sequence(source).getException()).isSameAs(exception);
+  }
+
+  @Test
+  void traverseMap() {
+    Map<String, String> source = new LinkedHashMap<>();
+    source.put("a", "1");
+    source.put("b", "2");
+
+    Exceptional<Map<String, Integer>> result =
+        Exceptionals.traverse(source, s -> Exceptional.attempt(() -> Integer.parseInt(s)));
+
+    assertThat(result.getValue()).containsExactly(entry("a", 1), entry("b", 2));
+    assertThat(Exceptionals.traverse(source, s -> Exceptional.empty()).isEmpty()).isTrue();
+    source.put("c", "x");
+    assertThat(Exceptionals.traverse(source, s -> Exceptional.attempt(() -> Integer.parseInt(s)))
+        .getException()).isInstanceOf(NumberFormatException.class);
+  }
+}
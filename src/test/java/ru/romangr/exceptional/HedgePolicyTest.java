@@ -0,0 +1,86 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class HedgePolicyTest {
+
+  @Test
+  void fixedDelay() {
+    HedgePolicy policy = HedgePolicy.fixedDelay(Duration.ofMillis(5));
+
+    for (int i = 0; i < 100; i++) {
+      policy.onAttempt();
+      assertThat(policy.tryAcquireHedge()).isTrue();
+      policy.recordLatency(1);
+    }
+    assertThat(policy.hedgeDelayNanos()).isEqualTo(Duration.ofMillis(5).toNanos());
+  }
+
+  @Test
+  void percentileDelay() {
+    HedgePolicy policy = HedgePolicy.builder()
+        .delay(Duration.ofNanos(1000))
+        .percentile(0.9)
+        .sampleSize(160)
+        .build();
+
+    for (int i = 1; i <= 15; i++) {
+      policy.recordLatency(i);
+    }
+    assertThat(policy.hedgeDelayNanos()).isEqualTo(1000);
+
+    for (int i = 16; i <= 160; i++) {
+      policy.recordLatency(i);
+    }
+    assertThat(policy.hedgeDelayNanos()).isEqualTo(144);
+  }
+
+  @Test
+  void percentileUsesMostRecentSamples() {
+    HedgePolicy policy = HedgePolicy.builder()
+        .percentile(0.5)
+        .sampleSize(16)
+        .build();
+
+    for (int i = 0; i < 16; i++) {
+      policy.recordLatency(1000);
+    }
+    for (int i = 0; i < 16; i++) {
+      policy.recordLatency(10);
+    }
+
+    assertThat(policy.hedgeDelayNanos()).isEqualTo(10);
+  }
+
+  @Test
+  void budgetLimitsHedges() {
+    HedgePolicy policy = HedgePolicy.builder().budget(0.1).build();
+
+    int hedges = 0;
+    for (int i = 0; i < 1000; i++) {
+      policy.onAttempt();
+      if (policy.tryAcquireHedge()) {
+        hedges++;
+      }
+    }
+
+    assertThat(hedges).isBetween(100, 110);
+  }
+
+  @Test
+  void invalidConfiguration() {
+    HedgePolicy.Builder builder = HedgePolicy.builder();
+
+    assertThatThrownBy(() -> builder.delay(Duration.ofMillis(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.percentile(0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.sampleSize(1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.budget(1.5)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,129 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class HedgedAttemptTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final AtomicInteger calls = new AtomicInteger();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void fastCallIsNotHedged() {
+    Exceptional<Integer> result =
+        Exceptional.hedged(calls::incrementAndGet, Duration.ofSeconds(10), executor);
+
+    assertThat(result.getValue()).isEqualTo(1);
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void slowCallIsHedgedAndCancelled() throws InterruptedException {
+    CountDownLatch cancelled = new CountDownLatch(1);
+    Exceptional<String> result = Exceptional.hedged(() -> {
+      if (calls.incrementAndGet() == 1) {
+        try {
+          Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+          cancelled.countDown();
+          throw e;
+        }
+        return "primary";
+      }
+      return "backup";
+    }, Duration.ofMillis(10), executor);
+
+    assertThat(result.getValue()).isEqualTo("backup");
+    assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void fastFailureIsReturned() {
+    Exceptional<Integer> result = Exceptional.hedged(() -> {
+      calls.incrementAndGet();
+      return Integer.parseInt("x");
+    }, Duration.ofSeconds(10), executor);
+
+    assertThat(result.getException()).isInstanceOf(NumberFormatException.class);
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void failedBackupWaitsForPrimary() {
+    Exceptional<String> result = Exceptional.hedged(() -> {
+      if (calls.incrementAndGet() == 1) {
+        Thread.sleep(100);
+        return "primary";
+      }
+      throw new IOException("backup");
+    }, Duration.ofMillis(10), executor);
+
+    assertThat(result.getValue()).isEqualTo("primary");
+  }
+
+  @Test
+  void bothFailed() {
+    Exceptional<String> result = Exceptional.hedged(() -> {
+      int call = calls.incrementAndGet();
+      if (call == 1) {
+        Thread.sleep(100);
+      }
+      throw new IOException("call " + call);
+    }, Duration.ofMillis(10), executor);
+
+    assertThat(result.getException()).hasMessage("call 2");
+  }
+
+  @Test
+  void errorIsRethrown() {
+    assertThatThrownBy(() -> Exceptional.hedged(() -> {
+      throw new AssertionError("error");
+    }, Duration.ofSeconds(10), executor)).isInstanceOf(AssertionError.class);
+  }
+
+  @Test
+  void exhaustedBudgetPreventsHedging() {
+    HedgePolicy policy = HedgePolicy.builder()
+        .delay(Duration.ZERO)
+        .budget(0)
+        .build();
+
+    Exceptional<Integer> result = Exceptional.hedged(() -> {
+      Thread.sleep(20);
+      return calls.incrementAndGet();
+    }, policy, executor);
+
+    assertThat(result.getValue()).isEqualTo(1);
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void interruptedCaller() {
+    Thread.currentThread().interrupt();
+
+    Exceptional<Integer> result = Exceptional.hedged(() -> {
+      Thread.sleep(10_000);
+      return 1;
+    }, Duration.ofSeconds(10), executor);
+
+    assertThat(Thread.interrupted()).isTrue();
+    assertThat(result.getException()).isInstanceOf(InterruptedException.class);
+  }
+}
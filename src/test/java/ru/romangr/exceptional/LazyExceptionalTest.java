@@ -0,0 +1,159 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class LazyExceptionalTest {
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  @Test
+  void supplierIsNotCalledUntilUsed() {
+    Exceptional<Integer> exceptional = Exceptional.lazy(calls::incrementAndGet)
+        .map(i -> i * 2)
+        .safelyMap(i -> i + 1)
+        .flatMap(Exceptional::of);
+
+    assertThat(calls).hasValue(0);
+    assertThat(exceptional.getValue()).isEqualTo(3);
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void outcomeIsMemoized() {
+    Exceptional<Integer> exceptional = Exceptional.lazy(calls::incrementAndGet);
+
+    assertThat(exceptional.getValue()).isEqualTo(1);
+    assertThat(exceptional.getOrDefault(5)).isEqualTo(1);
+    assertThat(exceptional.asOptional()).contains(1);
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void exceptionIsMemoized() {
+    Exceptional<Integer> exceptional = Exceptional.lazy(() -> {
+      calls.incrementAndGet();
+      return Integer.parseInt("x");
+    });
+
+    assertThat(exceptional.isException()).isTrue();
+    assertThat(exceptional.getException()).isInstanceOf(NumberFormatException.class);
+    assertThat(exceptional.resumeOnException(e -> -1).getValue()).isEqualTo(-1);
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void nullValueIsEmpty() {
+    Exceptional<String> exceptional = Exceptional.lazy(() -> null);
+
+    assertThat(exceptional.isEmpty()).isTrue();
+    assertThat(exceptional.isValuePresent()).isFalse();
+    assertThat(exceptional.getOrNull()).isNull();
+    assertThat(exceptional.flatMapIfEmpty(() -> Exceptional.of("value")).getValue())
+        .isEqualTo("value");
+  }
+
+  @Test
+  void sharedSourceIsEvaluatedOnce() {
+    Exceptional<Integer> source = Exceptional.lazy(calls::incrementAndGet);
+    Exceptional<Integer> first = source.map(i -> i + 10);
+    Exceptional<Integer> second = source.map(i -> i + 20);
+
+    assertThat(first.getValue()).isEqualTo(11);
+    assertThat(second.getValue()).isEqualTo(21);
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void mapDoesNotCatchException() {
+    Exceptional<Integer> exceptional = Exceptional.lazy(() -> "test")
+        .map(s -> {
+          throw new IllegalArgumentException(s);
+        });
+
+    assertThatThrownBy(exceptional::getValue).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void terminalMethodsDelegate() {
+    List<Object> consumed = new ArrayList<>();
+    Exceptional<String> exceptional = Exceptional.lazy(() -> "value");
+
+    exceptional.ifValue(consumed::add);
+    exceptional.ifException(consumed::add);
+    exceptional.ifEmpty(() -> consumed.add(0));
+
+    assertThat(consumed).containsExactly("value");
+    assertThat(exceptional.asStream().collect(Collectors.toList())).containsExactly("value");
+    assertThat(exceptional.getOrThrow()).isEqualTo("value");
+    assertThat(exceptional.getOrThrowRuntime()).isEqualTo("value");
+    assertThat(exceptional.mapToInt(String::length).getValue()).isEqualTo(5);
+    assertThat(exceptional.safelyMapToLong(String::length).getValue()).isEqualTo(5L);
+    assertThat(exceptional.mapToDouble(String::length).getValue()).isEqualTo(5.0);
+    assertThat(exceptional.safelyMapToInt(String::length).getValue()).isEqualTo(5);
+    assertThat(exceptional.mapToLong(String::length).getValue()).isEqualTo(5L);
+    assertThat(exceptional.safelyMapToDouble(String::length).getValue()).isEqualTo(5.0);
+  }
+
+  @Test
+  void exceptionHandlingDelegates() {
+    List<Exception> handled = new ArrayList<>();
+    Exceptional<Integer> exceptional = Exceptional.lazy(() -> Integer.parseInt("x"));
+
+    exceptional.ifException(NumberFormatException.class, handled::add);
+    exceptional.mapException(IllegalStateException::new)
+        .handleException(IllegalStateException.class, handled::add);
+    exceptional.mapException(NumberFormatException.class, IllegalArgumentException::new)
+        .handleException(handled::add);
+    exceptional.handleException(handled::add);
+    exceptional.handleException(handled::add);
+
+    assertThat(handled).hasSize(4);
+    assertThat(handled.get(0)).isInstanceOf(NumberFormatException.class);
+    assertThat(handled.get(1)).isInstanceOf(IllegalStateException.class);
+    assertThat(handled.get(2)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(handled.get(3)).isInstanceOf(NumberFormatException.class);
+    assertThat(exceptional.asOptional()).isEqualTo(Optional.empty());
+  }
+
+  @Test
+  void concurrentFirstUseCallsSupplierOnce() throws Exception {
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    Exceptional<Integer> exceptional = Exceptional.lazy(() -> {
+      Thread.sleep(10);
+      return calls.incrementAndGet();
+    });
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return exceptional.getValue();
+        }));
+      }
+      start.countDown();
+      for (Future<Integer> result : results) {
+        assertThat(result.get()).isEqualTo(1);
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(calls).hasValue(1);
+  }
+}
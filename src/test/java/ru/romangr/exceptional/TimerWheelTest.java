@@ -0,0 +1,196 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.romangr.exceptional.type.DeadlineExceededException;
+
+@Tag("unit")
+class TimerWheelTest {
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  @Test
+  void fastSupplierCompletes() {
+    Exceptional<Integer> result =
+        Exceptional.attemptWithin(Duration.ofSeconds(10), calls::incrementAndGet);
+
+    assertThat(result.getValue()).isEqualTo(1);
+    assertThat(Thread.currentThread().isInterrupted()).isFalse();
+  }
+
+  @Test
+  void slowSupplierIsInterrupted() {
+    long start = System.nanoTime();
+
+    Exceptional<Integer> result = Exceptional.attemptWithin(Duration.ofMillis(20), () -> {
+      Thread.sleep(10_000);
+      return 1;
+    });
+
+    assertThat(result.getException()).isInstanceOf(DeadlineExceededException.class);
+    assertThat(result.getException().getStackTrace()).isEmpty();
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    assertThat(Thread.currentThread().isInterrupted()).isFalse();
+  }
+
+  @Test
+  void supplierIgnoringInterruptionTimesOut() {
+    Exceptional<Integer> result = Exceptional.attemptWithin(Duration.ofMillis(5), () -> {
+      long end = System.nanoTime() + Duration.ofMillis(50).toNanos();
+      while (System.nanoTime() < end) {
+        calls.incrementAndGet();
+      }
+      return 1;
+    });
+
+    assertThat(result.getException()).isInstanceOf(DeadlineExceededException.class);
+    assertThat(Thread.interrupted()).isFalse();
+  }
+
+  @Test
+  void interruptionPrecedingExpirationIsKept() {
+    Thread.currentThread().interrupt();
+
+    Exceptional<Integer> result = Exceptional.attemptWithin(Duration.ofMillis(5), () -> {
+      long end = System.nanoTime() + Duration.ofMillis(50).toNanos();
+      while (System.nanoTime() < end) {
+        calls.incrementAndGet();
+      }
+      return 1;
+    });
+
+    assertThat(result.getException()).isInstanceOf(DeadlineExceededException.class);
+    assertThat(Thread.interrupted()).isTrue();
+  }
+
+  @Test
+  void errorCancelsTimeout() throws InterruptedException {
+    assertThatThrownBy(() -> Exceptional.attemptWithin(Duration.ofMillis(20), () -> {
+      throw new AssertionError();
+    })).isInstanceOf(AssertionError.class);
+
+    Thread.sleep(100);
+
+    assertThat(Thread.interrupted()).isFalse();
+  }
+
+  @Test
+  void expiredDeadlineFailsFast() {
+    Deadline deadline = Deadline.after(Duration.ofMillis(-1));
+
+    Exceptional<Integer> result = Exceptional.attemptWithin(deadline, calls::incrementAndGet);
+
+    assertThat(result.getException()).isInstanceOf(DeadlineExceededException.class);
+    assertThat(calls).hasValue(0);
+  }
+
+  @Test
+  void deadlinePropagatesThroughStages() {
+    Deadline deadline = Deadline.after(Duration.ofMillis(30));
+
+    Exceptional<Integer> result = Exceptional.attemptWithin(deadline, () -> "1")
+        .safelyMapWithin(deadline, Integer::parseInt)
+        .safelyMapWithin(deadline, i -> {
+          Thread.sleep(10_000);
+          return i;
+        })
+        .flatMapWithin(deadline, i -> Exceptional.of(calls.incrementAndGet()));
+
+    assertThat(result.getException()).isInstanceOf(DeadlineExceededException.class);
+    assertThat(calls).hasValue(0);
+  }
+
+  @Test
+  void stagesCompleteWithinDeadline() {
+    Deadline deadline = Deadline.after(Duration.ofSeconds(10));
+
+    Exceptional<Integer> result = Exceptional.of("20")
+        .safelyMapWithin(deadline, Integer::parseInt)
+        .flatMapWithin(deadline, i -> Exceptional.of(i + 1));
+
+    assertThat(result.getValue()).isEqualTo(21);
+  }
+
+  @Test
+  void stagesSkipFailures() {
+    Deadline deadline = Deadline.after(Duration.ofMillis(-1));
+
+    Exceptional<Integer> result = Exceptional.<String>empty()
+        .safelyMapWithin(deadline, Integer::parseInt)
+        .flatMapWithin(deadline, i -> Exceptional.of(i + 1));
+
+    assertThat(result.isEmpty()).isTrue();
+  }
+
+  @Test
+  void flatMapDoesNotCatchException() {
+    Deadline deadline = Deadline.after(Duration.ofSeconds(10));
+
+    assertThatThrownBy(() -> Exceptional.of("test").flatMapWithin(deadline, s -> {
+      throw new IllegalArgumentException(s);
+    })).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void flatMapExceptionAfterDeadlineIsTimeout() {
+    Deadline deadline = Deadline.after(Duration.ofMillis(10));
+
+    Exceptional<Object> result = Exceptional.of("test").flatMapWithin(deadline, s -> {
+      try {
+        Thread.sleep(10_000);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      return Exceptional.of(s);
+    });
+
+    assertThat(result.getException()).isInstanceOf(DeadlineExceededException.class);
+  }
+
+  @Test
+  void lazyStagesUseDeadline() {
+    Deadline deadline = Deadline.after(Duration.ofSeconds(10));
+
+    Exceptional<Integer> result = Exceptional.lazy(() -> "1")
+        .safelyMapWithin(deadline, Integer::parseInt)
+        .flatMapWithin(deadline, i -> Exceptional.of(i + 1));
+
+    assertThat(result.getValue()).isEqualTo(2);
+  }
+
+  @Test
+  void manyConcurrentCalls() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<Exceptional<Integer>>> results = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        int index = i;
+        results.add(executor.submit(() -> Exceptional.attemptWithin(Duration.ofMillis(50), () -> {
+          if (index % 10 == 0) {
+            Thread.sleep(10_000);
+          }
+          return index;
+        })));
+      }
+      int timeouts = 0;
+      for (Future<Exceptional<Integer>> result : results) {
+        if (result.get().isException()) {
+          timeouts++;
+        }
+      }
+      assertThat(timeouts).isEqualTo(100);
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,313 @@
+package ru.romangr.exceptional.deadletter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.romangr.exceptional.Exceptional;
+import ru.romangr.exceptional.type.ColumnarProcessingResult;
+import ru.romangr.exceptional.type.ProcessingResult;
+
+@Tag("unit")
+class DeadLetterLogTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void appendedLettersAreRead() throws IOException {
+    try (DeadLetterLog<String> log = DeadLetterLog.open(directory, ElementSerializer.strings())) {
+      log.accept("a", new IllegalStateException("bad a"));
+      log.accept("b", new IOException());
+
+      List<DeadLetter<String>> letters = log.letters().getValue();
+
+      assertThat(letters).extracting(DeadLetter::element).containsExactly("a", "b");
+      assertThat(letters).extracting(DeadLetter::exceptionClass)
+          .containsExactly(IllegalStateException.class.getName(), IOException.class.getName());
+      assertThat(letters).extracting(DeadLetter::message).containsExactly("bad a", null);
+    }
+  }
+
+  @Test
+  void recordingMapperAppendsFailures() throws IOException {
+    try (DeadLetterLog<String> log = DeadLetterLog.open(directory, ElementSerializer.strings())) {
+      Exceptional<ProcessingResult<Integer>> result = Exceptional.processCollection(
+          Arrays.asList("1", "x"),
+          log.recording(s -> Exceptional.attempt(() -> Integer.parseInt(s))));
+
+      assertThat(result.getValue().successResults()).containsExactly(1);
+      assertThat(log.letters().getValue()).extracting(DeadLetter::element).containsExactly("x");
+    }
+  }
+
+  @Test
+  void replayFeedsElementsToMapper() throws IOException {
+    try (DeadLetterLog<String> log = DeadLetterLog.open(directory, ElementSerializer.strings())) {
+      log.accept("1", new IOException());
+      log.accept("y", new IOException());
+      log.accept("3", new IOException());
+
+      ColumnarProcessingResult<Integer> result = log.replay(
+          log.recording(s -> Exceptional.attempt(() -> Integer.parseInt(s)))).getValue();
+
+      assertThat(result.successResults()).containsExactly(1, 3);
+      assertThat(result.failureIndex(0)).isEqualTo(1);
+      assertThat(result.failure(0)).isInstanceOf(NumberFormatException.class);
+      assertThat(log.letters().getValue()).hasSize(4);
+    }
+  }
+
+  @Test
+  void replayReportsElementsFailedToDeserialize() throws IOException {
+    ElementSerializer<String> failing = new ElementSerializer<String>() {
+      @Override
+      public byte[] serialize(String element) {
+        return element.getBytes();
+      }
+
+      @Override
+      public String deserialize(byte[] bytes) throws IOException {
+        throw new IOException("unreadable");
+      }
+    };
+    try (DeadLetterLog<String> log = DeadLetterLog.open(directory, failing)) {
+      log.accept("a", new IOException());
+
+      assertThat(log.replay(Exceptional::of).getValue().failure(0)).hasMessage("unreadable");
+      assertThat(log.letters().getException()).hasMessage("unreadable");
+    }
+  }
+
+  @Test
+  void segmentsRollOver() throws IOException {
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 256)) {
+      for (int i = 0; i < 100; i++) {
+        log.accept("element " + i, new IllegalArgumentException("message " + i));
+      }
+
+      assertThat(log.letters().getValue()).extracting(DeadLetter::element)
+          .containsExactlyElementsOf(
+              Stream.iterate(0, i -> i + 1).limit(100).map(i -> "element " + i)
+                  .collect(Collectors.toList()));
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.count()).isGreaterThan(10);
+    }
+  }
+
+  @Test
+  void reopenedLogUsesNewSegmentSize() throws IOException {
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 256)) {
+      log.accept("small", new IOException());
+    }
+    String large = new String(new char[1000]).replace('\0', 'x');
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 4096)) {
+      log.accept(large, new IOException());
+
+      assertThat(log.letters().getValue()).extracting(DeadLetter::element)
+          .containsExactly("small", large);
+    }
+  }
+
+  @Test
+  void lettersAreReadThroughSegmentMappings() throws IOException {
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 256)) {
+      for (int i = 0; i < 10; i++) {
+        log.accept("old " + i, new IOException());
+      }
+    }
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 256)) {
+      for (int i = 0; i < 10; i++) {
+        log.accept("new " + i, new IOException());
+      }
+      Files.delete(directory.resolve("segment-0000000000000000.log"));
+      Files.delete(directory.resolve("segment-0000000000000002.log"));
+
+      assertThat(log.letters().getValue()).hasSize(20);
+      assertThat(log.replay(Exceptional::of).getValue().successResults()).hasSize(20);
+    }
+  }
+
+  @Test
+  void reopenedLogKeepsLetters() throws IOException {
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 256)) {
+      for (int i = 0; i < 10; i++) {
+        log.accept("old " + i, new IOException());
+      }
+    }
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 256)) {
+      log.accept("new", new IOException());
+
+      List<DeadLetter<String>> letters = log.letters().getValue();
+      assertThat(letters).hasSize(11);
+      assertThat(letters.get(0).element()).isEqualTo("old 0");
+      assertThat(letters.get(10).element()).isEqualTo("new");
+    }
+  }
+
+  @Test
+  void recordsFollowingUnfinishedOneAreDiscarded() throws IOException {
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 256)) {
+      log.accept("a", new IOException());
+      log.accept("b", new IOException());
+      log.accept("c", new IOException());
+    }
+    try (FileChannel channel = FileChannel.open(
+        directory.resolve("segment-0000000000000000.log"), StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.allocate(Integer.BYTES), 33);
+    }
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 256)) {
+      log.accept("dd", new IOException());
+    }
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 256)) {
+      assertThat(log.letters().getValue()).extracting(DeadLetter::element)
+          .containsExactly("a", "dd");
+    }
+  }
+
+  @Test
+  void concurrentAppends() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 1024)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 500; i++) {
+            log.accept(thread + "-" + i, new IOException());
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+
+      Set<String> elements = new HashSet<>();
+      log.letters().getValue().forEach(letter -> elements.add(letter.element()));
+      assertThat(elements).hasSize(2000).contains("0-0", "3-499");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void readsDuringAppendsSeeOnlyWrittenRecords() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (DeadLetterLog<String> log = DeadLetterLog.open(directory, ElementSerializer.strings())) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 3; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 2000; i++) {
+            log.accept(thread + "-" + i, new IOException("message " + i));
+          }
+          return null;
+        }));
+      }
+      int read = 0;
+      while (!futures.stream().allMatch(Future::isDone)) {
+        List<DeadLetter<String>> letters = log.letters().getValue();
+        assertThat(letters.size()).isGreaterThanOrEqualTo(read);
+        for (DeadLetter<String> letter : letters) {
+          assertThat(letter.message()).isEqualTo(
+              "message " + letter.element().substring(letter.element().indexOf('-') + 1));
+        }
+        read = letters.size();
+      }
+      for (Future<?> future : futures) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+      assertThat(log.letters().getValue()).hasSize(6000);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void invalidAppends() throws IOException {
+    DeadLetterLog<String> log = DeadLetterLog.open(directory, ElementSerializer.strings(), 64);
+
+    assertThatThrownBy(() -> log.accept(new String(new char[100]), new IOException()))
+        .isInstanceOf(IOException.class)
+        .hasMessageStartingWith("Record of");
+    log.close();
+    assertThatThrownBy(() -> log.accept("a", new IOException()))
+        .isInstanceOf(IOException.class)
+        .hasMessage("Dead letter log is closed");
+    assertThatThrownBy(() -> DeadLetterLog.open(directory, ElementSerializer.strings(), 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void failedAppendIsSuppressed() throws IOException {
+    DeadLetterLog<String> log = DeadLetterLog.open(directory, ElementSerializer.strings());
+    log.close();
+
+    Exception exception = log.<Integer>recording(s -> Exceptional.exceptional(new IOException()))
+        .apply("a")
+        .getException();
+
+    assertThat(exception.getSuppressed()).hasSize(1);
+  }
+
+  @Test
+  void failedRollIsRetried() throws IOException {
+    try (DeadLetterLog<String> log =
+             DeadLetterLog.open(directory, ElementSerializer.strings(), 64)) {
+      Path next = Files.createDirectory(directory.resolve("segment-0000000000000001.log"));
+      log.accept("a", new IOException());
+
+      assertThatThrownBy(() -> log.accept("b", new IOException()))
+          .isInstanceOf(IOException.class);
+      assertThatThrownBy(() -> log.accept("c", new IOException()))
+          .isInstanceOf(IOException.class);
+      Files.delete(next);
+      log.accept("d", new IOException());
+
+      assertThat(log.letters().getValue()).extracting(DeadLetter::element)
+          .containsExactly("a", "d");
+    }
+  }
+
+  @Test
+  void corruptedSegmentIsNotOpened() throws IOException {
+    Files.write(directory.resolve("segment-0000000000000000.log"),
+        new byte[]{0, 0, 0, 100, 1, 2, 3, 4});
+
+    assertThatThrownBy(() -> DeadLetterLog.open(directory, ElementSerializer.strings()))
+        .isInstanceOf(IOException.class)
+        .hasMessage("Corrupted record at offset 0");
+  }
+}
@@ -0,0 +1,187 @@
+package ru.romangr.exceptional.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.romangr.exceptional.Exceptional;
+import ru.romangr.exceptional.ExceptionalDouble;
+import ru.romangr.exceptional.ExceptionalInt;
+import ru.romangr.exceptional.ExceptionalLong;
+import ru.romangr.exceptional.metrics.InMemoryExceptionalListener.Snapshot;
+
+@Tag("unit")
+class InMemoryExceptionalListenerTest {
+
+  private final InMemoryExceptionalListener listener = new InMemoryExceptionalListener();
+
+  @BeforeEach
+  void setUp() {
+    ExceptionalMetrics.install(listener);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ExceptionalMetrics.uninstall();
+  }
+
+  @Test
+  void getExceptionalOutcomes() {
+    Exceptional.getExceptional(() -> 1);
+    Exceptional.attempt(() -> 2);
+    Exceptional.getExceptional(() -> null);
+    Exceptional.attempt(() -> {
+      throw new IOException();
+    });
+
+    Snapshot snapshot = listener.snapshot();
+    assertThat(snapshot.valueCount(CaptureSite.GET_EXCEPTIONAL)).isEqualTo(2);
+    assertThat(snapshot.emptyCount(CaptureSite.GET_EXCEPTIONAL)).isEqualTo(1);
+    assertThat(snapshot.failureCount(CaptureSite.GET_EXCEPTIONAL)).isEqualTo(1);
+    assertThat(snapshot.failureCount(CaptureSite.GET_EXCEPTIONAL, IOException.class)).isEqualTo(1);
+    assertThat(snapshot.failureCount(CaptureSite.SAFELY_MAP)).isZero();
+  }
+
+  @Test
+  void safelyMapOutcomes() {
+    Exceptional.of("1").safelyMap(Integer::parseInt);
+    Exceptional.of("x").safelyMap(Integer::parseInt);
+    Exceptional.of("y").safelyMap(Integer::parseInt);
+    Exceptional.of("1").safelyMap(s -> null);
+
+    Snapshot snapshot = listener.snapshot();
+    assertThat(snapshot.valueCount(CaptureSite.SAFELY_MAP)).isEqualTo(1);
+    assertThat(snapshot.emptyCount(CaptureSite.SAFELY_MAP)).isEqualTo(1);
+    assertThat(snapshot.failureCounts(CaptureSite.SAFELY_MAP))
+        .containsOnlyKeys(NumberFormatException.class)
+        .containsEntry(NumberFormatException.class, 2L);
+  }
+
+  @Test
+  void executeSafelyOutcomes() {
+    Exceptional.of(1).ifValue(v -> {
+    });
+    Exceptional.of(1).ifValue(v -> {
+      throw new IllegalStateException();
+    });
+    Exceptional.empty().ifEmpty(() -> {
+      throw new UnsupportedOperationException();
+    });
+
+    Snapshot snapshot = listener.snapshot();
+    assertThat(snapshot.valueCount(CaptureSite.EXECUTE_SAFELY)).isEqualTo(1);
+    assertThat(snapshot.failureCount(CaptureSite.EXECUTE_SAFELY, IllegalStateException.class))
+        .isEqualTo(1);
+    assertThat(
+        snapshot.failureCount(CaptureSite.EXECUTE_SAFELY, UnsupportedOperationException.class))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void processCollectionOutcomes() {
+    Exceptional.processCollection(Arrays.asList(1, null, 3),
+        e -> e == null ? Exceptional.empty() : Exceptional.of(e));
+    Exceptional.processCollection(Arrays.asList(1, 2),
+        e -> Exceptional.exceptional(new IOException()));
+
+    Snapshot snapshot = listener.snapshot();
+    assertThat(snapshot.valueCount(CaptureSite.PROCESS_COLLECTION)).isEqualTo(2);
+    assertThat(snapshot.emptyCount(CaptureSite.PROCESS_COLLECTION)).isEqualTo(1);
+    assertThat(snapshot.failureCount(CaptureSite.PROCESS_COLLECTION, IOException.class))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void resumeOnExceptionOutcomes() {
+    Exceptional.exceptional(new IOException()).resumeOnException(e -> 1);
+    Exceptional.exceptional(new IOException()).resumeOnException(e -> null);
+    Exceptional.exceptional(new IOException()).resumeOnException(e -> {
+      throw new IllegalStateException();
+    });
+    ExceptionalInt.exceptional(new IOException()).resumeOnException(e -> 1);
+
+    Snapshot snapshot = listener.snapshot();
+    assertThat(snapshot.valueCount(CaptureSite.RESUME_ON_EXCEPTION)).isEqualTo(2);
+    assertThat(snapshot.emptyCount(CaptureSite.RESUME_ON_EXCEPTION)).isEqualTo(1);
+    assertThat(snapshot.failureCount(CaptureSite.RESUME_ON_EXCEPTION, IllegalStateException.class))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void primitiveOutcomes() {
+    Exceptional.of("1").safelyMapToInt(Integer::parseInt);
+    Exceptional.of("x").safelyMapToLong(Long::parseLong);
+    Exceptional.of("1").safelyMapToDouble(Double::parseDouble);
+    ExceptionalLong.of(1).safelyMapToObj(v -> null);
+    ExceptionalDouble.getExceptional(() -> 1);
+    ExceptionalInt.getExceptional(() -> {
+      throw new IOException();
+    }).ifException(e -> {
+    });
+    ExceptionalInt.processCollection(Arrays.asList("1", "x"), Integer::parseInt);
+
+    Snapshot snapshot = listener.snapshot();
+    assertThat(snapshot.valueCount(CaptureSite.SAFELY_MAP)).isEqualTo(2);
+    assertThat(snapshot.emptyCount(CaptureSite.SAFELY_MAP)).isEqualTo(1);
+    assertThat(snapshot.failureCount(CaptureSite.SAFELY_MAP, NumberFormatException.class))
+        .isEqualTo(1);
+    assertThat(snapshot.valueCount(CaptureSite.GET_EXCEPTIONAL)).isEqualTo(1);
+    assertThat(snapshot.failureCount(CaptureSite.GET_EXCEPTIONAL, IOException.class))
+        .isEqualTo(1);
+    assertThat(snapshot.valueCount(CaptureSite.EXECUTE_SAFELY)).isEqualTo(1);
+    assertThat(snapshot.valueCount(CaptureSite.PROCESS_COLLECTION)).isEqualTo(1);
+    assertThat(snapshot.failureCount(CaptureSite.PROCESS_COLLECTION)).isEqualTo(1);
+  }
+
+  @Test
+  void listenersCountSeparately() {
+    InMemoryExceptionalListener other = new InMemoryExceptionalListener();
+    Exceptional.of("x").safelyMap(Integer::parseInt);
+    ExceptionalMetrics.install(other);
+
+    Exceptional.of("x").safelyMap(Integer::parseInt);
+    Exceptional.of("y").safelyMap(Integer::parseInt);
+
+    assertThat(listener.snapshot().failureCount(CaptureSite.SAFELY_MAP)).isEqualTo(1);
+    assertThat(other.snapshot().failureCount(CaptureSite.SAFELY_MAP, NumberFormatException.class))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void nothingIsRecordedWithoutListener() {
+    ExceptionalMetrics.uninstall();
+
+    Exceptional.getExceptional(() -> 1);
+    Exceptional.of("x").safelyMap(Integer::parseInt);
+
+    assertThat(ExceptionalMetrics.listener()).isNull();
+    Snapshot snapshot = listener.snapshot();
+    assertThat(snapshot.valueCount(CaptureSite.GET_EXCEPTIONAL)).isZero();
+    assertThat(snapshot.failureCount(CaptureSite.SAFELY_MAP)).isZero();
+  }
+
+  @Test
+  void snapshotIsUnmodifiable() {
+    Exceptional.of("x").safelyMap(Integer::parseInt);
+
+    assertThatThrownBy(() -> listener.snapshot().failureCounts(CaptureSite.SAFELY_MAP).clear())
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void defaultListenerMethodsDoNothing() {
+    ExceptionalMetrics.install(new ExceptionalListener() {
+    });
+
+    Exceptional.getExceptional(() -> 1);
+    Exceptional.getExceptional(() -> null);
+    Exceptional.of("x").safelyMap(Integer::parseInt);
+
+    assertThat(listener.snapshot().valueCount(CaptureSite.GET_EXCEPTIONAL)).isZero();
+  }
+}
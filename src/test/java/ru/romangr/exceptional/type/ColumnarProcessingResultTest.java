@@ -0,0 +1,115 @@
+package ru.romangr.exceptional.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.romangr.exceptional.Exceptional;
+
+@Tag("unit")
+class ColumnarProcessingResultTest {
+
+  @Test
+  void processAllElements() {
+    ColumnarProcessingResult<Integer> result = Exceptional
+        .processAll(Arrays.asList("1", "x", "3", "y", "5"), ColumnarProcessingResultTest::parse)
+        .getValue();
+
+    assertThat(result.size()).isEqualTo(5);
+    assertThat(result.successCount()).isEqualTo(3);
+    assertThat(result.failureCount()).isEqualTo(2);
+    assertThat(result.hasFailures()).isTrue();
+    assertThat(result.successResults()).containsExactly(1, 3, 5);
+    assertThat(result.failureIndex(0)).isEqualTo(1);
+    assertThat(result.failureIndex(1)).isEqualTo(3);
+    assertThat(result.failure(1)).isInstanceOf(NumberFormatException.class)
+        .hasMessageContaining("y");
+    assertThat(result.exceptions()).hasSize(2)
+        .allMatch(e -> e instanceof NumberFormatException);
+  }
+
+  @Test
+  void getByIndex() {
+    ColumnarProcessingResult<Integer> result = Exceptional
+        .processAll(Arrays.asList("1", "x", "3"),
+            s -> parse(s).map(i -> i == 3 ? null : i))
+        .getValue();
+
+    assertThat(result.get(0).getValue()).isEqualTo(1);
+    assertThat(result.get(1).getException()).isInstanceOf(NumberFormatException.class);
+    assertThat(result.get(2).isEmpty()).isTrue();
+    assertThat(result.successResults()).containsExactly(1);
+    assertThatThrownBy(() -> result.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> result.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void allSuccessful() {
+    ColumnarProcessingResult<Integer> result = Exceptional
+        .processAll(Arrays.asList("1", "2"), ColumnarProcessingResultTest::parse)
+        .getValue();
+
+    assertThat(result.hasFailures()).isFalse();
+    assertThat(result.successResults()).containsExactly(1, 2);
+    assertThat(result.exceptions()).isEmpty();
+    assertThatThrownBy(() -> result.failure(0)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> result.failureIndex(-1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void emptyCollection() {
+    ColumnarProcessingResult<Integer> result = Exceptional
+        .processAll(Collections.<String>emptyList(), ColumnarProcessingResultTest::parse)
+        .getValue();
+
+    assertThat(result.size()).isZero();
+    assertThat(result.successResults()).isEmpty();
+  }
+
+  @Test
+  void iterateInOrder() {
+    ColumnarProcessingResult<Integer> result = Exceptional
+        .processAll(Arrays.asList("x", "2", "y", "4"), ColumnarProcessingResultTest::parse)
+        .getValue();
+    List<String> successes = new ArrayList<>();
+    List<String> failures = new ArrayList<>();
+
+    result.forEachSuccess((value, index) -> successes.add(index + ":" + value));
+    result.forEachFailure((exception, index) -> failures.add(index + ":" + exception.getClass()
+        .getSimpleName()));
+
+    assertThat(successes).containsExactly("1:2", "3:4");
+    assertThat(failures).containsExactly("0:NumberFormatException", "2:NumberFormatException");
+  }
+
+  @Test
+  void builderGrowsAndMerges() {
+    IllegalStateException exception = new IllegalStateException();
+    ColumnarProcessingResult.Builder<Integer> first = new ColumnarProcessingResult.Builder<>(0);
+    ColumnarProcessingResult.Builder<Integer> second = new ColumnarProcessingResult.Builder<>(1);
+    for (int i = 0; i < 10; i++) {
+      first.addValue(i).addFailure(exception);
+      second.addEmpty().addFailure(exception).addValue(i);
+    }
+
+    ColumnarProcessingResult<Integer> result = first.addAll(second).build();
+
+    assertThat(result.size()).isEqualTo(50);
+    assertThat(result.successCount()).isEqualTo(20);
+    assertThat(result.failureCount()).isEqualTo(20);
+    assertThat(result.failureIndex(9)).isEqualTo(19);
+    assertThat(result.failureIndex(10)).isEqualTo(21);
+    assertThat(result.get(22).getValue()).isEqualTo(0);
+    assertThat(result.get(20).isEmpty()).isTrue();
+  }
+
+  private static Exceptional<Integer> parse(String s) {
+    return Exceptional.getExceptional(() -> Integer.parseInt(s));
+  }
+}
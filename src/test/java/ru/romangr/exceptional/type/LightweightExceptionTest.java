@@ -0,0 +1,96 @@
+package ru.romangr.exceptional.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class LightweightExceptionTest {
+
+  @Test
+  void globalModeIsFullByDefault() {
+    LightweightException exception = new LightweightException("test");
+
+    assertThat(CaptureMode.global()).isEqualTo(CaptureMode.FULL);
+    assertThat(exception.getCaptureMode()).isEqualTo(CaptureMode.FULL);
+    assertThat(exception.getMessage()).isEqualTo("test");
+  }
+
+  @Test
+  void fullStackTrace() {
+    LightweightException exception = new LightweightException("test", CaptureMode.FULL);
+
+    assertThat(exception.getStackTrace()).isNotEmpty();
+    assertThat(exception.getStackTrace()[0].getMethodName()).isEqualTo("fullStackTrace");
+  }
+
+  @Test
+  void stacklessHasNoStackTrace() {
+    LightweightException exception = new LightweightException("test", CaptureMode.STACKLESS);
+    IllegalStateException suppressed = new IllegalStateException();
+    exception.setStackTrace(new Throwable().getStackTrace());
+    exception.addSuppressed(suppressed);
+
+    assertThat(exception.getStackTrace()).isEmpty();
+    assertThat(exception.getSuppressed()).containsExactly(suppressed);
+    assertThat(exception.getCaptureMode()).isEqualTo(CaptureMode.STACKLESS);
+  }
+
+  @Test
+  void topFramesAreRecorded() {
+    LightweightException exception =
+        new LightweightException("test", null, CaptureMode.TOP_FRAMES);
+
+    assertThat(exception.getStackTrace())
+        .hasSize(CaptureMode.topFramesDepth());
+    assertThat(exception.getStackTrace()[0].getMethodName()).isEqualTo("topFramesAreRecorded");
+  }
+
+  @Test
+  void topFramesSkipSubclassConstructors() {
+    LightweightException exception = new NotFoundException();
+
+    assertThat(exception.getStackTrace()[0].getMethodName())
+        .isEqualTo("topFramesSkipSubclassConstructors");
+  }
+
+  @Test
+  void topFramesKeepOtherConstructors() {
+    LightweightException exception = new Lookup().exception;
+
+    assertThat(exception.getStackTrace()[0].getClassName()).isEqualTo(Lookup.class.getName());
+    assertThat(exception.getStackTrace()[0].getMethodName()).isEqualTo("<init>");
+  }
+
+  @Test
+  void causeIsKept() {
+    IllegalStateException cause = new IllegalStateException();
+    LightweightException exception =
+        new LightweightException("test", cause, CaptureMode.STACKLESS);
+
+    assertThat(exception.getCause()).isSameAs(cause);
+  }
+
+  @Test
+  void parseCaptureMode() {
+    assertThat(CaptureMode.parse(null)).isEqualTo(CaptureMode.FULL);
+    assertThat(CaptureMode.parse("stackless")).isEqualTo(CaptureMode.STACKLESS);
+    assertThat(CaptureMode.parse(" top-frames ")).isEqualTo(CaptureMode.TOP_FRAMES);
+    assertThat(CaptureMode.parse("TOP_FRAMES")).isEqualTo(CaptureMode.TOP_FRAMES);
+    assertThat(CaptureMode.parse("unknown")).isEqualTo(CaptureMode.FULL);
+  }
+
+  private static class NotFoundException extends LightweightException {
+
+    NotFoundException() {
+      super("not found", CaptureMode.TOP_FRAMES);
+    }
+  }
+
+  private static class Lookup {
+
+    private final LightweightException exception =
+        new LightweightException("test", null, CaptureMode.TOP_FRAMES);
+  }
+}
@@ -0,0 +1,119 @@
+package ru.romangr.exceptional.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.romangr.exceptional.Exceptional;
+
+@Tag("unit")
+class ProcessingStreamTest {
+
+  @Test
+  void forEachOverIterable() {
+    List<Integer> results = new ArrayList<>();
+
+    ProcessingStream<Integer> stream =
+        Exceptional.processLazily(Arrays.asList("1", "2", "3"), ProcessingStreamTest::parse);
+    long count = stream.forEach(results::add);
+
+    assertThat(results).containsExactly(1, 2, 3);
+    assertThat(count).isEqualTo(3);
+    assertThat(stream.successCount()).isEqualTo(3);
+    assertThat(stream.exception().isEmpty()).isTrue();
+  }
+
+  @Test
+  void forEachStopsAtFirstException() {
+    List<Integer> results = new ArrayList<>();
+
+    ProcessingStream<Integer> stream = Exceptional.processLazily(
+        Arrays.asList("1", "x", "3").iterator(), ProcessingStreamTest::parse);
+    long count = stream.forEach(results::add);
+
+    assertThat(results).containsExactly(1);
+    assertThat(count).isEqualTo(1);
+    assertThat(stream.exception().getException()).isInstanceOf(NumberFormatException.class);
+    assertThat(stream.hasNext()).isFalse();
+  }
+
+  @Test
+  void emptyResultsAreSkipped() {
+    ProcessingStream<Integer> stream = Exceptional.processLazily(
+        Arrays.asList("1", "2", "3", "4"),
+        s -> parse(s).map(i -> i % 2 == 0 ? i : null));
+
+    assertThat(stream.stream().collect(Collectors.toList())).containsExactly(2, 4);
+    assertThat(stream.successCount()).isEqualTo(2);
+  }
+
+  @Test
+  void streamIsLazy() {
+    AtomicInteger mapped = new AtomicInteger();
+    Stream<String> source = IntStream.iterate(0, i -> i + 1).mapToObj(Integer::toString);
+
+    ProcessingStream<Integer> stream = Exceptional.processLazily(source, s -> {
+      mapped.incrementAndGet();
+      return parse(s);
+    });
+    List<Integer> firstResults = stream.stream().limit(5).collect(Collectors.toList());
+
+    assertThat(firstResults).containsExactly(0, 1, 2, 3, 4);
+    assertThat(mapped.get()).isEqualTo(5);
+  }
+
+  @Test
+  void streamStopsAtFirstException() {
+    ProcessingStream<Integer> stream =
+        Exceptional.processLazily(Stream.of("1", "2", "x", "4"), ProcessingStreamTest::parse);
+
+    assertThat(stream.stream().collect(Collectors.toList())).containsExactly(1, 2);
+    assertThat(stream.exception().isException()).isTrue();
+  }
+
+  @Test
+  void closingClosesSourceStream() {
+    AtomicBoolean closed = new AtomicBoolean();
+    Stream<String> source = Stream.of("1").onClose(() -> closed.set(true));
+
+    try (Stream<Integer> stream =
+             Exceptional.processLazily(source, ProcessingStreamTest::parse).stream()) {
+      assertThat(stream.count()).isEqualTo(1);
+    }
+
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  void closeProcessingStream() {
+    AtomicBoolean closed = new AtomicBoolean();
+    Stream<String> source = Stream.of("1").onClose(() -> closed.set(true));
+
+    Exceptional.processLazily(source, ProcessingStreamTest::parse).close();
+
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  void nextWithoutElements() {
+    ProcessingStream<Integer> stream =
+        Exceptional.processLazily(new ArrayList<String>(), ProcessingStreamTest::parse);
+
+    assertThatThrownBy(stream::next).isInstanceOf(NoSuchElementException.class);
+    stream.close();
+  }
+
+  private static Exceptional<Integer> parse(String s) {
+    return Exceptional.getExceptional(() -> Integer.parseInt(s));
+  }
+}
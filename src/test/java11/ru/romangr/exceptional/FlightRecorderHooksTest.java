@@ -0,0 +1,87 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("unit")
+class FlightRecorderHooksTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void capturedExceptionsAreRecorded() throws IOException {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable(ExceptionCapturedEvent.class);
+      recording.start();
+      Exceptional.getExceptional(() -> {
+        throw new IOException();
+      });
+      Exceptional.of("x").safelyMap(Integer::parseInt);
+      Exceptional.of(1).ifValue(value -> {
+        throw new IllegalStateException();
+      });
+      Exceptional.of(1).safelyMap(value -> value + 1);
+      events = stop(recording);
+    }
+
+    assertThat(events).extracting(event -> event.getString("site"))
+        .containsExactly("GET_EXCEPTIONAL", "SAFELY_MAP", "EXECUTE_SAFELY");
+    assertThat(events).extracting(event -> event.getClass("exceptionClass").getName())
+        .containsExactly(IOException.class.getName(), NumberFormatException.class.getName(),
+            IllegalStateException.class.getName());
+    assertThat(events).extracting(event -> event.getString("caller"))
+        .containsOnly(FlightRecorderHooksTest.class.getName());
+  }
+
+  @Test
+  void slowSuppliersAreRecorded() throws IOException {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable(SlowSupplierEvent.class).withThreshold(Duration.ofMillis(10));
+      recording.start();
+      Exceptional.attempt(() -> {
+        Thread.sleep(50);
+        return 1;
+      });
+      Exceptional.attempt(() -> 2);
+      events = stop(recording);
+    }
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+    assertThat(events.get(0).getClass("supplierClass").getName())
+        .startsWith(FlightRecorderHooksTest.class.getName() + "$$Lambda");
+    assertThat(events.get(0).getString("caller"))
+        .isEqualTo(FlightRecorderHooksTest.class.getName());
+  }
+
+  @Test
+  void disabledEventsAreNotCreated() {
+    assertThat(FlightRecorderHooks.supplierStarted()).isNull();
+
+    try (Recording recording = new Recording()) {
+      recording.enable(SlowSupplierEvent.class);
+      recording.start();
+      assertThat(FlightRecorderHooks.supplierStarted()).isInstanceOf(SlowSupplierEvent.class);
+    }
+  }
+
+  private List<RecordedEvent> stop(Recording recording) throws IOException {
+    recording.stop();
+    Path file = directory.resolve("recording.jfr");
+    recording.dump(file);
+    return RecordingFile.readAllEvents(file);
+  }
+}
@@ -0,0 +1,324 @@
+package ru.romangr.exceptional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class ExceptionalProcessorTest {
+
+  private final TestSubscription upstream = new TestSubscription();
+  private final TestSubscriber<Integer> values = new TestSubscriber<>();
+  private final TestSubscriber<Exception> failures = new TestSubscriber<>();
+  private final ExceptionalProcessor<String, Integer> processor =
+      ExceptionalProcessor.create(Integer::parseInt, failures, 4);
+
+  @Test
+  void valuesAndFailuresHaveSeparateDemand() {
+    subscribe();
+    values.request(10);
+
+    emit("1", "x", "2");
+
+    assertThat(values.items).containsExactly(1);
+    assertThat(failures.items).isEmpty();
+
+    failures.request(1);
+
+    assertThat(values.items).containsExactly(1, 2);
+    assertThat(failures.items).hasOnlyElementsOfType(NumberFormatException.class).hasSize(1);
+  }
+
+  @Test
+  void failuresWaitForValueDemand() {
+    subscribe();
+    failures.request(10);
+
+    emit("1", "x");
+
+    assertThat(failures.items).isEmpty();
+
+    values.request(1);
+
+    assertThat(values.items).containsExactly(1);
+    assertThat(failures.items).hasSize(1);
+  }
+
+  @Test
+  void nullResultsAreDropped() {
+    ExceptionalProcessor<String, String> processor =
+        ExceptionalProcessor.create(s -> s.isEmpty() ? null : s, failures, 4);
+    TestSubscriber<String> values = new TestSubscriber<>();
+    processor.onSubscribe(upstream);
+    processor.subscribe(values);
+    values.request(2);
+
+    processor.onNext("a");
+    processor.onNext("");
+    processor.onNext("b");
+
+    assertThat(values.items).containsExactly("a", "b");
+    assertThat(upstream.requests).containsExactly(4L, 3L);
+  }
+
+  @Test
+  void itemsArePrefetchedAndReplenished() {
+    subscribe();
+
+    assertThat(upstream.requests).containsExactly(4L);
+
+    emit("1", "2");
+    values.request(2);
+
+    assertThat(upstream.requests).containsExactly(4L);
+
+    emit("3");
+    values.request(1);
+
+    assertThat(upstream.requests).containsExactly(4L, 3L);
+    assertThat(values.items).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  void errorFollowsQueuedItems() {
+    subscribe();
+    IllegalStateException error = new IllegalStateException();
+
+    emit("1", "2");
+    processor.onError(error);
+
+    assertThat(values.error).isNull();
+
+    values.request(1);
+
+    assertThat(values.items).containsExactly(1);
+    assertThat(values.error).isNull();
+
+    values.request(1);
+
+    assertThat(values.items).containsExactly(1, 2);
+    assertThat(values.error).isSameAs(error);
+    assertThat(failures.completed).isTrue();
+  }
+
+  @Test
+  void completionFollowsQueuedFailures() {
+    subscribe();
+
+    emit("x");
+    processor.onComplete();
+
+    assertThat(values.completed).isFalse();
+
+    failures.request(1);
+
+    assertThat(failures.items).hasSize(1);
+    assertThat(values.completed).isTrue();
+    assertThat(failures.completed).isTrue();
+  }
+
+  @Test
+  void cancellation() {
+    subscribe();
+    values.request(10);
+
+    emit("1");
+    values.subscription.cancel();
+    emit("2");
+
+    assertThat(values.items).containsExactly(1);
+    assertThat(upstream.cancelled).isTrue();
+    assertThat(failures.completed).isTrue();
+    assertThat(values.completed).isFalse();
+  }
+
+  @Test
+  void cancelledFailureSubscriberIsSkipped() {
+    subscribe();
+    values.request(10);
+    failures.subscription.cancel();
+
+    emit("x", "1");
+    processor.onComplete();
+
+    assertThat(values.items).containsExactly(1);
+    assertThat(values.completed).isTrue();
+    assertThat(failures.items).isEmpty();
+    assertThat(failures.completed).isFalse();
+  }
+
+  @Test
+  void secondSubscriberIsRejected() {
+    subscribe();
+    TestSubscriber<Integer> second = new TestSubscriber<>();
+
+    processor.subscribe(second);
+
+    assertThat(second.subscription).isNotNull();
+    assertThat(second.error)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Processor supports a single subscriber");
+  }
+
+  @Test
+  void secondUpstreamIsCancelled() {
+    subscribe();
+    TestSubscription second = new TestSubscription();
+
+    processor.onSubscribe(second);
+
+    assertThat(second.cancelled).isTrue();
+    assertThat(upstream.cancelled).isFalse();
+  }
+
+  @Test
+  void nonPositiveValueRequestFailsDownstream() {
+    subscribe();
+    emit("1");
+
+    values.request(0);
+
+    assertThat(values.error)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Requested number must be positive: 0");
+    assertThat(values.items).isEmpty();
+    assertThat(upstream.cancelled).isTrue();
+    assertThat(failures.completed).isTrue();
+  }
+
+  @Test
+  void nonPositiveFailureRequestFailsFailureSubscriber() {
+    subscribe();
+    values.request(10);
+
+    failures.request(-1);
+    emit("x", "1");
+    processor.onComplete();
+
+    assertThat(failures.error)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Requested number must be positive: -1");
+    assertThat(failures.items).isEmpty();
+    assertThat(failures.completed).isFalse();
+    assertThat(values.items).containsExactly(1);
+    assertThat(values.completed).isTrue();
+  }
+
+  @Test
+  void asynchronousPublisher() throws InterruptedException {
+    TestSubscriber<Exception> failures = new TestSubscriber<>(Long.MAX_VALUE);
+    ExceptionalProcessor<String, Integer> processor =
+        ExceptionalProcessor.create(Integer::parseInt, failures);
+    try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+      processor.subscribe(values);
+      values.request(Long.MAX_VALUE);
+      publisher.subscribe(processor);
+      for (int i = 0; i < 1000; i++) {
+        publisher.submit(i % 10 == 0 ? "x" : String.valueOf(i));
+      }
+    }
+
+    assertThat(values.awaitTermination()).isTrue();
+    assertThat(values.items).hasSize(900).startsWith(1, 2).endsWith(999);
+    assertThat(failures.awaitTermination()).isTrue();
+    assertThat(failures.items).hasSize(100);
+  }
+
+  @Test
+  void invalidPrefetch() {
+    assertThatThrownBy(
+        () -> ExceptionalProcessor.<String, Integer>create(Integer::parseInt, failures, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("prefetch must be positive: 0");
+  }
+
+  private void subscribe() {
+    processor.onSubscribe(upstream);
+    processor.subscribe(values);
+  }
+
+  private void emit(String... items) {
+    for (String item : items) {
+      processor.onNext(item);
+    }
+  }
+
+  private static final class TestSubscription implements Flow.Subscription {
+
+    private final List<Long> requests = new ArrayList<>();
+    private boolean cancelled;
+
+    @Override
+    public void request(long n) {
+      requests.add(n);
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+    }
+  }
+
+  private static final class TestSubscriber<T> implements Flow.Subscriber<T> {
+
+    private final List<T> items = new ArrayList<>();
+    private final long initialRequest;
+    @Nullable
+    private Flow.Subscription subscription;
+    @Nullable
+    private volatile Throwable error;
+    private volatile boolean completed;
+
+    TestSubscriber() {
+      this(0);
+    }
+
+    TestSubscriber(long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      if (initialRequest > 0) {
+        subscription.request(initialRequest);
+      }
+    }
+
+    @Override
+    public void onNext(T item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public synchronized void onComplete() {
+      completed = true;
+      notifyAll();
+    }
+
+    void request(long n) {
+      subscription.request(n);
+    }
+
+    synchronized boolean awaitTermination() throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (!completed && error == null && System.nanoTime() < deadline) {
+        wait(100);
+      }
+      return completed;
+    }
+  }
+}